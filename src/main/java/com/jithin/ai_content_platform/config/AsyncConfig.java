@@ -0,0 +1,154 @@
+package com.jithin.ai_content_platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${content.enrichment.pool-size:8}")
+    private int enrichmentPoolSize;
+
+    @Value("${content.enrichment.queue-capacity:100}")
+    private int enrichmentQueueCapacity;
+
+    @Value("${content.streaming.pool-size:4}")
+    private int streamingPoolSize;
+
+    @Value("${content.jobs.worker-pool-size:4}")
+    private int jobWorkerPoolSize;
+
+    @Value("${word2vec.training.pool-size:1}")
+    private int word2VecTrainingPoolSize;
+
+    @Value("${content.vector-index.queue-capacity:1000}")
+    private int contentIndexQueueCapacity;
+
+    @Value("${industry.models.load-pool-size:1}")
+    private int industryModelLoadPoolSize;
+
+    /**
+     * Executor for the post-generation enrichment stages. Stages are mostly
+     * blocking LLM calls, so the pool is sized by expected concurrency rather than cores.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor enrichmentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrichmentPoolSize);
+        executor.setMaxPoolSize(enrichmentPoolSize);
+        executor.setQueueCapacity(enrichmentQueueCapacity);
+        executor.setThreadNamePrefix("content-enrichment-");
+        // Run on the caller when saturated instead of dropping stages
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that drives streaming generations. Each task holds an upstream SSE
+     * connection open for the whole completion, so the pool bounds concurrent streams.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingPoolSize);
+        executor.setMaxPoolSize(streamingPoolSize);
+        executor.setQueueCapacity(streamingPoolSize * 4);
+        executor.setThreadNamePrefix("content-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool for queued generation jobs. Jobs are only claimed when a worker
+     * is free, so the queue here stays small and the backlog lives in the database.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor generationJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobWorkerPoolSize);
+        executor.setMaxPoolSize(jobWorkerPoolSize);
+        executor.setQueueCapacity(jobWorkerPoolSize);
+        executor.setThreadNamePrefix("content-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for Word2Vec training. A fit is CPU-heavy and long-running, so it runs off
+     * request and scheduler threads, and the small pool keeps trainings from piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor word2VecTrainingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(word2VecTrainingPoolSize);
+        executor.setMaxPoolSize(word2VecTrainingPoolSize);
+        executor.setQueueCapacity(8);
+        executor.setThreadNamePrefix("word2vec-train-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that embeds committed content into the similarity index. One thread applies
+     * changes in commit order, so a later delete is never overtaken by an earlier save.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor contentIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(contentIndexQueueCapacity);
+        executor.setThreadNamePrefix("content-index-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that opens saved industry models and builds their search index, which can
+     * take seconds for a large vocabulary. A full queue is not waited on; the next request
+     * for the industry queues it again.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor industryModelLoadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(industryModelLoadPoolSize);
+        executor.setMaxPoolSize(industryModelLoadPoolSize);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("industry-model-load-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for the sentiment backfill. One thread with no queue: a scheduled batch that
+     * finds the previous one still running is dropped rather than stacked up behind it.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sentimentBackfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("sentiment-backfill-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.jithin.ai_content_platform.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Schedulers for periodic work. The WebSocket heartbeat and broker schedulers make Spring
+ * Boot skip its own scheduling pool, which would leave every {@code @Scheduled} method on a
+ * single fallback thread, so the pool is set here. Content job dispatch, heartbeats and
+ * recovery get a scheduler of their own, as their timing fences running jobs and must not
+ * wait behind index rebuilds or backfills.
+ */
+@Configuration
+@Slf4j
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${scheduling.pool-size:4}")
+    private int schedulingPoolSize;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return scheduler(schedulingPoolSize, "scheduling-");
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler contentJobScheduler() {
+        return scheduler(2, "content-jobs-");
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(int poolSize, String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.setErrorHandler(t -> log.error("Unexpected error in scheduled task", t));
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -0,0 +1,42 @@
+package com.jithin.ai_content_platform.controller;
+
+import com.jithin.ai_content_platform.service.EnhancedWord2VecService;
+import com.jithin.ai_content_platform.service.NlpPipelineRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Benchmarks that load every NLP pipeline, including coreference, or scan the word vector
+ * store. Only registered when the "benchmark" profile is active, and only for signed-in users.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@Profile("benchmark")
+@PreAuthorize("isAuthenticated()")
+public class BenchmarkController {
+
+    @Autowired
+    private NlpPipelineRegistry nlpPipelineRegistry;
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @PostMapping("/nlp-pipelines/benchmark")
+    public ResponseEntity<Map<String, Object>> benchmarkNlpPipelines(@RequestParam(defaultValue = "3") int rounds) {
+        return ResponseEntity.ok(nlpPipelineRegistry.benchmarkProfiles(Math.max(1, Math.min(rounds, 50))));
+    }
+
+    @PostMapping("/word-vectors/benchmark")
+    public ResponseEntity<Map<String, Object>> benchmarkWordVectorIndex(@RequestParam(defaultValue = "200") int queries,
+                                                                        @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(word2VecService.benchmarkNearest(Math.max(1, Math.min(queries, 5000)), Math.max(1, Math.min(k, 100))));
+    }
+}
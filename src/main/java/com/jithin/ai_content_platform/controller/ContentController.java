@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.model.ContentGenerationJob;
 import com.jithin.ai_content_platform.model.TrendData;
 import com.jithin.ai_content_platform.model.User;
 import com.jithin.ai_content_platform.payload.ContentRequest;
@@ -16,12 +17,17 @@ import com.jithin.ai_content_platform.service.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,6 +35,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/api/content")
@@ -81,8 +90,29 @@ public class ContentController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ContentEnrichmentService contentEnrichmentService;
+
+    @Autowired
+    @Qualifier("streamingExecutor")
+    private Executor streamingExecutor;
+
+    @Value("${content.streaming.timeout-ms:300000}")
+    private long streamTimeoutMs;
+
+    @Autowired
+    private ContentGenerationJobService contentGenerationJobService;
+
+    @Autowired
+    private ContentVectorIndex contentVectorIndex;
+
+    @Value("${content.jobs.async-by-default:false}")
+    private boolean asyncGenerationByDefault;
+
     @PostMapping("/generate")
-    public ResponseEntity<?> generateContent(@RequestBody ContentRequest request, Authentication authentication) {
+    public ResponseEntity<?> generateContent(@RequestBody ContentRequest request,
+                                             @RequestParam(name = "async", required = false) Boolean async,
+                                             Authentication authentication) {
         try {
             if (authentication == null) {
                 return ResponseEntity.status(401).body("Authentication required");
@@ -96,93 +126,17 @@ public class ContentController {
             User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
 
-            // Generate initial content
-            Content content = contentService.generateContent(request, user);
-
-            // Initialize metrics map if null
-            if (content.getMetrics() == null) {
-                content.setMetricsMap(new HashMap<>());
-            }
-            Map<String, Object> metrics = content.getMetricsMap();
-
-            // Combine all predictions and analysis
-            Map<String, Object> enrichedContent = new HashMap<>();
-            enrichedContent.put("content", content);
-
-            try {
-                // Analyze trends
-                Map<String, Double> trendWeights = dynamicTrendWeightService.calculateContentWeights(content);
-                enrichedContent.put("trendAnalysis", trendWeights);
-                metrics.put("trendWeights", trendWeights);
-            } catch (Exception e) {
-                logger.error("Error calculating trend weights: {}", e.getMessage());
-                metrics.put("trendWeights", Map.of("error", "Failed to calculate trend weights"));
+            // Queue the generation and return the job id; progress is pushed to /user/queue/jobs
+            if (async != null ? async : asyncGenerationByDefault) {
+                ContentGenerationJob job = contentGenerationJobService.enqueue(request, user);
+                return ResponseEntity.accepted().body(contentGenerationJobService.toStatusMap(job));
             }
 
-            try {
-                // Predict performance
-                Map<String, Object> performancePrediction = performancePredictionService.predictContentPerformance(content);
-                enrichedContent.put("performancePrediction", performancePrediction);
-                metrics.put("predictedPerformance", performancePrediction);
-            } catch (Exception e) {
-                logger.error("Error predicting performance: {}", e.getMessage());
-                metrics.put("predictedPerformance", Map.of("error", "Failed to predict performance"));
-            }
-                       // Prepare response map
-                       Map<String, Object> response = new HashMap<>();
-                       response.put("content", content.getContentBody());
-                       response.put("id", content.getId());
-                       response.put("status", content.getStatus());
-                       
-                       // Include metricsMap directly in the response
-                       if (content.getMetricsMap() != null) {
-                           response.put("metricsMap", content.getMetricsMap());
-                       }
-
-                    // Include other existing metrics if needed
-            if (content.getMetrics() != null) {
-                response.put("metrics", content.getMetrics());
-            }
+            // Generate initial content
+            Content content = contentService.generateContent(request, user);
 
-            try {
-                // Predict engagement
-                Map<String, Object> engagementPrediction = mlPredictionService.predictEngagementMetrics(content);
-                enrichedContent.put("engagementPrediction", engagementPrediction);
-                metrics.put("predictedEngagement", engagementPrediction);
-            } catch (Exception e) {
-                logger.error("Error predicting engagement: {}", e.getMessage());
-                metrics.put("predictedEngagement", Map.of("error", "Failed to predict engagement"));
-            }
-
-            try {
-                // Analyze sensitivity
-                Map<String, Object> sensitivityAnalysis = mlPredictionService.analyzeSensitivity(
-                    content.getContentBody(), 
-                    content.getRegion()
-                );
-                enrichedContent.put("sensitivityAnalysis", sensitivityAnalysis);
-                metrics.put("sensitivityAnalysis", sensitivityAnalysis);
-            } catch (Exception e) {
-                logger.error("Error analyzing sensitivity: {}", e.getMessage());
-                metrics.put("sensitivityAnalysis", Map.of("error", "Failed to analyze sensitivity"));
-            }
-            
-            // Add content quality analysis
-           // Add content quality analysis
-           try {
-            String qualityAnalysisJson = performancePredictionService.analyzeContentQuality(content);
-            Map<String, Object> qualityAnalysis = objectMapper.readValue(qualityAnalysisJson, new TypeReference<Map<String, Object>>() {});
-            
-            enrichedContent.put("contentQualityScore", qualityAnalysis.get("qualityScore"));
-            enrichedContent.put("qualityAnalysis", qualityAnalysis);
-        } catch (Exception e) {
-            logger.warn("Could not perform detailed content quality analysis", e);
-            enrichedContent.put("contentQualityScore", 0.5);
-            enrichedContent.put("qualityAnalysis", Map.of("error", "Analysis failed"));
-        }
-            // Save the updated content with all metrics
-            content.setMetricsMap(metrics);
-            contentRepository.save(content);
+            // Run enrichment stages and persist the combined metrics
+            Map<String, Object> enrichedContent = contentEnrichmentService.enrichAndSave(content);
 
             // Cache the prediction
             // Notify the user that content generation is complete
@@ -199,6 +153,90 @@ public class ContentController {
         }
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getGenerationJob(@PathVariable Long jobId, Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).body("Authentication required");
+        }
+        return contentGenerationJobService.getJob(jobId, authentication.getName())
+            .<ResponseEntity<?>>map(job -> ResponseEntity.ok(contentGenerationJobService.toStatusMap(job)))
+            .orElse(ResponseEntity.status(404).body("Job not found"));
+    }
+
+    /**
+     * Stored content closest to the given item by document embedding.
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarContent(@PathVariable Long id,
+                                               @RequestParam(defaultValue = "5") int limit,
+                                               Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(401).body("Authentication required");
+        }
+        return ResponseEntity.ok(contentVectorIndex.mostSimilar(id, Math.max(1, Math.min(limit, 50))));
+    }
+
+    /**
+     * Streams generated tokens to the client as server-sent events. Analysis and
+     * enrichment run once the upstream stream closes and are sent as a final "complete" event.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> generateContentStream(@RequestBody ContentRequest request, Authentication authentication) {
+        if (authentication == null || authentication.getName() == null || authentication.getName().isEmpty()) {
+            return ResponseEntity.status(401).body("Authentication required");
+        }
+
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body("Authentication failed: User not found: " + username);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicBoolean clientConnected = new AtomicBoolean(true);
+        emitter.onCompletion(() -> clientConnected.set(false));
+        emitter.onTimeout(() -> clientConnected.set(false));
+
+        try {
+            streamingExecutor.execute(() -> {
+                try {
+                    // Keep generating after a disconnect so the content is still persisted
+                    Content content = contentService.generateContent(request, user,
+                        token -> sendEvent(emitter, clientConnected, "token", token));
+
+                    sendEvent(emitter, clientConnected, "status", "Generation finished, running analysis");
+                    Map<String, Object> enrichedContent = contentEnrichmentService.enrichAndSave(content);
+
+                    messagingTemplate.convertAndSendToUser(user.getUsername(), "/queue/updates",
+                        "Content generation completed with predictions and analysis.");
+
+                    sendEvent(emitter, clientConnected, "complete", enrichedContent);
+                    emitter.complete();
+                } catch (Exception e) {
+                    logger.error("Error during streaming content generation: {}", e.getMessage(), e);
+                    sendEvent(emitter, clientConnected, "error", "Failed to generate content: " + e.getMessage());
+                    emitter.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body("Too many concurrent generations, please retry shortly");
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void sendEvent(SseEmitter emitter, AtomicBoolean clientConnected, String name, Object data) {
+        if (!clientConnected.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Stream client disconnected: {}", e.getMessage());
+            clientConnected.set(false);
+        }
+    }
+
     @PostMapping("/feedback")
     public ResponseEntity<?> submitFeedback(@RequestBody FeedbackRequest feedbackRequest, Authentication authentication) {
         String username = authentication.getName();
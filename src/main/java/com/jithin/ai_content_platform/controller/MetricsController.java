@@ -0,0 +1,119 @@
+package com.jithin.ai_content_platform.controller;
+
+import com.jithin.ai_content_platform.service.ContentVectorIndex;
+import com.jithin.ai_content_platform.service.DocumentEmbeddingService;
+import com.jithin.ai_content_platform.service.EnhancedWord2VecService;
+import com.jithin.ai_content_platform.service.IndustryModelManager;
+import com.jithin.ai_content_platform.service.LlmRequestScheduler;
+import com.jithin.ai_content_platform.service.NlpPipelineRegistry;
+import com.jithin.ai_content_platform.service.NlpResultCache;
+import com.jithin.ai_content_platform.service.OpenNlpModelPool;
+import com.jithin.ai_content_platform.service.ParseBudgetManager;
+import com.jithin.ai_content_platform.service.SemanticResponseCache;
+import com.jithin.ai_content_platform.service.Word2VecTrainingService;
+import com.jithin.ai_content_platform.util.RegexPatterns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private LlmRequestScheduler llmRequestScheduler;
+
+    @Autowired
+    private SemanticResponseCache semanticResponseCache;
+
+    @Autowired
+    private NlpPipelineRegistry nlpPipelineRegistry;
+
+    @Autowired
+    private NlpResultCache nlpResultCache;
+
+    @Autowired
+    private ParseBudgetManager parseBudgetManager;
+
+    @Autowired
+    private OpenNlpModelPool openNlpModelPool;
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @Autowired
+    private Word2VecTrainingService word2VecTrainingService;
+
+    @Autowired
+    private DocumentEmbeddingService documentEmbeddingService;
+
+    @Autowired
+    private ContentVectorIndex contentVectorIndex;
+
+    @Autowired
+    private IndustryModelManager industryModelManager;
+
+    @GetMapping("/llm-scheduler")
+    public ResponseEntity<Map<String, Object>> getLlmSchedulerStats() {
+        return ResponseEntity.ok(llmRequestScheduler.getStats());
+    }
+
+    @GetMapping("/llm-cache")
+    public ResponseEntity<Map<String, Object>> getLlmCacheStats() {
+        return ResponseEntity.ok(semanticResponseCache.getStats());
+    }
+
+    @GetMapping("/nlp-pipelines")
+    public ResponseEntity<Map<String, Object>> getNlpPipelineStats() {
+        return ResponseEntity.ok(nlpPipelineRegistry.getStats());
+    }
+
+    @GetMapping("/nlp-cache")
+    public ResponseEntity<Map<String, Object>> getNlpCacheStats() {
+        return ResponseEntity.ok(nlpResultCache.getStats());
+    }
+
+    @GetMapping("/parse-budget")
+    public ResponseEntity<Map<String, Object>> getParseBudgetStats() {
+        return ResponseEntity.ok(parseBudgetManager.getStats());
+    }
+
+    @GetMapping("/opennlp")
+    public ResponseEntity<Map<String, Object>> getOpenNlpStats() {
+        return ResponseEntity.ok(openNlpModelPool.getStats());
+    }
+
+    @GetMapping("/regex-cache")
+    public ResponseEntity<Map<String, Object>> getRegexCacheStats() {
+        return ResponseEntity.ok(RegexPatterns.getStats());
+    }
+
+    @GetMapping("/word2vec-training")
+    public ResponseEntity<Map<String, Object>> getWord2VecTrainingStats() {
+        return ResponseEntity.ok(word2VecTrainingService.getStats());
+    }
+
+    @GetMapping("/word2vec-corpus")
+    public ResponseEntity<Map<String, Object>> getWord2VecCorpusStats() {
+        return ResponseEntity.ok(word2VecService.getCorpusStats());
+    }
+
+    @GetMapping("/document-embeddings")
+    public ResponseEntity<Map<String, Object>> getDocumentEmbeddingStats() {
+        return ResponseEntity.ok(documentEmbeddingService.getStats());
+    }
+
+    @GetMapping("/content-index")
+    public ResponseEntity<Map<String, Object>> getContentIndexStats() {
+        return ResponseEntity.ok(contentVectorIndex.getStats());
+    }
+
+    @GetMapping("/industry-models")
+    public ResponseEntity<Map<String, Object>> getIndustryModelStats() {
+        return ResponseEntity.ok(industryModelManager.getStats());
+    }
+}
@@ -76,6 +76,12 @@ public class TrendAnalysisController {
         return ResponseEntity.ok(trends);
     }
 
+    @GetMapping("/category/{category}/sentiment")
+    public ResponseEntity<Map<String, Object>> getCategorySentiment(@PathVariable String category) {
+        log.info("Fetching sentiment summary for category: {}", category);
+        return ResponseEntity.ok(trendAnalysisService.getCategorySentimentSummary(category));
+    }
+
     @GetMapping("/sentiment/{topic}")
     public ResponseEntity<Map<String, Object>> getTrendSentiment(@PathVariable String topic) {
         log.info("Analyzing sentiment for topic: {}", topic);
@@ -78,6 +78,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(LlmRequestRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleLlmRequestRejectedException(
+            LlmRequestRejectedException ex, WebRequest request) {
+        log.warn("LLM request shed: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "The AI service is busy. Please try again shortly.",
+            LocalDateTime.now(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, WebRequest request) {
         log.error("Unexpected error occurred: ", ex);
@@ -0,0 +1,18 @@
+package com.jithin.ai_content_platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the upstream LLM scheduler sheds a request instead of sending it.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LlmRequestRejectedException extends RuntimeException {
+    public LlmRequestRejectedException(String message) {
+        super(message);
+    }
+
+    public LlmRequestRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -23,7 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Entity
-@Table(name = "content")
+@EntityListeners(ContentChangeListener.class)
+@Table(name = "content", indexes = {
+    @Index(name = "idx_content_category_sentiment_class", columnList = "category, sentiment_class"),
+    @Index(name = "idx_content_category_sentiment_score", columnList = "category, sentiment_score")
+})
 @Getter
 @Setter
 @Builder(toBuilder = true)
@@ -82,6 +86,20 @@ public class Content {
     @Column(columnDefinition = "TEXT")
     private String stanfordSentiment;
 
+    // Typed copies of the analyzedSentiment headline numbers, for aggregate queries
+    @Column(name = "sentiment_score")
+    private Double sentimentScore;
+
+    @Column(name = "sentiment_class", length = 20)
+    private String sentimentClass;
+
+    @Column(name = "sentiment_confidence")
+    private Double sentimentConfidence;
+
+    // Backfill passes that could not score this row; the backfill gives up after a few
+    @Column(name = "sentiment_backfill_attempts")
+    private Integer sentimentBackfillAttempts;
+
     @Column(columnDefinition = "TEXT")
     private String improvedContent;
 
@@ -173,6 +191,7 @@ public class Content {
 
     private static final Logger logger = LoggerFactory.getLogger(Content.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String[] SENTIMENT_CLASSES = {"very negative", "negative", "neutral", "positive", "very positive"};
 
     public User getAuthor() {
         return user;
@@ -383,11 +402,35 @@ public class Content {
     public void setAnalyzedSentimentMap(Map<String, Object> sentimentMap) {
         try {
             this.analyzedSentiment = objectMapper.writeValueAsString(sentimentMap);
+            applySentimentSummary(sentimentMap);
         } catch (JsonProcessingException e) {
             logger.error("Error setting analyzed sentiment map for content {}: {}", id, e.getMessage());
         }
     }
 
+    /**
+     * Copies overall sentiment (0-4 class scale) and confidence from a sentiment analysis
+     * into the typed columns. Analyses without an overall score leave the columns unchanged.
+     */
+    public void applySentimentSummary(Map<String, Object> sentimentMap) {
+        if (sentimentMap == null) {
+            return;
+        }
+        Object score = sentimentMap.containsKey("overall_sentiment")
+            ? sentimentMap.get("overall_sentiment") : sentimentMap.get("overall_score");
+        if (!(score instanceof Number)) {
+            return;
+        }
+        this.sentimentScore = ((Number) score).doubleValue();
+        this.sentimentClass = sentimentClassFor(this.sentimentScore);
+        Object confidence = sentimentMap.get("confidence_score");
+        this.sentimentConfidence = confidence instanceof Number ? ((Number) confidence).doubleValue() : null;
+    }
+
+    public static String sentimentClassFor(double score) {
+        return SENTIMENT_CLASSES[(int) Math.max(0, Math.min(4, Math.round(score)))];
+    }
+
     public String getSeoSuggestions() {
         return seoSuggestions;
     }
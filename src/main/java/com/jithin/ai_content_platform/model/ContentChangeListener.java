@@ -0,0 +1,30 @@
+package com.jithin.ai_content_platform.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns content writes into {@link ContentChangedEvent}s. It runs
+ * inside the flush, so it only publishes; the work happens in listeners bound to the commit.
+ */
+@Component
+public class ContentChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Content content) {
+        eventPublisher.publishEvent(new ContentChangedEvent(content.getId(), false));
+    }
+
+    @PostRemove
+    public void onRemove(Content content) {
+        eventPublisher.publishEvent(new ContentChangedEvent(content.getId(), true));
+    }
+}
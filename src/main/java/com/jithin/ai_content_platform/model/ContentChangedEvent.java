@@ -0,0 +1,24 @@
+package com.jithin.ai_content_platform.model;
+
+/**
+ * Published when a content row is inserted, updated or deleted. Listeners that must only
+ * see committed rows handle it after the transaction commits.
+ */
+public class ContentChangedEvent {
+
+    private final Long contentId;
+    private final boolean removed;
+
+    public ContentChangedEvent(Long contentId, boolean removed) {
+        this.contentId = contentId;
+        this.removed = removed;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jithin.ai_content_platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable queue entry for an asynchronous content generation request.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "content_generation_jobs", indexes = {
+    @Index(name = "idx_generation_jobs_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_generation_jobs_username", columnList = "username")
+})
+public class ContentGenerationJob {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "request_payload", columnDefinition = "TEXT", nullable = false)
+    private String requestPayload;
+
+    @Column(nullable = false, length = 20)
+    private String status = STATUS_QUEUED;
+
+    @Column(length = 100)
+    private String progress;
+
+    @Column(name = "content_id")
+    private Long contentId;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    private int attempts;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Refreshed by the worker while the job runs; recovery only requeues jobs where it has lapsed
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,41 @@
+package com.jithin.ai_content_platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted NLP analysis for a piece of text, keyed by the text's SHA-256 hash and the
+ * pipeline profile that produced it. Holds derived results only, never annotation graphs.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "nlp_analysis_results",
+    uniqueConstraints = @UniqueConstraint(name = "uk_nlp_analysis_hash_profile", columnNames = {"content_hash", "profile"}),
+    indexes = @Index(name = "idx_nlp_analysis_last_accessed", columnList = "last_accessed_at"))
+public class NlpAnalysisResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 30)
+    private String profile;
+
+    @Column(name = "result_json", columnDefinition = "TEXT", nullable = false)
+    private String resultJson;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+}
@@ -0,0 +1,69 @@
+package com.jithin.ai_content_platform.repository;
+
+import com.jithin.ai_content_platform.model.ContentGenerationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContentGenerationJobRepository extends JpaRepository<ContentGenerationJob, Long> {
+
+    Optional<ContentGenerationJob> findByIdAndUsername(Long id, String username);
+
+    // Lock the oldest queued jobs so concurrent dispatchers never claim the same row
+    @Query(value = "SELECT j.id FROM content_generation_jobs j " +
+           "WHERE j.status = 'QUEUED' " +
+           "ORDER BY j.created_at " +
+           "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockQueuedJobIds(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.status = 'RUNNING', j.progress = 'Started', " +
+           "j.startedAt = :now, j.heartbeatAt = :now, j.attempts = j.attempts + 1 WHERE j.id IN :ids")
+    int markRunning(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.status = 'QUEUED', j.progress = 'Requeued' " +
+           "WHERE j.status = 'RUNNING' AND COALESCE(j.heartbeatAt, j.startedAt) < :cutoff AND j.attempts < :maxAttempts")
+    int requeueStaleJobs(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.status = 'FAILED', j.errorMessage = 'Worker did not finish the job' " +
+           "WHERE j.status = 'RUNNING' AND COALESCE(j.heartbeatAt, j.startedAt) < :cutoff AND j.attempts >= :maxAttempts")
+    int failStaleJobs(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.progress = :progress WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("progress") String progress);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.status = 'RUNNING'")
+    int touchHeartbeats(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Records the outcome of one attempt; matches nothing if the job was requeued and
+     * claimed again since, so a late finisher cannot overwrite the newer attempt
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ContentGenerationJob j SET j.status = :status, j.progress = :progress, j.contentId = :contentId, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :now " +
+           "WHERE j.id = :id AND j.attempts = :attempt AND j.status = 'RUNNING'")
+    int finishAttempt(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") String status,
+                      @Param("progress") String progress, @Param("contentId") Long contentId,
+                      @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+}
@@ -97,12 +97,97 @@ List<Content> findByTitleContainingOrContentBodyContaining(String title, String
     
     @Query("SELECT c FROM Content c WHERE c.createdAt >= :startTime ORDER BY c.createdAt DESC")
     List<Content> findContentFromLastNHours(@Param("startTime") LocalDateTime startTime);
+
+    @Query("SELECT c.id FROM Content c")
+    List<Long> findAllIds();
+
+    /**
+     * Title and body of the content after the given id, in id order, for keyset paging
+     * over the table without loading entities
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.contentBody AS contentBody FROM Content c " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<ContentText> findTextAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface ContentText {
+        Long getId();
+        String getTitle();
+        String getContentBody();
+    }
+
+    /**
+     * The columns the similarity index keeps for the content after the given id, in id order
+     */
+    @Query("SELECT c.id AS id, c.user.id AS userId, c.category AS category, c.contentType AS contentType, " +
+           "c.region AS region, c.title AS title, c.contentBody AS contentBody FROM Content c " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<ContentIndexRow> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface ContentIndexRow extends ContentText {
+        Long getUserId();
+        String getCategory();
+        String getContentType();
+        String getRegion();
+    }
+
+    @Query("SELECT c FROM Content c WHERE c.updatedAt >= :since OR c.createdAt >= :since")
+    List<Content> findModifiedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Content created since the given time that is in the industry's category or mentions it;
+     * {@code industry} is lower case and {@code pattern} is its LIKE pattern
+     */
+    @Query("SELECT COUNT(c) FROM Content c WHERE c.createdAt >= :since AND (LOWER(c.category) = :industry " +
+           "OR LOWER(c.title) LIKE :pattern OR LOWER(c.contentBody) LIKE :pattern)")
+    long countIndustryContentSince(@Param("industry") String industry, @Param("pattern") String pattern,
+                                   @Param("since") LocalDateTime since);
+
+    /**
+     * Lower-cased categories with at least minDocuments items created since the given time
+     */
+    @Query("SELECT LOWER(c.category) FROM Content c WHERE c.createdAt >= :since " +
+           "GROUP BY LOWER(c.category) HAVING COUNT(c) >= :minDocuments")
+    List<String> findActiveCategories(@Param("since") LocalDateTime since, @Param("minDocuments") long minDocuments);
+
+    @Query("SELECT COUNT(c) FROM Content c WHERE c.createdAt >= :since")
+    long countContentSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT COUNT(c) FROM Content c WHERE c.createdAt >= :since AND LOWER(c.category) = :category")
+    long countCategoryContentSince(@Param("category") String category, @Param("since") LocalDateTime since);
     
+    /**
+     * Content written before the typed sentiment columns existed, in id order after the given
+     * id, leaving out rows the backfill has already failed to score maxAttempts times
+     */
+    @Query("SELECT c FROM Content c WHERE c.sentimentScore IS NULL AND c.contentBody IS NOT NULL AND c.id > :afterId "
+        + "AND (c.sentimentBackfillAttempts IS NULL OR c.sentimentBackfillAttempts < :maxAttempts) ORDER BY c.id")
+    List<Content> findWithoutSentimentScore(@Param("afterId") Long afterId, @Param("maxAttempts") int maxAttempts,
+                                            Pageable pageable);
+
     @Query(value = "SELECT * FROM content ORDER BY created_at DESC LIMIT :limit OFFSET :offset", 
            nativeQuery = true)
     List<Content> findAllWithPagination(@Param("offset") int offset, @Param("limit") int limit);
     
     List<Content> findByCategory(String category);
+
+    /**
+     * Count of content per sentiment class within a category, from the typed sentiment columns
+     */
+    @Query("SELECT c.sentimentClass, COUNT(c) FROM Content c WHERE c.category = :category AND c.sentimentClass IS NOT NULL GROUP BY c.sentimentClass")
+    List<Object[]> countBySentimentClass(@Param("category") String category);
+
+    @Query(value = "SELECT AVG(sentiment_score) AS average, STDDEV_POP(sentiment_score) AS stdDev, " +
+           "AVG(sentiment_confidence) AS averageConfidence, COUNT(sentiment_score) AS count " +
+           "FROM content WHERE category = :category AND sentiment_score IS NOT NULL",
+           nativeQuery = true)
+    SentimentStats sentimentStatsByCategory(@Param("category") String category);
+
+    interface SentimentStats {
+        Double getAverage();
+        Double getStdDev();
+        Double getAverageConfidence();
+        Long getCount();
+    }
     
     @Query("SELECT c FROM Content c WHERE c.contentBody LIKE %:topic%")
     List<Content> findByTopic(@Param("topic") String topic);
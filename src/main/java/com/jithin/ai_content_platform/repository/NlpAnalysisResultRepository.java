@@ -0,0 +1,28 @@
+package com.jithin.ai_content_platform.repository;
+
+import com.jithin.ai_content_platform.model.NlpAnalysisResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface NlpAnalysisResultRepository extends JpaRepository<NlpAnalysisResult, Long> {
+
+    Optional<NlpAnalysisResult> findByContentHashAndProfile(String contentHash, String profile);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NlpAnalysisResult r SET r.lastAccessedAt = :accessedAt WHERE r.id = :id")
+    int touch(@Param("id") Long id, @Param("accessedAt") LocalDateTime accessedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NlpAnalysisResult r WHERE r.lastAccessedAt < :cutoff")
+    int deleteNotAccessedSince(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -248,7 +248,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7, 
                     "max_tokens", 2000
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(response);
@@ -408,7 +409,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -453,7 +455,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -498,7 +501,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -543,7 +547,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -588,7 +593,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -635,7 +641,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -687,7 +694,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -731,7 +739,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1000
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -778,7 +787,8 @@ public class CompetitorAnalysisService {
                 Map.of(
                     "temperature", 0.7,
                     "max_tokens", 1500
-                )
+                ),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
 
             String content = openRouterService.extractContentFromResponse(openAiResponse);
@@ -0,0 +1,246 @@
+package com.jithin.ai_content_platform.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs the post-generation enrichment stages. The stages are independent, so they all run
+ * concurrently on the enrichment executor, each with its own timeout; a stage that fails
+ * or times out is reported without blocking the others, and a timed-out stage is
+ * interrupted and its late result discarded.
+ */
+@Service
+@Slf4j
+public class ContentEnrichmentService {
+
+    public static final String TREND_WEIGHTS = "trendWeights";
+    public static final String PERFORMANCE_PREDICTION = "performancePrediction";
+    public static final String ENGAGEMENT_PREDICTION = "engagementPrediction";
+    public static final String SENSITIVITY_ANALYSIS = "sensitivityAnalysis";
+    public static final String QUALITY_ANALYSIS = "qualityAnalysis";
+
+    @Autowired
+    private DynamicTrendWeightService dynamicTrendWeightService;
+
+    @Autowired
+    private PerformancePredictionService performancePredictionService;
+
+    @Autowired
+    private MLPredictionService mlPredictionService;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    @Qualifier("enrichmentExecutor")
+    private ThreadPoolTaskExecutor enrichmentExecutor;
+
+    @Value("${content.enrichment.stage-timeout-ms:45000}")
+    private long defaultStageTimeoutMs;
+
+    private List<EnrichmentStage> stages;
+
+    @PostConstruct
+    public void init() {
+        stages = List.of(
+            stage(TREND_WEIGHTS, content -> dynamicTrendWeightService.calculateContentWeights(content)),
+            stage(PERFORMANCE_PREDICTION, content -> performancePredictionService.predictContentPerformance(content)),
+            stage(ENGAGEMENT_PREDICTION, content -> mlPredictionService.predictEngagementMetrics(content)),
+            stage(SENSITIVITY_ANALYSIS,
+                content -> mlPredictionService.analyzeSensitivity(content.getContentBody(), content.getRegion())),
+            stage(QUALITY_ANALYSIS,
+                content -> parseQualityAnalysis(performancePredictionService.analyzeContentQuality(content)))
+        );
+        log.info("Initialized {} content enrichment stages", stages.size());
+    }
+
+    /**
+     * Runs every enrichment stage for the given content and waits for all of them
+     * to complete, fail or time out. Never throws for a single stage failure.
+     */
+    public EnrichmentResult enrich(Content content) {
+        EnrichmentResult result = new EnrichmentResult();
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+
+        for (EnrichmentStage stage : stages) {
+            futures.add(runStage(stage, content, result)
+                .exceptionally(ex -> {
+                    result.recordFailure(stage.getName(), ex);
+                    return null;
+                }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        log.debug("Content enrichment finished in {} ms (failed stages: {}, timings: {})",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+            result.getErrors().keySet(), result.getTimings());
+        return result;
+    }
+
+    /**
+     * Runs all enrichment stages, merges their results into the content metrics and
+     * saves the content. Returns the enriched response map used by the generate endpoints.
+     */
+    public Map<String, Object> enrichAndSave(Content content) {
+        // Initialize metrics map if null
+        if (content.getMetrics() == null) {
+            content.setMetricsMap(new HashMap<>());
+        }
+        Map<String, Object> metrics = content.getMetricsMap();
+
+        // Combine all predictions and analysis
+        Map<String, Object> enrichedContent = new HashMap<>();
+        enrichedContent.put("content", content);
+
+        // Run trend, prediction, sensitivity and quality stages concurrently
+        EnrichmentResult enrichment = enrich(content);
+
+        if (enrichment.succeeded(TREND_WEIGHTS)) {
+            Map<String, Double> trendWeights = enrichment.get(TREND_WEIGHTS);
+            enrichedContent.put("trendAnalysis", trendWeights);
+            metrics.put("trendWeights", trendWeights);
+        } else {
+            metrics.put("trendWeights", Map.of("error", "Failed to calculate trend weights"));
+        }
+
+        if (enrichment.succeeded(PERFORMANCE_PREDICTION)) {
+            Map<String, Object> performancePrediction = enrichment.get(PERFORMANCE_PREDICTION);
+            enrichedContent.put("performancePrediction", performancePrediction);
+            metrics.put("predictedPerformance", performancePrediction);
+        } else {
+            metrics.put("predictedPerformance", Map.of("error", "Failed to predict performance"));
+        }
+
+        if (enrichment.succeeded(ENGAGEMENT_PREDICTION)) {
+            Map<String, Object> engagementPrediction = enrichment.get(ENGAGEMENT_PREDICTION);
+            enrichedContent.put("engagementPrediction", engagementPrediction);
+            metrics.put("predictedEngagement", engagementPrediction);
+        } else {
+            metrics.put("predictedEngagement", Map.of("error", "Failed to predict engagement"));
+        }
+
+        if (enrichment.succeeded(SENSITIVITY_ANALYSIS)) {
+            Map<String, Object> sensitivityAnalysis = enrichment.get(SENSITIVITY_ANALYSIS);
+            enrichedContent.put("sensitivityAnalysis", sensitivityAnalysis);
+            metrics.put("sensitivityAnalysis", sensitivityAnalysis);
+        } else {
+            metrics.put("sensitivityAnalysis", Map.of("error", "Failed to analyze sensitivity"));
+        }
+
+        if (enrichment.succeeded(QUALITY_ANALYSIS)) {
+            Map<String, Object> qualityAnalysis = enrichment.get(QUALITY_ANALYSIS);
+            enrichedContent.put("contentQualityScore", qualityAnalysis.get("qualityScore"));
+            enrichedContent.put("qualityAnalysis", qualityAnalysis);
+        } else {
+            enrichedContent.put("contentQualityScore", 0.5);
+            enrichedContent.put("qualityAnalysis", Map.of("error", "Analysis failed"));
+        }
+
+        // Save the updated content with all metrics
+        content.setMetricsMap(metrics);
+        contentRepository.save(content);
+
+        return enrichedContent;
+    }
+
+    // Results are recorded when the timed future completes, so a stage that finishes after
+    // its timeout cannot write into the result; the timed-out task is interrupted
+    private CompletableFuture<Object> runStage(EnrichmentStage stage, Content content, EnrichmentResult result) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        long stageStart = System.nanoTime();
+        Future<?> task = enrichmentExecutor.submit(() -> {
+            try {
+                future.complete(stage.getTask().apply(content));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future
+            .orTimeout(stage.getTimeoutMs(), TimeUnit.MILLISECONDS)
+            .whenComplete((value, ex) -> {
+                result.getTimings().put(stage.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart));
+                if (ex != null) {
+                    task.cancel(true);
+                } else if (value != null) {
+                    result.getResults().put(stage.getName(), value);
+                }
+            });
+    }
+
+    private EnrichmentStage stage(String name, Function<Content, Object> task) {
+        long timeoutMs = environment.getProperty("content.enrichment.timeout." + name, Long.class, defaultStageTimeoutMs);
+        return new EnrichmentStage(name, timeoutMs, task);
+    }
+
+    private Map<String, Object> parseQualityAnalysis(String qualityAnalysisJson) {
+        try {
+            return objectMapper.readValue(qualityAnalysisJson, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse content quality analysis", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class EnrichmentStage {
+        private final String name;
+        private final long timeoutMs;
+        private final Function<Content, Object> task;
+    }
+
+    /**
+     * Partial results of an enrichment run: successful stage outputs, per-stage
+     * error messages and per-stage execution time in milliseconds.
+     */
+    @Getter
+    public static class EnrichmentResult {
+        private final Map<String, Object> results = new ConcurrentHashMap<>();
+        private final Map<String, String> errors = new ConcurrentHashMap<>();
+        private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        public boolean succeeded(String stage) {
+            return results.containsKey(stage);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String stage) {
+            return (T) results.get(stage);
+        }
+
+        private void recordFailure(String stage, Throwable ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            String message = cause instanceof TimeoutException ? "Timed out" : String.valueOf(cause.getMessage());
+            errors.put(stage, message);
+            log.error("Enrichment stage {} failed: {}", stage, message);
+        }
+    }
+}
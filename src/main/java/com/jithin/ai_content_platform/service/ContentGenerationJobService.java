@@ -0,0 +1,279 @@
+package com.jithin.ai_content_platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.model.ContentGenerationJob;
+import com.jithin.ai_content_platform.model.User;
+import com.jithin.ai_content_platform.payload.ContentRequest;
+import com.jithin.ai_content_platform.repository.ContentGenerationJobRepository;
+import com.jithin.ai_content_platform.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous content generation backed by a database job queue. Requests are
+ * stored as jobs, claimed with {@code FOR UPDATE SKIP LOCKED} and processed on a
+ * bounded worker pool. Only the claim and the individual writes run in transactions,
+ * so LLM and NLP work never holds a database connection. Workers heartbeat their running
+ * jobs, and an attempt's result is only written while it is still the current attempt.
+ * Dispatch, heartbeats and recovery run on their own scheduler, so other periodic work
+ * cannot delay a heartbeat past the stale cutoff.
+ */
+@Service
+@Slf4j
+public class ContentGenerationJobService {
+
+    private static final String JOB_DESTINATION = "/queue/jobs";
+
+    @Autowired
+    private ContentGenerationJobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private ContentEnrichmentService contentEnrichmentService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("generationJobExecutor")
+    private ThreadPoolTaskExecutor generationJobExecutor;
+
+    @Autowired
+    @Qualifier("contentJobScheduler")
+    private ThreadPoolTaskScheduler contentJobScheduler;
+
+    @Value("${content.jobs.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${content.jobs.heartbeat-interval-ms:30000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${content.jobs.recovery-interval-ms:60000}")
+    private long recoveryIntervalMs;
+
+    @Value("${content.jobs.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    @Value("${content.jobs.max-attempts:2}")
+    private int maxAttempts;
+
+    // Jobs this instance is working on, heartbeated until they finish
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void scheduleJobTasks() {
+        contentJobScheduler.scheduleWithFixedDelay(this::dispatchQueuedJobs, Duration.ofMillis(pollIntervalMs));
+        contentJobScheduler.scheduleWithFixedDelay(this::heartbeatRunningJobs, Duration.ofMillis(heartbeatIntervalMs));
+        contentJobScheduler.scheduleWithFixedDelay(this::recoverStaleJobs, Duration.ofMillis(recoveryIntervalMs));
+    }
+
+    /**
+     * Stores the request as a queued job and returns it immediately.
+     */
+    public ContentGenerationJob enqueue(ContentRequest request, User user) {
+        try {
+            ContentGenerationJob job = new ContentGenerationJob();
+            job.setUserId(user.getId());
+            job.setUsername(user.getUsername());
+            job.setRequestPayload(objectMapper.writeValueAsString(request));
+            job.setProgress("Queued");
+            job = jobRepository.save(job);
+            log.info("Queued content generation job {} for user {}", job.getId(), user.getUsername());
+
+            // Try to start it right away instead of waiting for the next poll
+            dispatchQueuedJobs();
+            return job;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize content request", e);
+        }
+    }
+
+    public Optional<ContentGenerationJob> getJob(Long jobId, String username) {
+        return jobRepository.findByIdAndUsername(jobId, username);
+    }
+
+    /**
+     * Claims as many queued jobs as the worker pool has free threads and hands them to it.
+     */
+    public void dispatchQueuedJobs() {
+        int freeWorkers = generationJobExecutor.getMaxPoolSize()
+            - generationJobExecutor.getActiveCount()
+            - generationJobExecutor.getThreadPoolExecutor().getQueue().size();
+        if (freeWorkers <= 0) {
+            return;
+        }
+
+        List<Long> claimed;
+        try {
+            claimed = transactionTemplate.execute(status -> {
+                List<Long> ids = jobRepository.lockQueuedJobIds(freeWorkers);
+                if (!ids.isEmpty()) {
+                    jobRepository.markRunning(ids, LocalDateTime.now());
+                }
+                return ids;
+            });
+        } catch (Exception e) {
+            log.error("Error claiming content generation jobs: {}", e.getMessage());
+            return;
+        }
+
+        for (Long jobId : claimed == null ? Collections.<Long>emptyList() : claimed) {
+            try {
+                generationJobExecutor.execute(() -> processJob(jobId));
+            } catch (TaskRejectedException e) {
+                log.warn("Worker pool full, requeueing job {}", jobId);
+                jobRepository.findById(jobId).ifPresent(job -> {
+                    job.setStatus(ContentGenerationJob.STATUS_QUEUED);
+                    job.setAttempts(Math.max(0, job.getAttempts() - 1));
+                    jobRepository.save(job);
+                });
+            }
+        }
+    }
+
+    /**
+     * Keeps the jobs running on this instance from being recovered as stale.
+     */
+    public void heartbeatRunningJobs() {
+        if (runningJobs.isEmpty()) {
+            return;
+        }
+        try {
+            jobRepository.touchHeartbeats(Set.copyOf(runningJobs), LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Error heartbeating content generation jobs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns jobs whose worker stopped heartbeating to the queue, or fails them after too
+     * many attempts. Slow jobs with a live worker are left alone.
+     */
+    public void recoverStaleJobs() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+            int requeued = jobRepository.requeueStaleJobs(cutoff, maxAttempts);
+            int failed = jobRepository.failStaleJobs(cutoff, maxAttempts);
+            if (requeued > 0 || failed > 0) {
+                log.warn("Recovered stale content generation jobs: {} requeued, {} failed", requeued, failed);
+            }
+        } catch (Exception e) {
+            log.error("Error recovering stale content generation jobs: {}", e.getMessage());
+        }
+    }
+
+    private void processJob(Long jobId) {
+        ContentGenerationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.warn("Content generation job {} disappeared before processing", jobId);
+            return;
+        }
+
+        runningJobs.add(jobId);
+        try {
+            ContentRequest request = objectMapper.readValue(job.getRequestPayload(), ContentRequest.class);
+            User user = userRepository.findById(job.getUserId())
+                .orElseThrow(() -> new RuntimeException("User not found: " + job.getUsername()));
+
+            publishProgress(job, "Generating content");
+            Content content = contentService.generateContent(request, user);
+
+            publishProgress(job, "Running predictions and analysis");
+            contentEnrichmentService.enrichAndSave(content);
+
+            job.setStatus(ContentGenerationJob.STATUS_COMPLETED);
+            job.setProgress("Completed");
+            job.setContentId(content.getId());
+            job.setCompletedAt(LocalDateTime.now());
+            if (!finishAttempt(job)) {
+                return;
+            }
+
+            notifyUser(job);
+            messagingTemplate.convertAndSendToUser(job.getUsername(), "/queue/updates",
+                "Content generation completed with predictions and analysis.");
+            log.info("Content generation job {} completed with content {}", jobId, content.getId());
+        } catch (Exception e) {
+            log.error("Content generation job {} failed: {}", jobId, e.getMessage(), e);
+            job.setStatus(ContentGenerationJob.STATUS_FAILED);
+            job.setProgress("Failed");
+            job.setErrorMessage(e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            if (finishAttempt(job)) {
+                notifyUser(job);
+            }
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    // False when the job was recovered and claimed again while this attempt ran
+    private boolean finishAttempt(ContentGenerationJob job) {
+        int updated = jobRepository.finishAttempt(job.getId(), job.getAttempts(), job.getStatus(), job.getProgress(),
+            job.getContentId(), job.getErrorMessage(), job.getCompletedAt());
+        if (updated == 0) {
+            log.warn("Discarding result of attempt {} of content generation job {}; the job was recovered meanwhile",
+                job.getAttempts(), job.getId());
+            return false;
+        }
+        return true;
+    }
+
+    private void publishProgress(ContentGenerationJob job, String progress) {
+        job.setProgress(progress);
+        jobRepository.updateProgress(job.getId(), progress);
+        notifyUser(job);
+    }
+
+    private void notifyUser(ContentGenerationJob job) {
+        try {
+            messagingTemplate.convertAndSendToUser(job.getUsername(), JOB_DESTINATION, toStatusMap(job));
+        } catch (Exception e) {
+            log.warn("Could not push job update for job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    public Map<String, Object> toStatusMap(ContentGenerationJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("jobId", job.getId());
+        status.put("status", job.getStatus());
+        status.put("progress", job.getProgress());
+        status.put("contentId", job.getContentId());
+        status.put("error", job.getErrorMessage());
+        status.put("createdAt", job.getCreatedAt() != null ? job.getCreatedAt().toString() : null);
+        status.put("completedAt", job.getCompletedAt() != null ? job.getCompletedAt().toString() : null);
+        return status;
+    }
+}
@@ -215,7 +215,8 @@ public class ContentLocalizationService {
             Map<String, Object> response = openRouterService.createChatCompletion(
                 "gpt-4-turbo",
                 messages,
-                Map.of("temperature", 0.7)
+                Map.of("temperature", 0.7),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
             
             return openRouterService.extractContentFromResponse(response);
@@ -251,7 +252,8 @@ public class ContentLocalizationService {
             Map<String, Object> response = openRouterService.createChatCompletion(
                 "gpt-4-turbo",
                 messages,
-                Map.of("temperature", 0.7)
+                Map.of("temperature", 0.7),
+                LlmRequestScheduler.Priority.BACKGROUND
             );
             
             return openRouterService.extractContentFromResponse(response);
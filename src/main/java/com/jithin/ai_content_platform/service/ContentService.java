@@ -13,6 +13,8 @@ import com.jithin.ai_content_platform.payload.ContentRequest;
 import com.jithin.ai_content_platform.repository.CommunityModelRepository;
 import com.jithin.ai_content_platform.repository.ContentRepository;
 import com.jithin.ai_content_platform.repository.TrendDataRepository;
+import com.jithin.ai_content_platform.util.RegexPatterns;
+import com.jithin.ai_content_platform.util.TextStats;
 
 import edu.stanford.nlp.pipeline.Annotation;
 import edu.stanford.nlp.pipeline.StanfordCoreNLP;
@@ -21,21 +23,15 @@ import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
 import edu.stanford.nlp.util.CoreMap;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import opennlp.tools.doccat.DoccatModel;
-import opennlp.tools.doccat.DocumentCategorizerME;
-import opennlp.tools.langdetect.Language;
-import opennlp.tools.langdetect.LanguageDetectorME;
-import opennlp.tools.langdetect.LanguageDetectorModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.regex.Pattern;
@@ -47,6 +43,21 @@ public class ContentService {
 
     private static final int MAX_KEYWORDS_TO_ANALYZE = 10;
 
+    // Complex words and their simpler alternatives, used by simplifyComplexWords
+    private static final Map<Pattern, String> SIMPLIFICATIONS = Map.of(
+        Pattern.compile("\\butilize\\b"), "use",
+        Pattern.compile("\\bimplement\\b"), "use",
+        Pattern.compile("\\bfacilitate\\b"), "help",
+        Pattern.compile("\\bcommence\\b"), "start",
+        Pattern.compile("\\bterminate\\b"), "end"
+    );
+    private static final Pattern CLAUSE_CONJUNCTION = Pattern.compile("(?<=\\w)(,\\s*and\\s|,\\s*but\\s|;\\s*however\\s)");
+    private static final Pattern LEADING_LIST_MARKER = Pattern.compile("^\\s*[-*+]\\s+");
+    private static final Pattern UNDERSCORE_BOLD = Pattern.compile("__([^_]+)__");
+    private static final Pattern UNDERSCORE_ITALIC = Pattern.compile("_([^_]+)_");
+    private static final Pattern SECTION_HEADING = Pattern.compile("(?m)^## ");
+    private static final Pattern BARE_URL = Pattern.compile("(?<!\\[)(?<!\\]\\()http[s]?://\\S+(?![\\)])");
+
     @Autowired
     private ContentRepository contentRepository;
 
@@ -98,8 +109,11 @@ public class ContentService {
     @Autowired
     private TrendDataRepository trendDataRepository;
 
-    private DocumentCategorizerME categorizer;
-    private LanguageDetectorME languageDetector;
+    @Autowired
+    private NlpPipelineRegistry nlpPipelineRegistry;
+
+    @Autowired
+    private OpenNlpModelPool openNlpModelPool;
     
     /**
      * Generates content using a community model
@@ -225,7 +239,6 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
         }
     }
     private StanfordCoreNLP pipeline;
-    private Properties props;
 
     /**
      * Calculates the distribution of sentiments across sentences
@@ -294,41 +307,14 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
     @PostConstruct
     public void init() {
         try {
-            props = new Properties();
-            props.setProperty("annotators", "tokenize, ssplit, parse, sentiment");
-            pipeline = new StanfordCoreNLP(props);
-
-            try {
-                initializeOpenNLPComponents();
-            } catch (IOException e) {
-                log.warn("OpenNLP models not found. Language detection and categorization will be disabled.");
-                languageDetector = null;
-                categorizer = null;
-            }
+            pipeline = nlpPipelineRegistry.getPipeline(NlpPipelineRegistry.Profile.SENTIMENT_FAST,
+                NlpPipelineRegistry.Settings.DEFAULTS);
         } catch (Exception e) {
             log.error("Error initializing services", e);
             throw new RuntimeException("Failed to initialize services: " + e.getMessage());
         }
     }
 
-    private void initializeOpenNLPComponents() throws IOException {
-        // Initialize OpenNLP language detector if model exists
-        InputStream langModelIn = getClass().getResourceAsStream("/models/langdetect-183.bin");
-        if (langModelIn != null) {
-            LanguageDetectorModel model = new LanguageDetectorModel(langModelIn);
-            languageDetector = new LanguageDetectorME(model);
-            langModelIn.close();
-        }
-
-        // Initialize OpenNLP document categorizer if model exists
-        InputStream docModelIn = getClass().getResourceAsStream("/models/en-doc-cat.bin");
-        if (docModelIn != null) {
-            DoccatModel docModel = new DoccatModel(docModelIn);
-            categorizer = new DocumentCategorizerME(docModel);
-            docModelIn.close();
-        }
-    }
-
     @Transactional
     public Content createContent(Content content, User user) {
         content.setUser(user);
@@ -378,8 +364,17 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
         content.setMetricsMap(defaultMetrics);
     }
 
-    @Transactional
+    // Not transactional: LLM and NLP calls would otherwise hold a connection for the whole run;
+    // each repository write commits in its own short transaction
     public Content generateContent(ContentRequest request, User user) {
+        return generateContent(request, user, null);
+    }
+
+    /**
+     * Generates content, forwarding completion tokens to {@code tokenListener} as they
+     * stream in when it is non-null. Analysis and persistence run after the stream closes.
+     */
+    public Content generateContent(ContentRequest request, User user, Consumer<String> tokenListener) {
         validateContentRequest(request);
 
         Content content = new Content();
@@ -400,19 +395,16 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
 
         try {
             // Generate content using OpenAI
-            Content generatedContent = generateOpenAIContent(request);
+            Content generatedContent = generateOpenAIContent(request, tokenListener);
             content.setContentBody(generatedContent.getContentBody());
             content.setKeywords(generatedContent.getKeywords());
             content.setRegion(generatedContent.getRegion());
             content.setMetricsMap(generatedContent.getMetricsMap());
 
-            // Add readability and structure analysis
-            Map<String, Object> readabilityMetrics = enhancedContentGenerationService.calculateReadabilityScore(
-                generatedContent.getContentBody()
-            );
-            Map<String, Object> structureMetrics = enhancedContentGenerationService.assessContentStructure(
-                generatedContent.getContentBody()
-            );
+            // Add readability and structure analysis, sharing one scan of the text
+            TextStats textStats = TextStats.scan(generatedContent.getContentBody());
+            Map<String, Object> readabilityMetrics = enhancedContentGenerationService.calculateReadabilityScore(textStats);
+            Map<String, Object> structureMetrics = enhancedContentGenerationService.assessContentStructure(textStats);
             
             // Set readability score and content structure in dedicated fields
             content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics));
@@ -427,7 +419,7 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
 
             // Add keyword optimization analysis
             Map<String, Object> keywordOptimization = keywordOptimizationService.analyzeKeywordOptimization(
-                generatedContent.getContentBody(),
+                textStats,
                 generatedContent.getKeywords()
             );
             content.getMetricsMap().put("keyword_optimization", keywordOptimization);
@@ -484,6 +476,7 @@ double sentimentScore = switch (sentiment) {
 content.setStanfordSentiment(String.valueOf(sentimentScore));
 }
             content.setAnalyzedSentiment(objectMapper.writeValueAsString(detailedSentiment));
+            content.applySentimentSummary(detailedSentiment);
 
             Map<String, Double> contentWeights = dynamicTrendWeightService.calculateContentWeights(content);
 
@@ -496,7 +489,7 @@ try {
         keywordsToAnalyze.add(content.getTitle());
     }
     if (content.getKeywords() != null) {
-        Arrays.stream(content.getKeywords().split(",\\s*"))
+        Arrays.stream(RegexPatterns.COMMA_THEN_SPACE.split(content.getKeywords()))
             .limit(MAX_KEYWORDS_TO_ANALYZE - (content.getTitle() != null ? 1 : 0))
             .forEach(keywordsToAnalyze::add);
     }
@@ -638,9 +631,10 @@ content.setTrendData(objectMapper.writeValueAsString(trendData));
         }
     }
 
-    private Content generateOpenAIContent(ContentRequest request) {
+    private Content generateOpenAIContent(ContentRequest request, Consumer<String> tokenListener) {
         // Analyze sentiment first
-        Map<String, Object> sentimentAnalysis = contextAwareSentimentService.analyzeContextAwareSentiment(request.getTopic());
+        Map<String, Object> sentimentAnalysis = contextAwareSentimentService.analyzeContextAwareSentiment(
+            request.getTopic(), EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
         double overallSentiment = (double) sentimentAnalysis.getOrDefault("overall_sentiment", 0.5);
 
         StringBuilder promptBuilder = new StringBuilder();
@@ -681,7 +675,7 @@ content.setTrendData(objectMapper.writeValueAsString(trendData));
         if (request.getKeywords() != null && !request.getKeywords().isEmpty()) {
             promptBuilder.append("\nPrimary Keywords:\n");
             // Convert keywords to List if it's not already
-            List<String> keywords = new ArrayList<>(Arrays.asList(request.getKeywords().split(",\\s*")));
+            List<String> keywords = new ArrayList<>(Arrays.asList(RegexPatterns.COMMA_THEN_SPACE.split(request.getKeywords())));
             keywords.forEach(keyword ->
                 promptBuilder.append("* ").append(keyword.trim()).append("\n")
             );
@@ -699,7 +693,7 @@ content.setTrendData(objectMapper.writeValueAsString(trendData));
         promptBuilder.append("\nSemantic Context (Word2Vec Analysis):\n");
         
         // Get keywords and find semantically related terms
-        Arrays.stream(request.getKeywords().split(",\\s*"))
+        Arrays.stream(RegexPatterns.COMMA_THEN_SPACE.split(request.getKeywords()))
             .forEach(keyword -> {
                 List<String> semanticallySimilar = word2VecService.findSimilarWords(keyword.trim(), 3);
                 if (!semanticallySimilar.isEmpty()) {
@@ -806,14 +800,13 @@ if (!trendingTopics.isEmpty()) {
 
         try {
             int maxTokens = 10000; // Define a reasonable token limit for the response
-            Map<String, Object> response = openRouterService.createChatCompletion(
-                model,
-                messages,
-                Map.of(
-                    "temperature", 0.7,
-                    "max_tokens", maxTokens
-                )
+            Map<String, Object> extraBody = Map.of(
+                "temperature", 0.7,
+                "max_tokens", maxTokens
             );
+            Map<String, Object> response = tokenListener != null
+                ? openRouterService.streamChatCompletion(model, messages, extraBody, tokenListener)
+                : openRouterService.createChatCompletion(model, messages, extraBody);
             
             String generatedContent = openRouterService.extractContentFromResponse(response);
             if (generatedContent == null || generatedContent.trim().isEmpty()) {
@@ -832,7 +825,7 @@ generatedContent.trim());
 content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics));
             
             // Extract sections without removing them from content
-            String[] sections = generatedContent.split("(?m)^## ");
+            String[] sections = SECTION_HEADING.split(generatedContent);
             for (String section : sections) {
                 String sectionLower = section.toLowerCase().trim();
                 if (sectionLower.startsWith("keywords")) {
@@ -966,6 +959,7 @@ content.setReadabilityScore(objectMapper.writeValueAsString(readabilityMetrics))
         content.setContentBody(contentText);
         content.setCategory(category);
         content.setAnalyzedSentiment(sentiment);
+        content.setSentimentClass(sentiment.toLowerCase());
         content.setUser(user);
         content.setCreatedAt(LocalDateTime.now());
         content.setUpdatedAt(LocalDateTime.now());
@@ -1064,18 +1058,12 @@ try {
     }
 
     private String detectLanguage(String text) {
-        if (languageDetector == null) {
-            try {
-                initializeOpenNLPComponents();
-            } catch (IOException e) {
-                log.error("Failed to initialize OpenNLP components", e);
-                return "en"; // Default to English if initialization fails
-            }
+        if (!openNlpModelPool.isLanguageDetectionAvailable()) {
+            return "en"; // Default to English if no model is loaded
         }
 
         try {
-            Language language = languageDetector.predictLanguage(text);
-            return language.getLang();
+            return openNlpModelPool.detectLanguage(text);
         } catch (Exception e) {
             log.error("Error detecting language", e);
             return "en"; // Default to English
@@ -1133,14 +1121,13 @@ try {
         Map<String, Object> sentimentMap = new HashMap<>();
         if (pipeline != null) {
             try {
-                Annotation annotation = new Annotation(text);
-                pipeline.annotate(annotation);
-                
-                List<CoreMap> sentences = annotation.get(CoreAnnotations.SentencesAnnotation.class);
+                // Reuses the cached parse when the same text was just analyzed for context-aware sentiment
+                Map<String, Object> analysis = contextAwareSentimentService.analyzeContextAwareSentiment(
+                    text, EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
+                List<Map<String, Object>> sentences = (List<Map<String, Object>>) analysis.get("sentence_analysis");
                 if (sentences != null && !sentences.isEmpty()) {
                     // Get the sentiment of the first sentence as overall sentiment
-                    String sentiment = sentences.get(0).get(SentimentCoreAnnotations.SentimentClass.class);
-                    sentimentMap.put("sentiment", sentiment.toLowerCase());
+                    sentimentMap.put("sentiment", sentences.get(0).get("sentiment_class"));
                 }
             } catch (Exception e) {
                 log.error("Error performing Stanford sentiment analysis", e);
@@ -1149,17 +1136,8 @@ try {
         return sentimentMap;
     }
 
-    private double[] getCategoryProbabilities(String text) {
-        // Tokenize the text
-        String[] tokens = text.split(" ");
-        
-        // Get category probabilities using OpenNLP document categorizer
-        return categorizer.categorize(tokens);
-    }
-
     private String categorizeContent(String text) {
-        double[] categoryProbs = getCategoryProbabilities(text);
-        return categorizer.getBestCategory(categoryProbs);
+        return openNlpModelPool.bestCategory(text);
     }
 
     // private Map<String, Double> calculateReadabilityMetrics(String text) {
@@ -1205,50 +1183,6 @@ try {
     //     }
     // }
 
-    private int countSyllables(String text) {
-        int count = 0;
-        text = text.toLowerCase().replaceAll("[^a-zA-Z ]", "");
-        String[] words = text.split("\\s+");
-        
-        for (String word : words) {
-            count += countWordSyllables(word);
-        }
-        
-        return count;
-    }
-    
-    private int countWordSyllables(String word) {
-        int count = 0;
-        boolean isPrevVowel = false;
-        
-        for (int i = 0; i < word.length(); i++) {
-            boolean isVowel = "aeiouy".indexOf(word.charAt(i)) != -1;
-            
-            if (isVowel && !isPrevVowel) {
-                count++;
-            }
-            
-            isPrevVowel = isVowel;
-        }
-        
-        // Handle silent e at the end
-        if (word.length() > 1 && word.endsWith("e")) {
-            count--;
-        }
-        
-        return Math.max(1, count); // Every word has at least one syllable
-    }
-
-    private int countComplexWords(String[] words) {
-        int count = 0;
-        for (String word : words) {
-            if (countWordSyllables(word) >= 3) {
-                count++;
-            }
-        }
-        return count;
-    }
-
     private void analyzeContentQuality(Content content) {
         try {
             // Basic sentiment analysis
@@ -1266,16 +1200,13 @@ try {
             }
 
             // Language detection
-            if (languageDetector != null && content.getContentBody() != null) {
-                Language detectedLang = languageDetector.predictLanguage(content.getContentBody());
-                content.setLanguage(detectedLang.getLang());
+            if (openNlpModelPool.isLanguageDetectionAvailable() && content.getContentBody() != null) {
+                content.setLanguage(openNlpModelPool.detectLanguage(content.getContentBody()));
             }
 
             // Content categorization
-            if (categorizer != null && content.getContentBody() != null) {
-                double[] categoryProbs = getCategoryProbabilities(content.getContentBody());
-                String category = categorizer.getBestCategory(categoryProbs);
-                content.setCategory(category);
+            if (openNlpModelPool.isCategorizationAvailable() && content.getContentBody() != null) {
+                content.setCategory(categorizeContent(content.getContentBody()));
             }
 
             // Readability metrics
@@ -1540,16 +1471,16 @@ try {
             }
             
             // Analyze sentence structure
-            String[] sentences = content.getContentBody().split("[.!?]+");
+            String[] sentences = RegexPatterns.SENTENCE_TERMINATORS.split(content.getContentBody());
+            int wordCount = RegexPatterns.WHITESPACE.split(content.getContentBody()).length;
             if (sentences.length > 0) {
-                double avgSentenceLength = content.getContentBody().split("\\s+").length / (double) sentences.length;
+                double avgSentenceLength = wordCount / (double) sentences.length;
                 if (avgSentenceLength > 20) {
                     improvements.add("Consider breaking down longer sentences for better clarity");
                 }
             }
             
             // Check content length
-            int wordCount = content.getContentBody().split("\\s+").length;
             if (wordCount < 300) {
                 improvements.add("Consider expanding the content for better depth and coverage");
             }
@@ -1707,8 +1638,9 @@ try {
                 
                 // Recalculate metrics for modified content
                 Map<String, Object> updatedMetrics = new HashMap<>();
-                updatedMetrics.put("readability", enhancedContentGenerationService.calculateReadabilityScore(finalContent));
-                updatedMetrics.put("structure", enhancedContentGenerationService.assessContentStructure(finalContent));
+                TextStats finalStats = TextStats.scan(finalContent);
+                updatedMetrics.put("readability", enhancedContentGenerationService.calculateReadabilityScore(finalStats));
+                updatedMetrics.put("structure", enhancedContentGenerationService.assessContentStructure(finalStats));
                 
                 // Update existing Content object with updates
                 Content contentObj = new Content();
@@ -1795,13 +1727,13 @@ try {
     }
 
     private String splitLongSentences(String content) {
-        String[] sentences = content.split("(?<=[.!?])\\s+");
+        String[] sentences = RegexPatterns.SENTENCE_BOUNDARY.split(content);
         StringBuilder result = new StringBuilder();
         
         for (String sentence : sentences) {
-            if (sentence.split("\\s+").length > 25) {
+            if (RegexPatterns.WHITESPACE.split(sentence).length > 25) {
                 // Split on conjunctions or transition words
-                sentence = sentence.replaceAll("(?<=\\w)(,\\s*and\\s|,\\s*but\\s|;\\s*however\\s)", ".$1");
+                sentence = CLAUSE_CONJUNCTION.matcher(sentence).replaceAll(".$1");
             }
             result.append(sentence).append(" ");
         }
@@ -1810,18 +1742,8 @@ try {
     }
 
     private String simplifyComplexWords(String content) {
-        // Map of complex words to simpler alternatives
-        Map<String, String> simplifications = Map.of(
-            "utilize", "use",
-            "implement", "use",
-            "facilitate", "help",
-            "commence", "start",
-            "terminate", "end"
-            // Add more as needed
-        );
-        
-        for (Map.Entry<String, String> entry : simplifications.entrySet()) {
-            content = content.replaceAll("\\b" + entry.getKey() + "\\b", entry.getValue());
+        for (Map.Entry<Pattern, String> entry : SIMPLIFICATIONS.entrySet()) {
+            content = entry.getKey().matcher(content).replaceAll(entry.getValue());
         }
         
         return content;
@@ -1829,7 +1751,7 @@ try {
 
     private String addParagraphBreaks(String content) {
         // Add paragraph breaks after every 3-5 sentences
-        String[] sentences = content.split("(?<=[.!?])\\s+");
+        String[] sentences = RegexPatterns.SENTENCE_BOUNDARY.split(content);
         StringBuilder result = new StringBuilder();
         int sentenceCount = 0;
         
@@ -1867,11 +1789,11 @@ try {
     }
 
     private String improveParagraphDistribution(String content) {
-        String[] paragraphs = content.split("\n\n");
+        String[] paragraphs = RegexPatterns.PARAGRAPH_BREAK.split(content);
         StringBuilder result = new StringBuilder();
         
         for (String paragraph : paragraphs) {
-            String[] sentences = paragraph.split("(?<=[.!?])\\s+");
+            String[] sentences = RegexPatterns.SENTENCE_BOUNDARY.split(paragraph);
             if (sentences.length > 5) {
                 // Split long paragraphs
                 for (int i = 0; i < sentences.length; i++) {
@@ -1891,14 +1813,14 @@ try {
 
     private String fixFormattingConsistency(String content) {
         // Standardize list markers
-        content = content.replaceAll("^\\s*[-*+]\\s+", "- ");
+        content = LEADING_LIST_MARKER.matcher(content).replaceAll("- ");
         
         // Standardize emphasis markers
-        content = content.replaceAll("__([^_]+)__", "**$1**");
-        content = content.replaceAll("_([^_]+)_", "*$1*");
+        content = UNDERSCORE_BOLD.matcher(content).replaceAll("**$1**");
+        content = UNDERSCORE_ITALIC.matcher(content).replaceAll("*$1*");
         
         // Standardize link format
-        content = content.replaceAll("(?<!\\[)(?<!\\]\\()http[s]?://\\S+(?![\\)])", "<$0>");
+        content = BARE_URL.matcher(content).replaceAll("<$0>");
         
         return content;
     }
@@ -1909,7 +1831,7 @@ try {
         if (frequency == null || frequency.isEmpty()) return content;
         
         // Add keywords to important positions (first paragraph, headings)
-        String[] paragraphs = content.split("\n\n");
+        String[] paragraphs = RegexPatterns.PARAGRAPH_BREAK.split(content);
         if (paragraphs.length > 0) {
             String firstParagraph = paragraphs[0];
             for (String keyword : frequency.keySet()) {
@@ -1935,7 +1857,7 @@ try {
             int count = frequency.get(keyword);
             if (count > 3) {
                 // Keep only the first 3 occurrences
-                Pattern pattern = Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b", Pattern.CASE_INSENSITIVE);
+                Pattern pattern = RegexPatterns.wholeWord(keyword);
                 Matcher matcher = pattern.matcher(content);
                 int found = 0;
                 StringBuilder result = new StringBuilder();
@@ -0,0 +1,746 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.model.ContentChangedEvent;
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import com.jithin.ai_content_platform.util.WordVectorModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vector index over the document embeddings of every stored content row. Rows live in one
+ * contiguous float matrix next to integer-coded category, content type, region and user
+ * columns, so a filtered top-K query is a single scan that checks the filter before the
+ * dot product. The index follows {@link ContentChangedEvent}s once their transaction has
+ * committed, embedding on a single background thread, and is periodically written to a
+ * snapshot file. On startup the
+ * snapshot is loaded and reconciled with rows changed since it was taken; a full rebuild
+ * only happens without a usable snapshot or after new word vectors are published.
+ */
+@Service
+@Slf4j
+public class ContentVectorIndex {
+
+    private static final int MAGIC = 0x43564958;
+    private static final int VERSION = 1;
+    // Rows saved shortly before a snapshot may not have reached it, so reconcile a little earlier
+    private static final Duration SNAPSHOT_OVERLAP = Duration.ofMinutes(5);
+
+    @Autowired
+    private DocumentEmbeddingService documentEmbeddingService;
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    @Qualifier("contentIndexExecutor")
+    private ThreadPoolTaskExecutor contentIndexExecutor;
+
+    @Value("${content.vector-index.snapshot-path:models/content-index.bin}")
+    private String snapshotPath;
+
+    @Value("${content.vector-index.page-size:500}")
+    private int pageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Rows rows;
+    private volatile boolean dirty;
+
+    // Attribute values are interned to ints shared by every generation of rows
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong upserts = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private volatile long lastSnapshotMs;
+    private final AtomicBoolean maintenanceQueued = new AtomicBoolean();
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return rows != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads or rebuilds the index once word vectors are available, rebuilds it when new
+     * vectors are published and writes a snapshot when rows have changed. The work runs on
+     * the index executor, behind any content changes already queued there.
+     */
+    @Scheduled(fixedDelayString = "${content.vector-index.maintenance-interval-ms:60000}",
+        initialDelayString = "${content.vector-index.initial-delay-ms:30000}")
+    public void maintain() {
+        if (maintenanceQueued.compareAndSet(false, true)) {
+            contentIndexExecutor.execute(() -> {
+                try {
+                    maintainNow();
+                } finally {
+                    maintenanceQueued.set(false);
+                }
+            });
+        }
+    }
+
+    private void maintainNow() {
+        WordVectorModel model = word2VecService.getModel();
+        if (model == null) {
+            return;
+        }
+        try {
+            Rows current = currentRows();
+            if (current == null) {
+                if (!loadSnapshot(model)) {
+                    rebuild(model);
+                }
+            } else if (current.model != model) {
+                rebuild(model);
+            }
+            if (dirty) {
+                saveSnapshot();
+            }
+        } catch (Exception e) {
+            log.error("Error maintaining content vector index", e);
+        }
+    }
+
+    /**
+     * Applies a committed content change. Rolled back changes never get here, and the row is
+     * reloaded so the index sees what was committed rather than the flushed entity.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        Long contentId = event.getContentId();
+        if (contentId == null) {
+            return;
+        }
+        contentIndexExecutor.execute(() -> {
+            try {
+                if (event.isRemoved()) {
+                    remove(contentId);
+                } else {
+                    contentRepository.findById(contentId).ifPresentOrElse(this::upsert, () -> remove(contentId));
+                }
+            } catch (Exception e) {
+                log.warn("Could not apply change to content {}: {}", contentId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Adds or replaces the row for the content.
+     */
+    public void upsert(Content content) {
+        try {
+            Rows current = currentRows();
+            if (current == null || content.getId() == null) {
+                return;
+            }
+            float[] vector = documentEmbeddingService.embed(DocumentEmbeddingService.documentText(content), current.model);
+            lock.writeLock().lock();
+            try {
+                if (rows != current) {
+                    return;
+                }
+                if (vector == null) {
+                    current.remove(content.getId());
+                } else {
+                    current.put(content.getId(), userId(content), code(content.getCategory()),
+                        code(content.getContentType()), code(content.getRegion()), content.getTitle(), vector);
+                }
+                dirty = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            upserts.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Could not index content {}: {}", content.getId(), e.getMessage());
+        }
+    }
+
+    public void remove(Long contentId) {
+        if (contentId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rows != null && rows.remove(contentId)) {
+                dirty = true;
+                removals.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the stored content most similar to the text, best first.
+     */
+    public List<Long> similarContentIds(String text, int k, Filter filter) {
+        Rows current = currentRows();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        float[] query = documentEmbeddingService.embed(text, current.model);
+        return query == null ? Collections.emptyList() : ids(search(current, query, k, filter));
+    }
+
+    /**
+     * Ids of the stored content most similar to the given content, best first. Uses the
+     * indexed vector when the content is already indexed.
+     */
+    public List<Long> similarContentIds(Content content, int k, Filter filter) {
+        Rows current = currentRows();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        float[] query = content.getId() == null ? null : vectorOf(current, content.getId());
+        if (query == null) {
+            query = documentEmbeddingService.embed(DocumentEmbeddingService.documentText(content), current.model);
+        }
+        return query == null ? Collections.emptyList() : ids(search(current, query, k, filter));
+    }
+
+    /**
+     * Loads the stored content most similar to the given content, best first.
+     */
+    public List<Content> findSimilarContent(Content content, int k, Filter filter) {
+        return load(similarContentIds(content, k, filter));
+    }
+
+    public List<Content> findSimilarContent(String text, int k, Filter filter) {
+        return load(similarContentIds(text, k, filter));
+    }
+
+    /**
+     * Similar content as contentId/title/score entries, best first.
+     */
+    public List<Map<String, Object>> mostSimilar(Long contentId, int k) {
+        Rows current = currentRows();
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        float[] query = vectorOf(current, contentId);
+        if (query == null) {
+            Optional<Content> content = contentRepository.findById(contentId);
+            if (content.isEmpty()) {
+                return Collections.emptyList();
+            }
+            query = documentEmbeddingService.embed(DocumentEmbeddingService.documentText(content.get()), current.model);
+            if (query == null) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Hit hit : search(current, query, k, Filter.any().excluding(contentId))) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("contentId", hit.id);
+            result.put("title", hit.title);
+            result.put("score", hit.score);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("ready", rows != null);
+            stats.put("rows", rows == null ? 0 : rows.size);
+            stats.put("current", rows != null && rows.model == word2VecService.getModel());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("searches", searches.get());
+        stats.put("upserts", upserts.get());
+        stats.put("removals", removals.get());
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("unsavedChanges", dirty);
+        stats.put("lastSnapshotMs", lastSnapshotMs);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dirty) {
+            try {
+                saveSnapshot();
+            } catch (Exception e) {
+                log.warn("Could not save content vector index snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    private List<Hit> search(Rows current, float[] query, int k, Filter filter) {
+        searches.incrementAndGet();
+        lock.readLock().lock();
+        try {
+            int category = filter.category == null ? -1 : codeIfPresent(filter.category);
+            int contentType = filter.contentType == null ? -1 : codeIfPresent(filter.contentType);
+            int region = filter.region == null ? -1 : codeIfPresent(filter.region);
+            if (category == -2 || contentType == -2 || region == -2 || k <= 0) {
+                return Collections.emptyList();
+            }
+
+            int dimensions = current.dimensions;
+            PriorityQueue<double[]> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble(e -> e[0]));
+            for (int row = 0; row < current.size; row++) {
+                if ((category >= 0 && current.categories[row] != category)
+                        || (contentType >= 0 && current.contentTypes[row] != contentType)
+                        || (region >= 0 && current.regions[row] != region)
+                        || (filter.userId != null && current.userIds[row] != filter.userId)
+                        || (filter.excludeId != null && current.ids[row] == filter.excludeId)) {
+                    continue;
+                }
+                int base = row * dimensions;
+                double score = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    score += query[d] * current.matrix[base + d];
+                }
+                if (score < filter.minScore) {
+                    continue;
+                }
+                if (best.size() < k) {
+                    best.add(new double[]{score, row});
+                } else if (score > best.peek()[0]) {
+                    best.poll();
+                    best.add(new double[]{score, row});
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                double[] entry = best.poll();
+                int row = (int) entry[1];
+                hits.add(new Hit(current.ids[row], current.titles[row], entry[0]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild(WordVectorModel model) {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now();
+        if (!documentEmbeddingService.hasDocumentFrequencies()) {
+            documentEmbeddingService.refreshDocumentFrequencies();
+        }
+
+        // Keyset pages by id, so rows are neither skipped nor read twice as the table changes
+        Rows rebuilt = new Rows(model);
+        long lastId = 0;
+        while (true) {
+            List<ContentRepository.ContentIndexRow> batch = contentRepository.findIndexRowsAfter(lastId, PageRequest.of(0, pageSize));
+            for (ContentRepository.ContentIndexRow content : batch) {
+                float[] vector = documentEmbeddingService.embed(
+                    DocumentEmbeddingService.documentText(content.getTitle(), content.getContentBody()), model);
+                if (vector != null) {
+                    rebuilt.put(content.getId(), content.getUserId() == null ? -1 : content.getUserId(),
+                        code(content.getCategory()), code(content.getContentType()), code(content.getRegion()),
+                        content.getTitle(), vector);
+                }
+            }
+            if (batch.size() < pageSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        lock.writeLock().lock();
+        try {
+            rows = rebuilt;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Pick up rows saved while the pages were being read
+        contentRepository.findModifiedSince(since).forEach(this::upsert);
+        rebuilds.incrementAndGet();
+        log.info("Rebuilt content vector index with {} rows in {} ms", rebuilt.size, System.currentTimeMillis() - started);
+    }
+
+    private boolean loadSnapshot(WordVectorModel model) {
+        Path file = Paths.get(snapshotPath);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        long started = System.currentTimeMillis();
+        LocalDateTime takenAt;
+        Rows loaded = new Rows(model);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring unrecognised content vector index snapshot {}", file);
+                return false;
+            }
+            if (in.readLong() != model.getVersion() || in.readInt() != model.getVectors().dimensions()) {
+                log.info("Content vector index snapshot was built from other word vectors; rebuilding");
+                return false;
+            }
+            takenAt = LocalDateTime.parse(in.readUTF());
+
+            int documents = in.readInt();
+            int terms = in.readInt();
+            Map<String, Integer> frequencies = new HashMap<>(terms * 2);
+            for (int i = 0; i < terms; i++) {
+                frequencies.put(in.readUTF(), in.readInt());
+            }
+
+            int codeCount = in.readInt();
+            String[] names = new String[codeCount];
+            for (int i = 0; i < codeCount; i++) {
+                names[i] = in.readUTF();
+            }
+
+            int count = in.readInt();
+            float[] vector = new float[loaded.dimensions];
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long userId = in.readLong();
+                int category = remap(in.readInt(), names);
+                int contentType = remap(in.readInt(), names);
+                int region = remap(in.readInt(), names);
+                String title = in.readBoolean() ? in.readUTF() : null;
+                for (int d = 0; d < vector.length; d++) {
+                    vector[d] = in.readFloat();
+                }
+                loaded.put(id, userId, category, contentType, region, title, vector);
+            }
+            documentEmbeddingService.restoreDocumentFrequencies(frequencies, documents);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Discarding unreadable content vector index snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rows = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Reconcile with the table: drop deleted rows and re-embed rows changed since the snapshot
+        Set<Long> existing = new HashSet<>(contentRepository.findAllIds());
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            for (long id : loaded.ids()) {
+                if (!existing.contains(id) && loaded.remove(id)) {
+                    removed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Content> changed = contentRepository.findModifiedSince(takenAt.minus(SNAPSHOT_OVERLAP));
+        changed.forEach(this::upsert);
+        dirty = removed > 0 || !changed.isEmpty();
+        log.info("Loaded content vector index snapshot with {} rows ({} removed, {} re-embedded) in {} ms",
+            loaded.size, removed, changed.size(), System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private void saveSnapshot() throws IOException {
+        long started = System.currentTimeMillis();
+        Path file = Paths.get(snapshotPath);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            if (rows == null) {
+                return;
+            }
+            dirty = false;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(rows.model.getVersion());
+            out.writeInt(rows.dimensions);
+            out.writeUTF(LocalDateTime.now().toString());
+
+            Map<String, Integer> frequencies = documentEmbeddingService.getDocumentFrequencies();
+            out.writeInt(documentEmbeddingService.getDocumentCount());
+            out.writeInt(frequencies.size());
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+
+            String[] names = codeNames();
+            out.writeInt(names.length);
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+
+            out.writeInt(rows.size);
+            for (int row = 0; row < rows.size; row++) {
+                out.writeLong(rows.ids[row]);
+                out.writeLong(rows.userIds[row]);
+                out.writeInt(rows.categories[row]);
+                out.writeInt(rows.contentTypes[row]);
+                out.writeInt(rows.regions[row]);
+                out.writeBoolean(rows.titles[row] != null);
+                if (rows.titles[row] != null) {
+                    out.writeUTF(rows.titles[row]);
+                }
+                int base = row * rows.dimensions;
+                for (int d = 0; d < rows.dimensions; d++) {
+                    out.writeFloat(rows.matrix[base + d]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            dirty = true;
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (Files.size(temp) == 0) {
+            Files.deleteIfExists(temp);
+            return;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lastSnapshotMs = System.currentTimeMillis() - started;
+    }
+
+    private Rows currentRows() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float[] vectorOf(Rows current, long contentId) {
+        lock.readLock().lock();
+        try {
+            Integer row = current.rowById.get(contentId);
+            if (row == null) {
+                return null;
+            }
+            int base = row * current.dimensions;
+            return Arrays.copyOfRange(current.matrix, base, base + current.dimensions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Content> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        List<Content> contents = new ArrayList<>(contentRepository.findAllById(ids));
+        contents.sort(Comparator.comparingInt(c -> order.getOrDefault(c.getId(), Integer.MAX_VALUE)));
+        return contents;
+    }
+
+    private static List<Long> ids(List<Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    private static long userId(Content content) {
+        return content.getUser() == null || content.getUser().getId() == null ? -1 : content.getUser().getId();
+    }
+
+    private int code(String value) {
+        if (value == null) {
+            return -1;
+        }
+        synchronized (codes) {
+            return codes.computeIfAbsent(value, v -> codes.size());
+        }
+    }
+
+    // -2 when the value has never been indexed, so no row can match it
+    private int codeIfPresent(String value) {
+        synchronized (codes) {
+            return codes.getOrDefault(value, -2);
+        }
+    }
+
+    private String[] codeNames() {
+        synchronized (codes) {
+            String[] names = new String[codes.size()];
+            codes.forEach((name, code) -> names[code] = name);
+            return names;
+        }
+    }
+
+    private int remap(int snapshotCode, String[] names) {
+        return snapshotCode < 0 ? -1 : code(names[snapshotCode]);
+    }
+
+    /**
+     * Restrictions on which rows a similarity query may return.
+     */
+    public static final class Filter {
+        private String category;
+        private String contentType;
+        private String region;
+        private Long userId;
+        private Long excludeId;
+        private double minScore = -1.0;
+
+        public static Filter any() {
+            return new Filter();
+        }
+
+        public Filter category(String category) {
+            this.category = category;
+            return this;
+        }
+
+        public Filter contentType(String contentType) {
+            this.contentType = contentType;
+            return this;
+        }
+
+        public Filter region(String region) {
+            this.region = region;
+            return this;
+        }
+
+        public Filter user(Long userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Filter excluding(Long contentId) {
+            this.excludeId = contentId;
+            return this;
+        }
+
+        public Filter minScore(double minScore) {
+            this.minScore = minScore;
+            return this;
+        }
+    }
+
+    private static final class Hit {
+        private final long id;
+        private final String title;
+        private final double score;
+
+        private Hit(long id, String title, double score) {
+            this.id = id;
+            this.title = title;
+            this.score = score;
+        }
+    }
+
+    // Dense rows; removing one moves the last row into its slot
+    private static final class Rows {
+        private final WordVectorModel model;
+        private final int dimensions;
+        private final Map<Long, Integer> rowById = new HashMap<>();
+        private long[] ids = new long[64];
+        private long[] userIds = new long[64];
+        private int[] categories = new int[64];
+        private int[] contentTypes = new int[64];
+        private int[] regions = new int[64];
+        private String[] titles = new String[64];
+        private float[] matrix;
+        private int size;
+
+        private Rows(WordVectorModel model) {
+            this.model = model;
+            this.dimensions = model.getVectors().dimensions();
+            this.matrix = new float[64 * dimensions];
+        }
+
+        private void put(long id, long userId, int category, int contentType, int region, String title, float[] vector) {
+            Integer existing = rowById.get(id);
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                if (size == ids.length) {
+                    grow();
+                }
+                row = size++;
+                rowById.put(id, row);
+            }
+            ids[row] = id;
+            userIds[row] = userId;
+            categories[row] = category;
+            contentTypes[row] = contentType;
+            regions[row] = region;
+            titles[row] = title;
+            System.arraycopy(vector, 0, matrix, row * dimensions, dimensions);
+        }
+
+        private boolean remove(long id) {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                userIds[row] = userIds[last];
+                categories[row] = categories[last];
+                contentTypes[row] = contentTypes[last];
+                regions[row] = regions[last];
+                titles[row] = titles[last];
+                System.arraycopy(matrix, last * dimensions, matrix, row * dimensions, dimensions);
+                rowById.put(ids[row], row);
+            }
+            titles[last] = null;
+            return true;
+        }
+
+        private long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            contentTypes = Arrays.copyOf(contentTypes, capacity);
+            regions = Arrays.copyOf(regions, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            matrix = Arrays.copyOf(matrix, capacity * dimensions);
+        }
+    }
+}
@@ -1,13 +1,10 @@
 package com.jithin.ai_content_platform.service;
 
-import edu.stanford.nlp.coref.CorefCoreAnnotations;
-import edu.stanford.nlp.coref.data.CorefChain;
 import edu.stanford.nlp.ling.CoreAnnotations;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.neural.rnn.RNNCoreAnnotations;
-import edu.stanford.nlp.pipeline.Annotation;
-import edu.stanford.nlp.pipeline.StanfordCoreNLP;
 import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
+import edu.stanford.nlp.trees.Tree;
 import edu.stanford.nlp.util.CoreMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,62 +17,207 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ContextAwareSentimentService {
 
-    private final StanfordCoreNLP pipeline;
+    /**
+     * Parts of the analysis a caller needs. Sentence-level and overall sentiment are always produced.
+     */
+    public enum Output {
+        SENTENCES,
+        TOPICS,
+        ENTITIES
+    }
+
+    private static final String[] SENTIMENT_CLASSES = {"very negative", "negative", "neutral", "positive", "very positive"};
+
+    private final NlpResultCache resultCache;
+    private final ParseBudgetManager parseBudgetManager;
+    private final LexiconSentimentService lexiconSentimentService;
     
     @Autowired
-    public ContextAwareSentimentService(StanfordCoreNLP pipeline) {
-        this.pipeline = pipeline;
+    public ContextAwareSentimentService(NlpResultCache resultCache,
+                                        ParseBudgetManager parseBudgetManager,
+                                        LexiconSentimentService lexiconSentimentService) {
+        this.resultCache = resultCache;
+        this.parseBudgetManager = parseBudgetManager;
+        this.lexiconSentimentService = lexiconSentimentService;
     }
     
     public Map<String, Object> analyzeContextAwareSentiment(String text) {
-        Map<String, Object> analysis = new HashMap<>();
-        
+        return analyzeContextAwareSentiment(text, EnumSet.allOf(Output.class));
+    }
+
+    /**
+     * Runs the analysis with the cheapest pipeline profile that produces the requested outputs.
+     * Outputs that are not requested are returned as empty maps. Results are cached by content
+     * hash and profile, so the same text is only parsed once. Sentences over the parse budget
+     * get lexicon sentiment instead and the result is marked {@code degraded}.
+     */
+    public Map<String, Object> analyzeContextAwareSentiment(String text, Set<Output> outputs) {
+        NlpPipelineRegistry.Profile profile = profileFor(outputs);
         try {
-            Annotation document = new Annotation(text);
-            pipeline.annotate(document);
-            
-            // Extract entities and their sentiments
-            Map<String, List<Double>> entitySentiments = extractEntitySentiments(document);
-            
-            // Extract topic-based sentiments
-            Map<String, Double> topicSentiments = extractTopicSentiments(document);
-            
-            // Calculate sentence importance
-            List<Map<String, Object>> sentenceAnalysis = analyzeSentenceImportance(document);
-            
-            // Calculate overall sentiment with context weights
-            double overallSentiment = calculateWeightedSentiment(sentenceAnalysis);
-            
-            // Prepare the analysis result
-            analysis.put("overall_sentiment", overallSentiment);
-            analysis.put("entity_sentiments", entitySentiments);
-            analysis.put("topic_sentiments", topicSentiments);
-            analysis.put("sentence_analysis", sentenceAnalysis);
-            analysis.put("confidence_score", calculateConfidenceScore(sentenceAnalysis));
-            
+            String contentHash = NlpResultCache.hash(text);
+            Map<String, Object> analysis = resultCache.get(contentHash, profile);
+            if (analysis == null) {
+                ParseBudgetManager.Assessment assessment = parseBudgetManager.assess(text);
+                parseBudgetManager.complete(assessment, profile);
+                analysis = analyzeAssessed(assessment, profile);
+                if (!assessment.isDegraded()) {
+                    resultCache.put(contentHash, profile, analysis);
+                }
+            }
+            return select(analysis, outputs);
         } catch (Exception e) {
             log.error("Error in context-aware sentiment analysis", e);
+            Map<String, Object> analysis = new HashMap<>();
             analysis.put("error", e.getMessage());
+            return analysis;
+        }
+    }
+
+    /**
+     * Analyzes many texts at once. Cached texts are skipped and the rest are annotated as
+     * one multi-threaded batch. Results are returned in input order.
+     */
+    public List<Map<String, Object>> analyzeContextAwareSentimentBatch(List<String> texts, Set<Output> outputs) {
+        NlpPipelineRegistry.Profile profile = profileFor(outputs);
+        List<Map<String, Object>> results = new ArrayList<>(Collections.nCopies(texts.size(), null));
+        List<String> hashes = new ArrayList<>(texts.size());
+        List<Integer> missing = new ArrayList<>();
+        List<ParseBudgetManager.Assessment> assessments = new ArrayList<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i) != null ? texts.get(i) : "";
+            String contentHash = NlpResultCache.hash(text);
+            hashes.add(contentHash);
+            Map<String, Object> cached = resultCache.get(contentHash, profile);
+            if (cached != null) {
+                results.set(i, select(cached, outputs));
+                continue;
+            }
+            try {
+                assessments.add(parseBudgetManager.assess(text));
+                missing.add(i);
+            } catch (Exception e) {
+                log.warn("Error assessing parse budget: {}", e.getMessage());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            parseBudgetManager.complete(assessments, profile);
+            for (int j = 0; j < missing.size(); j++) {
+                int index = missing.get(j);
+                ParseBudgetManager.Assessment assessment = assessments.get(j);
+                try {
+                    Map<String, Object> analysis = analyzeAssessed(assessment, profile);
+                    if (!assessment.isDegraded()) {
+                        resultCache.put(hashes.get(index), profile, analysis);
+                    }
+                    results.set(index, select(analysis, outputs));
+                } catch (Exception e) {
+                    log.error("Error extracting batch sentiment result", e);
+                }
+            }
         }
+        return results;
+    }
+
+    /**
+     * Builds the full analysis the profile supports from an assessed and annotated document.
+     * Results with lexicon-scored sentences are not cached, so a later budget change can
+     * upgrade them.
+     */
+    private Map<String, Object> analyzeAssessed(ParseBudgetManager.Assessment assessment, NlpPipelineRegistry.Profile profile) {
+        Map<String, Object> analysis = analyzeSentences(assessment.getSentences(), profile);
+        analysis.put("degraded", assessment.isDegraded());
+        if (assessment.isDegraded()) {
+            analysis.put("degraded_reason", assessment.getDegradeReason());
+        }
+        return analysis;
+    }
+
+    private Map<String, Object> analyzeSentences(List<CoreMap> sentences, NlpPipelineRegistry.Profile profile) {
+        // Extract entities and their sentiments
+        Map<String, List<Double>> entitySentiments = profile.ordinal() >= NlpPipelineRegistry.Profile.ENTITY.ordinal()
+            ? extractEntitySentiments(sentences) : new HashMap<>();
+        
+        // Extract topic-based sentiments
+        Map<String, Double> topicSentiments = profile.ordinal() >= NlpPipelineRegistry.Profile.TOPIC_SENTIMENT.ordinal()
+            ? extractTopicSentiments(sentences) : new HashMap<>();
         
+        // Calculate sentence importance
+        List<Map<String, Object>> sentenceAnalysis = analyzeSentenceImportance(sentences);
+        
+        // Calculate overall sentiment with context weights
+        double overallSentiment = calculateWeightedSentiment(sentenceAnalysis);
+        
+        // Prepare the analysis result
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("overall_sentiment", overallSentiment);
+        analysis.put("entity_sentiments", entitySentiments);
+        analysis.put("topic_sentiments", topicSentiments);
+        analysis.put("sentence_analysis", sentenceAnalysis);
+        analysis.put("confidence_score", calculateConfidenceScore(sentenceAnalysis));
         return analysis;
     }
+
+    // Cached maps are shared, so callers always get their own copy down to the nested lists
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> select(Map<String, Object> analysis, Set<Output> outputs) {
+        Map<String, Object> selected = (Map<String, Object>) deepCopy(analysis);
+        if (!outputs.contains(Output.ENTITIES)) {
+            selected.put("entity_sentiments", new HashMap<>());
+        }
+        if (!outputs.contains(Output.TOPICS)) {
+            selected.put("topic_sentiments", new HashMap<>());
+        }
+        return selected;
+    }
     
-    private Map<String, List<Double>> extractEntitySentiments(Annotation document) {
+    private static Object deepCopy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new HashMap<>(map.size() * 2);
+            map.forEach((key, item) -> copy.put(key, deepCopy(item)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(deepCopy(item)));
+            return copy;
+        }
+        return value;
+    }
+
+    static NlpPipelineRegistry.Profile profileFor(Set<Output> outputs) {
+        if (outputs.contains(Output.ENTITIES)) {
+            return NlpPipelineRegistry.Profile.ENTITY;
+        }
+        if (outputs.contains(Output.TOPICS)) {
+            return NlpPipelineRegistry.Profile.TOPIC_SENTIMENT;
+        }
+        return NlpPipelineRegistry.Profile.SENTIMENT_FAST;
+    }
+    
+    // Parsed sentences carry a sentiment tree; degraded ones fall back to the lexicon
+    private double sentenceSentiment(CoreMap sentence) {
+        Tree tree = sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class);
+        if (tree != null) {
+            return RNNCoreAnnotations.getPredictedClass(tree);
+        }
+        return lexiconSentimentService.scoreSentence(sentence.get(CoreAnnotations.TokensAnnotation.class).stream()
+            .map(CoreLabel::word)
+            .collect(Collectors.toList()));
+    }
+    
+    private Map<String, List<Double>> extractEntitySentiments(List<CoreMap> sentences) {
         Map<String, List<Double>> entitySentiments = new HashMap<>();
         
-        // Get coreference information
-        Map<Integer, CorefChain> corefChains = document.get(CorefCoreAnnotations.CorefChainAnnotation.class);
-        
         // Process each sentence
-        for (CoreMap sentence : document.get(CoreAnnotations.SentencesAnnotation.class)) {
-            double sentenceSentiment = RNNCoreAnnotations.getPredictedClass(
-                sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class));
+        for (CoreMap sentence : sentences) {
+            double sentenceSentiment = sentenceSentiment(sentence);
             
             // Extract named entities and their sentiment
             for (CoreLabel token : sentence.get(CoreAnnotations.TokensAnnotation.class)) {
                 String ne = token.get(CoreAnnotations.NamedEntityTagAnnotation.class);
-                if (!"O".equals(ne)) {
+                if (ne != null && !"O".equals(ne)) {
                     String entity = token.originalText();
                     entitySentiments.computeIfAbsent(entity, k -> new ArrayList<>())
                         .add(sentenceSentiment);
@@ -86,13 +228,12 @@ public class ContextAwareSentimentService {
         return entitySentiments;
     }
     
-    private Map<String, Double> extractTopicSentiments(Annotation document) {
+    private Map<String, Double> extractTopicSentiments(List<CoreMap> sentences) {
         Map<String, Double> topicSentiments = new HashMap<>();
         
         // Extract topics using NER and dependency parsing
-        for (CoreMap sentence : document.get(CoreAnnotations.SentencesAnnotation.class)) {
-            double sentenceSentiment = RNNCoreAnnotations.getPredictedClass(
-                sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class));
+        for (CoreMap sentence : sentences) {
+            double sentenceSentiment = sentenceSentiment(sentence);
             
             Set<String> topics = extractTopicsFromSentence(sentence);
             topics.forEach(topic -> 
@@ -108,7 +249,7 @@ public class ContextAwareSentimentService {
         // Extract noun phrases as potential topics
         for (CoreLabel token : sentence.get(CoreAnnotations.TokensAnnotation.class)) {
             String pos = token.get(CoreAnnotations.PartOfSpeechAnnotation.class);
-            if (pos.startsWith("NN")) {
+            if (pos != null && pos.startsWith("NN")) {
                 topics.add(token.originalText().toLowerCase());
             }
         }
@@ -116,10 +257,9 @@ public class ContextAwareSentimentService {
         return topics;
     }
     
-    private List<Map<String, Object>> analyzeSentenceImportance(Annotation document) {
+    private List<Map<String, Object>> analyzeSentenceImportance(List<CoreMap> sentences) {
         List<Map<String, Object>> sentenceAnalysis = new ArrayList<>();
         
-        List<CoreMap> sentences = document.get(CoreAnnotations.SentencesAnnotation.class);
         int totalSentences = sentences.size();
         
         for (int i = 0; i < sentences.size(); i++) {
@@ -127,8 +267,7 @@ public class ContextAwareSentimentService {
             Map<String, Object> analysis = new HashMap<>();
             
             // Get basic sentiment
-            double sentiment = RNNCoreAnnotations.getPredictedClass(
-                sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class));
+            double sentiment = sentenceSentiment(sentence);
             
             // Calculate position weight (sentences at start and end often more important)
             double positionWeight = calculatePositionWeight(i, totalSentences);
@@ -141,6 +280,7 @@ public class ContextAwareSentimentService {
             
             analysis.put("text", sentence.toString());
             analysis.put("sentiment", sentiment);
+            analysis.put("sentiment_class", SENTIMENT_CLASSES[Math.max(0, Math.min(4, (int) sentiment))]);
             analysis.put("importance", importance);
             analysis.put("position_weight", positionWeight);
             analysis.put("content_weight", contentWeight);
@@ -161,9 +301,10 @@ public class ContextAwareSentimentService {
     private double calculateContentWeight(CoreMap sentence) {
         double weight = 0.5; // Base weight
         
-        // Check for named entities
+        // Check for named entities (absent when the profile has no NER)
         boolean hasNamedEntity = sentence.get(CoreAnnotations.TokensAnnotation.class).stream()
-            .anyMatch(token -> !"O".equals(token.get(CoreAnnotations.NamedEntityTagAnnotation.class)));
+            .map(token -> token.get(CoreAnnotations.NamedEntityTagAnnotation.class))
+            .anyMatch(ne -> ne != null && !"O".equals(ne));
         if (hasNamedEntity) weight += 0.2;
         
         // Check for quotations
@@ -171,7 +312,7 @@ public class ContextAwareSentimentService {
         
         // Check for numerical data
         boolean hasNumbers = sentence.get(CoreAnnotations.TokensAnnotation.class).stream()
-            .anyMatch(token -> token.get(CoreAnnotations.PartOfSpeechAnnotation.class).equals("CD"));
+            .anyMatch(token -> "CD".equals(token.get(CoreAnnotations.PartOfSpeechAnnotation.class)));
         if (hasNumbers) weight += 0.15;
         
         return Math.min(weight, 1.0);
@@ -0,0 +1,251 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import com.jithin.ai_content_platform.util.MappedWordVectors;
+import com.jithin.ai_content_platform.util.RegexPatterns;
+import com.jithin.ai_content_platform.util.WordVectorModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Document embeddings as the TF-IDF weighted mean of word vectors. Each document is pooled
+ * in one pass over its distinct terms straight from the mapped vector store into a float
+ * array, and the normalized result is cached by content hash. Document frequencies come
+ * from the stored content and are refreshed periodically; the cache is dropped whenever
+ * they or the published vectors change.
+ */
+@Service
+@Slf4j
+public class DocumentEmbeddingService {
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Value("${embeddings.cache.max-entries:10000}")
+    private int maxCacheEntries;
+
+    @Value("${embeddings.index.page-size:500}")
+    private int pageSize;
+
+    private final Map<String, float[]> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+            return size() > maxCacheEntries;
+        }
+    };
+    private WordVectorModel cacheModel;
+
+    private volatile DocumentFrequencies frequencies;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    /**
+     * Normalized embedding of the text, or null when none of its words are in the vocabulary.
+     */
+    public float[] embed(String text) {
+        return embed(text, word2VecService.getModel());
+    }
+
+    /**
+     * Embedding of the text in the space of the given vectors, for comparing against
+     * embeddings that were built from them.
+     */
+    public float[] embed(String text, WordVectorModel model) {
+        if (text == null || text.isBlank() || model == null) {
+            return null;
+        }
+        DocumentFrequencies weights = frequencies;
+        String key = NlpResultCache.hash(text);
+        synchronized (cache) {
+            if (cacheModel != model) {
+                cache.clear();
+                cacheModel = model;
+            }
+            float[] cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+        cacheMisses.incrementAndGet();
+
+        MappedWordVectors vectors = model.getVectors();
+        float[] sum = new float[vectors.dimensions()];
+        boolean known = false;
+        for (Map.Entry<String, Integer> term : termCounts(text).entrySet()) {
+            int row = vectors.indexOf(term.getKey());
+            if (row >= 0 && vectors.norm(row) > 0) {
+                float weight = term.getValue() * idf(weights, term.getKey());
+                vectors.accumulate(row, weight / vectors.norm(row), sum);
+                known = true;
+            }
+        }
+        if (!known || !normalize(sum)) {
+            return null;
+        }
+
+        synchronized (cache) {
+            if (cacheModel == model && frequencies == weights) {
+                cache.put(key, sum);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Cosine similarity of two documents, 0 when either has no known words.
+     */
+    public double similarity(String first, String second) {
+        float[] a = embed(first);
+        float[] b = embed(second);
+        return a == null || b == null ? 0.0 : dot(a, b);
+    }
+
+    /**
+     * Recounts document frequencies over the content table, paging by id over titles and
+     * bodies only.
+     */
+    @Scheduled(fixedDelayString = "${embeddings.index.refresh-interval-ms:3600000}", initialDelayString = "${embeddings.index.initial-delay-ms:60000}")
+    public void refreshDocumentFrequencies() {
+        try {
+            long started = System.currentTimeMillis();
+            Map<String, Integer> counts = new HashMap<>();
+            int documents = 0;
+            long lastId = 0;
+            while (true) {
+                List<ContentRepository.ContentText> batch = contentRepository.findTextAfter(lastId, PageRequest.of(0, pageSize));
+                for (ContentRepository.ContentText content : batch) {
+                    for (String term : termCounts(documentText(content.getTitle(), content.getContentBody())).keySet()) {
+                        counts.merge(term, 1, Integer::sum);
+                    }
+                    documents++;
+                }
+                if (batch.size() < pageSize) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            setFrequencies(new DocumentFrequencies(counts, documents));
+            log.info("Counted document frequencies of {} terms over {} documents in {} ms",
+                counts.size(), documents, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Error refreshing document frequencies", e);
+        }
+    }
+
+    public Map<String, Integer> getDocumentFrequencies() {
+        DocumentFrequencies current = frequencies;
+        return current == null ? Collections.emptyMap() : current.counts;
+    }
+
+    public int getDocumentCount() {
+        DocumentFrequencies current = frequencies;
+        return current == null ? 0 : current.documents;
+    }
+
+    /**
+     * Installs previously saved frequencies unless fresher ones have been counted already.
+     */
+    public void restoreDocumentFrequencies(Map<String, Integer> counts, int documents) {
+        if (frequencies == null) {
+            setFrequencies(new DocumentFrequencies(counts, documents));
+        }
+    }
+
+    public boolean hasDocumentFrequencies() {
+        return frequencies != null;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("cachedEmbeddings", cache.size());
+        }
+        long lookups = cacheHits.get() + cacheMisses.get();
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("cacheMisses", cacheMisses.get());
+        stats.put("cacheHitRate", lookups > 0 ? (double) cacheHits.get() / lookups : 0.0);
+        stats.put("frequencyTerms", getDocumentFrequencies().size());
+        stats.put("frequencyDocuments", getDocumentCount());
+        return stats;
+    }
+
+    public static String documentText(Content content) {
+        return documentText(content.getTitle(), content.getContentBody());
+    }
+
+    public static String documentText(String title, String body) {
+        return (title == null ? "" : title) + "\n" + (body == null ? "" : body);
+    }
+
+    private void setFrequencies(DocumentFrequencies updated) {
+        synchronized (cache) {
+            frequencies = updated;
+            // Cached embeddings were weighted with the previous frequencies
+            cache.clear();
+        }
+    }
+
+    // Smoothed inverse document frequency; unseen terms get the maximum weight
+    private static float idf(DocumentFrequencies weights, String term) {
+        if (weights == null) {
+            return 1f;
+        }
+        int df = weights.counts.getOrDefault(term, 0);
+        return (float) (Math.log((1.0 + weights.documents) / (1.0 + df)) + 1.0);
+    }
+
+    private static Map<String, Integer> termCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (text == null) {
+            return counts;
+        }
+        for (String token : RegexPatterns.NON_WORD.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                counts.merge(token, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static boolean normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        if (norm == 0) {
+            return false;
+        }
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] /= norm;
+        }
+        return true;
+    }
+
+    static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            sum += a[d] * b[d];
+        }
+        return sum;
+    }
+
+    private static final class DocumentFrequencies {
+        private final Map<String, Integer> counts;
+        private final int documents;
+
+        private DocumentFrequencies(Map<String, Integer> counts, int documents) {
+            this.counts = Collections.unmodifiableMap(counts);
+            this.documents = documents;
+        }
+    }
+}
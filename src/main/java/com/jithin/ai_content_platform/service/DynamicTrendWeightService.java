@@ -34,7 +34,7 @@ public class DynamicTrendWeightService {
     @Autowired
     private ObjectMapper objectMapper;
     
-    private final Map<String, Double> trendWeights = new HashMap<>();
+    private final Map<String, Double> trendWeights = new ConcurrentHashMap<>();
     
     public Map<String, Double> calculateContentWeights(Content content) {
         Map<String, Double> weights = new HashMap<>();
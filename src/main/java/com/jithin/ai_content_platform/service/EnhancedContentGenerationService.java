@@ -14,13 +14,8 @@ import com.jithin.ai_content_platform.payload.ContentRequest;
 import com.jithin.ai_content_platform.repository.ContentRepository;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
-import edu.stanford.nlp.ling.CoreAnnotations;
 import edu.stanford.nlp.neural.rnn.RNNCoreAnnotations;
-import edu.stanford.nlp.pipeline.Annotation;
-import edu.stanford.nlp.pipeline.StanfordCoreNLP;
-import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
 import edu.stanford.nlp.trees.Tree;
-import edu.stanford.nlp.util.CoreMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,13 +29,34 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import java.util.regex.Pattern;
+import com.jithin.ai_content_platform.util.RegexPatterns;
+import com.jithin.ai_content_platform.util.TextStats;
 import java.util.regex.Matcher;
-import java.text.BreakIterator;
 
 @Service
 @Slf4j
 public class EnhancedContentGenerationService {
 
+    private static final Pattern BOLD_ASTERISKS = Pattern.compile("\\*\\*[^*]+\\*\\*");
+    private static final Pattern BOLD_UNDERSCORES = Pattern.compile("__[^_]+__");
+    private static final Pattern ITALIC_ASTERISK = Pattern.compile("\\*[^*]+\\*");
+    private static final Pattern ITALIC_UNDERSCORE = Pattern.compile("_[^_]+_");
+    private static final Pattern NUMBERED_ITEM = Pattern.compile("\\d+\\..*");
+    private static final Pattern LIST_MARKER = Pattern.compile("^[-\\d.\\s]+");
+
+    // Content clean-up, applied in order by cleanAndFormatContent
+    private static final Pattern CONTROL_CHARS = Pattern.compile("[\\p{Cc}\\p{Cf}\\p{Co}\\p{Cn}]");
+    private static final Pattern CRLF = Pattern.compile("\\r\\n");
+    private static final Pattern CR = Pattern.compile("\\r");
+    private static final Pattern EXTRA_BLANK_LINES = Pattern.compile("\\n{3,}");
+    private static final Pattern HEADING_WITHOUT_SPACE = Pattern.compile("(?m)^(#+)(\\w)");
+    private static final Pattern HEADING_WITHOUT_BLANK_LINE = Pattern.compile("(?m)^(#+.*?)\\n([^\\n])");
+    private static final Pattern LIST_MARKER_WITHOUT_SPACE = Pattern.compile("(?m)^([*-])(\\w)");
+    private static final Pattern LIST_ITEM = Pattern.compile("(?m)^\\s*[-*]\\s*([^\\n]*?)\\s*$");
+    private static final Pattern SPACE_BEFORE_PUNCTUATION = Pattern.compile("\\s+([.,!?;:])");
+    private static final Pattern PUNCTUATION_WITHOUT_SPACE = Pattern.compile("([.,!?;:])(?!\\s|$)");
+    private static final Pattern PERIOD_WITHOUT_SPACE = Pattern.compile("\\.(\\S)");
+
     @Autowired
     private OpenRouterService openRouterService;
 
@@ -59,6 +75,9 @@ public class EnhancedContentGenerationService {
     @Autowired
     private EnhancedWord2VecService word2VecService;
 
+    @Autowired
+    private DocumentEmbeddingService documentEmbeddingService;
+
     @Autowired
     private AdaptiveWeightConfig weightConfig;
 
@@ -71,8 +90,6 @@ public class EnhancedContentGenerationService {
     @Autowired
     private RealTimeContentAdapter realTimeAdapter;
 
-    @Autowired
-    private StanfordCoreNLP pipeline;  // Stanford NLP pipeline
 
     @Autowired
     private MLPredictionService mlPredictionService;
@@ -106,16 +123,15 @@ public class EnhancedContentGenerationService {
 
     private Map<String, Object> performStanfordSentimentAnalysis(String text) {
         Map<String, Object> sentimentMap = new HashMap<>();
-        if (pipeline != null) {
+        if (sentimentService != null) {
             try {
-                Annotation annotation = new Annotation(text);
-                pipeline.annotate(annotation);
-
-                List<CoreMap> sentences = annotation.get(CoreAnnotations.SentencesAnnotation.class);
+                // Reuses the cached parse when the same text was just analyzed for context-aware sentiment
+                Map<String, Object> analysis = sentimentService.analyzeContextAwareSentiment(
+                    text, EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
+                List<Map<String, Object>> sentences = (List<Map<String, Object>>) analysis.get("sentence_analysis");
                 if (sentences != null && !sentences.isEmpty()) {
                     // Get the sentiment of the first sentence as overall sentiment
-                    String sentiment = sentences.get(0).get(SentimentCoreAnnotations.SentimentClass.class);
-                    sentimentMap.put("sentiment", sentiment.toLowerCase());
+                    sentimentMap.put("sentiment", sentences.get(0).get("sentiment_class"));
                 }
             } catch (Exception e) {
                 log.error("Error performing Stanford sentiment analysis", e);
@@ -267,7 +283,7 @@ public class EnhancedContentGenerationService {
         if (request.getKeywords() != null && !request.getKeywords().isEmpty()) {
             promptBuilder.append("\nPrimary Keywords:\n");
             // Convert keywords to List if it's not already
-            List<String> keywords = new ArrayList<>(Arrays.asList(request.getKeywords().split(",\\s*")));
+            List<String> keywords = new ArrayList<>(Arrays.asList(RegexPatterns.COMMA_THEN_SPACE.split(request.getKeywords())));
             keywords.forEach(keyword ->
                 promptBuilder.append("* ").append(keyword.trim()).append("\n")
             );
@@ -338,16 +354,16 @@ public class EnhancedContentGenerationService {
 
         try {
             // Analyze keywords using Word2Vec
-            List<String> expandedKeywords = new ArrayList<>(Arrays.asList(request.getKeywords().split("\\s*,\\s*")));
+            List<String> expandedKeywords = new ArrayList<>(Arrays.asList(RegexPatterns.COMMA_SEPARATOR.split(request.getKeywords())));
             log.info("Starting Word2Vec analysis for {} initial keywords", expandedKeywords.size());
 
-            for (String keyword : Arrays.asList(request.getKeywords().split("\\s*,\\s*"))) {
+            for (String keyword : Arrays.asList(RegexPatterns.COMMA_SEPARATOR.split(request.getKeywords()))) {
                 List<String> similarWords = word2VecService.findSimilarWords(keyword, 3);
                 log.debug("Word2Vec found {} similar words for keyword: {}", similarWords.size(), keyword);
                 expandedKeywords.addAll(similarWords);
             }
             log.info("Word2Vec analysis completed. Expanded {} initial keywords to {} total keywords",
-                request.getKeywords().split("\\s*,\\s*").length, expandedKeywords.size());
+                RegexPatterns.COMMA_SEPARATOR.split(request.getKeywords()).length, expandedKeywords.size());
 
             // Get trend patterns for each keyword
             Map<String, EnhancedTrendPattern> patterns = new HashMap<>();
@@ -377,28 +393,9 @@ public class EnhancedContentGenerationService {
         return analysis;
     }
 
+    // One embedding comparison instead of a similarity lookup per keyword and content word
     private double calculateSemanticRelevance(List<String> keywords, String content) {
-        // Split content into words
-        String[] contentWords = content.toLowerCase().split("\\W+");
-
-        return keywords.stream()
-            .mapToDouble(keyword -> {
-                // Find similar words for the keyword
-                List<String> similarWords = word2VecService.findSimilarWords(keyword, 3);
-
-                // Calculate similarity with content words
-                double maxSimilarity = similarWords.stream()
-                    .flatMapToDouble(similarWord ->
-                        Arrays.stream(contentWords)
-                            .mapToDouble(word -> word2VecService.calculateCosineSimilarity(similarWord, word))
-                    )
-                    .max()
-                    .orElse(0.0);
-
-                return maxSimilarity;
-            })
-            .average()
-            .orElse(0.0);
+        return Math.max(0.0, documentEmbeddingService.similarity(String.join(" ", keywords), content));
     }
 
     // Add this new method at the end of the class
@@ -541,9 +538,10 @@ public class EnhancedContentGenerationService {
             metrics.put("trends", trendMetrics);
 
             // Add content quality metrics
+            TextStats optimizedStats = TextStats.scan(optimizedContent);
             metrics.put("content_quality", Map.of(
-                "readability_score", calculateReadabilityScore(optimizedContent),
-                "structure_score", assessContentStructure(optimizedContent),
+                "readability_score", calculateReadabilityScore(optimizedStats),
+                "structure_score", assessContentStructure(optimizedStats),
                 "keyword_optimization", analyzeKeywordOptimization(optimizedContent, request)
             ));
 
@@ -585,6 +583,7 @@ public class EnhancedContentGenerationService {
             content.setMetrics(objectMapper.writeValueAsString(metrics));
             content.setTrendData(objectMapper.writeValueAsString(trendAnalysis));
             content.setAnalyzedSentiment(objectMapper.writeValueAsString(sentimentAnalysis));
+            content.applySentimentSummary(sentimentAnalysis);
             content.setEngagementPredictions(objectMapper.writeValueAsString(predictions));
             content.setStatus("COMPLETED");
 
@@ -617,18 +616,24 @@ public class EnhancedContentGenerationService {
     }
 
     public Map<String, Object> calculateReadabilityScore(String content) {
+        if (StringUtils.isBlank(content)) {
+            return getDefaultReadabilityMetrics();
+        }
+        return calculateReadabilityScore(TextStats.scan(content));
+    }
+
+    public Map<String, Object> calculateReadabilityScore(TextStats stats) {
         Map<String, Object> metrics = new HashMap<>();
         
         try {
-            if (StringUtils.isBlank(content)) {
+            if (stats.getWordCount() == 0) {
                 return getDefaultReadabilityMetrics();
             }
 
             // Calculate basic text statistics
-            String[] words = content.split("\\s+");
-            int totalWords = words.length;
-            int totalSyllables = countTotalSyllables(words);
-            int totalSentences = countSentences(content);
+            int totalWords = stats.getWordCount();
+            int totalSyllables = stats.getSyllableCount();
+            int totalSentences = Math.max(1, stats.getSentenceCount());
             
             // Calculate Flesch Reading Ease Score
             double fleschScore = 206.835 - 1.015 * ((double) totalWords / totalSentences)
@@ -639,10 +644,10 @@ public class EnhancedContentGenerationService {
             double avgSentenceLength = (double) totalWords / totalSentences;
             
             // Calculate average word length
-            double avgWordLength = (double) content.replaceAll("\\s+", "").length() / totalWords;
+            double avgWordLength = (double) stats.getNonWhitespaceChars() / totalWords;
             
             // Calculate paragraph coherence
-            double paragraphCoherence = calculateParagraphCoherence(content);
+            double paragraphCoherence = calculateParagraphCoherence(stats);
             
             // Store all metrics
             metrics.put("flesch_reading_ease", fleschScore);
@@ -664,21 +669,28 @@ public class EnhancedContentGenerationService {
     }
 
     public Map<String, Object> assessContentStructure(String content) {
+        if (StringUtils.isBlank(content)) {
+            return getDefaultStructureMetrics();
+        }
+        return assessContentStructure(TextStats.scan(content));
+    }
+
+    public Map<String, Object> assessContentStructure(TextStats stats) {
         Map<String, Object> assessment = new HashMap<>();
         
         try {
-            if (StringUtils.isBlank(content)) {
+            if (stats.getWordCount() == 0) {
                 return getDefaultStructureMetrics();
             }
 
             // Analyze heading structure
-            Map<String, Object> headingMetrics = analyzeHeadingStructure(content);
+            Map<String, Object> headingMetrics = analyzeHeadingStructure(stats);
             
             // Analyze paragraph distribution
-            Map<String, Object> paragraphMetrics = analyzeParagraphDistribution(content);
+            Map<String, Object> paragraphMetrics = analyzeParagraphDistribution(stats);
             
             // Analyze formatting consistency
-            Map<String, Object> formattingMetrics = analyzeFormattingConsistency(content);
+            Map<String, Object> formattingMetrics = analyzeFormattingConsistency(stats);
             
             // Combine all metrics
             assessment.putAll(headingMetrics);
@@ -727,74 +739,51 @@ public class EnhancedContentGenerationService {
         return defaults;
     }
 
-    private int countSyllables(String word) {
-        word = word.toLowerCase().replaceAll("[^a-zA-Z]", "");
-        if (word.length() <= 3) return 1;
+    private double calculateParagraphCoherence(TextStats stats) {
+        int paragraphCount = stats.getParagraphCount();
+        if (paragraphCount <= 1) return 1.0;
         
-        int count = 0;
-        boolean isPreviousVowel = false;
-        
-        for (int i = 0; i < word.length(); i++) {
-            boolean isVowel = "aeiouy".indexOf(word.charAt(i)) != -1;
-            if (isVowel && !isPreviousVowel) {
-                count++;
+        double totalCoherence = 0.0;
+        int sentence = 0;
+        for (int p = 0; p < paragraphCount; p++) {
+            int paragraphStart = stats.paragraphStart(p);
+            int paragraphEnd = stats.paragraphEnd(p);
+            while (sentence < stats.getSentenceCount() && stats.sentenceStart(sentence) < paragraphStart) {
+                sentence++;
+            }
+            List<Set<String>> sentenceWords = new ArrayList<>();
+            while (sentence < stats.getSentenceCount() && stats.sentenceStart(sentence) < paragraphEnd) {
+                sentenceWords.add(sentenceWordSet(stats, stats.sentenceStart(sentence), stats.sentenceEnd(sentence)));
+                sentence++;
+            }
+            if (sentenceWords.size() > 1) {
+                totalCoherence += calculateSentenceCoherence(sentenceWords);
             }
-            isPreviousVowel = isVowel;
         }
         
-        if (word.endsWith("e")) count--;
-        if (word.endsWith("le") && word.length() > 2) count++;
-        return Math.max(1, count);
-    }
-
-    private int countTotalSyllables(String[] words) {
-        int total = 0;
-        for (String word : words) {
-            total += countSyllables(word);
-        }
-        return total;
-    }
-
-    private int countSentences(String text) {
-        if (StringUtils.isBlank(text)) return 0;
-        
-        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.US);
-        iterator.setText(text);
-        
-        int count = 0;
-        while (iterator.next() != BreakIterator.DONE) {
-            count++;
-        }
-        return Math.max(1, count);
+        return totalCoherence / paragraphCount;
     }
 
-    private double calculateParagraphCoherence(String content) {
-        String[] paragraphs = content.split("\n\n");
-        if (paragraphs.length <= 1) return 1.0;
-        
-        double totalCoherence = 0.0;
-        for (String paragraph : paragraphs) {
-            String[] sentences = paragraph.split("[.!?]+");
-            if (sentences.length > 1) {
-                totalCoherence += calculateSentenceCoherence(sentences);
-            }
+    private Set<String> sentenceWordSet(TextStats stats, int start, int end) {
+        Set<String> words = new HashSet<>();
+        for (int w = stats.wordIndexAt(start); w < stats.getWordCount() && stats.wordStart(w) < end; w++) {
+            words.add(stats.getText().substring(stats.wordStart(w), Math.min(stats.wordEnd(w), end)).toLowerCase());
         }
-        
-        return totalCoherence / paragraphs.length;
+        return words;
     }
 
-    private double calculateSentenceCoherence(String[] sentences) {
+    private double calculateSentenceCoherence(List<Set<String>> sentences) {
         double coherence = 0.0;
-        for (int i = 1; i < sentences.length; i++) {
-            Set<String> prevWords = new HashSet<>(Arrays.asList(sentences[i-1].toLowerCase().split("\\s+")));
-            Set<String> currWords = new HashSet<>(Arrays.asList(sentences[i].toLowerCase().split("\\s+")));
+        for (int i = 1; i < sentences.size(); i++) {
+            Set<String> prevWords = sentences.get(i - 1);
+            Set<String> currWords = sentences.get(i);
             
             Set<String> intersection = new HashSet<>(prevWords);
             intersection.retainAll(currWords);
             
-            coherence += (double) intersection.size() / Math.max(prevWords.size(), currWords.size());
+            coherence += (double) intersection.size() / Math.max(1, Math.max(prevWords.size(), currWords.size()));
         }
-        return coherence / (sentences.length - 1);
+        return coherence / (sentences.size() - 1);
     }
 
     private String getReadabilityLevel(double fleschScore) {
@@ -807,16 +796,13 @@ public class EnhancedContentGenerationService {
         return "Very Difficult";
     }
 
-    private Map<String, Object> analyzeHeadingStructure(String content) {
+    private Map<String, Object> analyzeHeadingStructure(TextStats stats) {
         Map<String, Object> metrics = new HashMap<>();
-        Pattern headingPattern = Pattern.compile("^(#{1,6})\\s+(.+)$", Pattern.MULTILINE);
-        Matcher matcher = headingPattern.matcher(content);
         
         Map<Integer, Integer> headingLevels = new HashMap<>();
         List<String> headingOrder = new ArrayList<>();
         
-        while (matcher.find()) {
-            int level = matcher.group(1).length();
+        for (int level : stats.getHeadingLevels()) {
             headingLevels.merge(level, 1, Integer::sum);
             headingOrder.add(String.valueOf(level));
         }
@@ -851,36 +837,34 @@ public class EnhancedContentGenerationService {
         return Math.max(0.0, score);
     }
 
-    private Map<String, Object> analyzeParagraphDistribution(String content) {
+    private Map<String, Object> analyzeParagraphDistribution(TextStats stats) {
         Map<String, Object> metrics = new HashMap<>();
-        String[] paragraphs = content.split("\n\n");
+        int[] paragraphLengths = new int[stats.getParagraphCount()];
+        for (int p = 0; p < paragraphLengths.length; p++) {
+            paragraphLengths[p] = stats.wordsBetween(stats.paragraphStart(p), stats.paragraphEnd(p));
+        }
         
-        if (paragraphs.length == 0) {
+        if (paragraphLengths.length == 0) {
             return Map.of("paragraph_distribution_score", 0.0,
                          "avg_paragraph_length", 0.0,
                          "paragraph_count", 0);
         }
         
-        double avgLength = Arrays.stream(paragraphs)
-            .mapToInt(p -> p.split("\\s+").length)
+        double avgLength = Arrays.stream(paragraphLengths)
             .average()
             .orElse(0.0);
         
-        double distribution = calculateParagraphDistributionScore(paragraphs);
+        double distribution = calculateParagraphDistributionScore(paragraphLengths);
         
         metrics.put("paragraph_distribution_score", distribution);
         metrics.put("avg_paragraph_length", avgLength);
-        metrics.put("paragraph_count", paragraphs.length);
+        metrics.put("paragraph_count", paragraphLengths.length);
         
         return metrics;
     }
 
-    private double calculateParagraphDistributionScore(String[] paragraphs) {
-        if (paragraphs.length <= 1) return 1.0;
-        
-        int[] lengths = Arrays.stream(paragraphs)
-            .mapToInt(p -> p.split("\\s+").length)
-            .toArray();
+    private double calculateParagraphDistributionScore(int[] lengths) {
+        if (lengths.length <= 1) return 1.0;
         
         double mean = Arrays.stream(lengths).average().orElse(0.0);
         double variance = Arrays.stream(lengths)
@@ -892,17 +876,17 @@ public class EnhancedContentGenerationService {
         return 1.0 / (1.0 + Math.sqrt(variance) / mean);
     }
 
-    private Map<String, Object> analyzeFormattingConsistency(String content) {
+    private Map<String, Object> analyzeFormattingConsistency(TextStats stats) {
         Map<String, Object> metrics = new HashMap<>();
         
         // Check for consistent list formatting
-        double listConsistency = analyzeListConsistency(content);
+        double listConsistency = analyzeListConsistency(stats);
         
         // Check for consistent emphasis usage
-        double emphasisConsistency = analyzeEmphasisConsistency(content);
+        double emphasisConsistency = analyzeEmphasisConsistency(stats.getText());
         
         // Check for consistent link formatting
-        double linkConsistency = analyzeLinkConsistency(content);
+        double linkConsistency = analyzeLinkConsistency(stats);
         
         double overallConsistency = (listConsistency + emphasisConsistency + linkConsistency) / 3.0;
         
@@ -914,18 +898,9 @@ public class EnhancedContentGenerationService {
         return metrics;
     }
 
-    private double analyzeListConsistency(String content) {
-        Pattern bulletList = Pattern.compile("^\\s*[-*+]\\s+", Pattern.MULTILINE);
-        Pattern numberList = Pattern.compile("^\\s*\\d+\\.\\s+", Pattern.MULTILINE);
-        
-        Matcher bulletMatcher = bulletList.matcher(content);
-        Matcher numberMatcher = numberList.matcher(content);
-        
-        int bulletCount = 0;
-        int numberCount = 0;
-        
-        while (bulletMatcher.find()) bulletCount++;
-        while (numberMatcher.find()) numberCount++;
+    private double analyzeListConsistency(TextStats stats) {
+        int bulletCount = stats.getBulletListItems();
+        int numberCount = stats.getNumberedListItems();
         
         if (bulletCount + numberCount == 0) return 1.0;
         
@@ -934,15 +909,10 @@ public class EnhancedContentGenerationService {
     }
 
     private double analyzeEmphasisConsistency(String content) {
-        Pattern bold1 = Pattern.compile("\\*\\*[^*]+\\*\\*");
-        Pattern bold2 = Pattern.compile("__[^_]+__");
-        Pattern italic1 = Pattern.compile("\\*[^*]+\\*");
-        Pattern italic2 = Pattern.compile("_[^_]+_");
-        
-        int bold1Count = countMatches(content, bold1);
-        int bold2Count = countMatches(content, bold2);
-        int italic1Count = countMatches(content, italic1);
-        int italic2Count = countMatches(content, italic2);
+        int bold1Count = countMatches(content, BOLD_ASTERISKS);
+        int bold2Count = countMatches(content, BOLD_UNDERSCORES);
+        int italic1Count = countMatches(content, ITALIC_ASTERISK);
+        int italic2Count = countMatches(content, ITALIC_UNDERSCORE);
         
         if (bold1Count + bold2Count + italic1Count + italic2Count == 0) return 1.0;
         
@@ -953,12 +923,9 @@ public class EnhancedContentGenerationService {
         return (boldConsistency + italicConsistency) / 2.0;
     }
 
-    private double analyzeLinkConsistency(String content) {
-        Pattern mdLink = Pattern.compile("\\[([^\\]]+)\\]\\(([^)]+)\\)");
-        Pattern bareUrl = Pattern.compile("https?://\\S+");
-        
-        int mdLinkCount = countMatches(content, mdLink);
-        int bareUrlCount = countMatches(content, bareUrl);
+    private double analyzeLinkConsistency(TextStats stats) {
+        int mdLinkCount = stats.getMarkdownLinks();
+        int bareUrlCount = stats.getBareUrls();
         
         if (mdLinkCount + bareUrlCount == 0) return 1.0;
         
@@ -1015,7 +982,8 @@ public class EnhancedContentGenerationService {
     public List<String> generateContentImprovements(Content content) {
         try {
             // 1. Get sentiment and trend analysis for context
-            Map<String, Object> sentimentAnalysis = sentimentService.analyzeContextAwareSentiment(content.getContentBody());
+            Map<String, Object> sentimentAnalysis = sentimentService.analyzeContextAwareSentiment(
+                content.getContentBody(), EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
             Map<String, Object> trendAnalysis = analyzeTrendsForContent(new ContentRequest(content));
 
             // Build a comprehensive prompt using all available data
@@ -1069,8 +1037,8 @@ public class EnhancedContentGenerationService {
 
             // Process and format the suggestions
             return Arrays.stream(responseContent.split("\n"))
-                .filter(line -> line.trim().startsWith("-") || line.trim().matches("\\d+\\..*"))
-                .map(line -> line.replaceFirst("^[-\\d.\\s]+", "").trim())
+                .filter(line -> line.trim().startsWith("-") || NUMBERED_ITEM.matcher(line.trim()).matches())
+                .map(line -> LIST_MARKER.matcher(line).replaceFirst("").trim())
                 .collect(Collectors.toList());
 
         } catch (Exception e) {
@@ -1092,30 +1060,30 @@ public class EnhancedContentGenerationService {
 
         try {
             // Step 1: Basic text normalization
-            content = content.replaceAll("[\\p{Cc}\\p{Cf}\\p{Co}\\p{Cn}]", "");
-            content = content.replaceAll("\\r\\n", "\\n");
-            content = content.replaceAll("\\r", "\\n");
-            content = content.replaceAll("\\n{3,}", "\\n\\n");
+            content = CONTROL_CHARS.matcher(content).replaceAll("");
+            content = CRLF.matcher(content).replaceAll("\\n");
+            content = CR.matcher(content).replaceAll("\\n");
+            content = EXTRA_BLANK_LINES.matcher(content).replaceAll("\\n\\n");
 
             // Step 2: Fix Markdown formatting
-            content = content.replaceAll("(?m)^(#+)(\\w)", "$1 $2");
-            content = content.replaceAll("(?m)^(#+.*?)\\n([^\\n])", "$1\\n\\n$2");
-            content = content.replaceAll("(?m)^([*-])(\\w)", "$1 $2");
-            content = content.replaceAll("(?m)^\\s*[-*]\\s*([^\\n]*?)\\s*$", "* $1");
+            content = HEADING_WITHOUT_SPACE.matcher(content).replaceAll("$1 $2");
+            content = HEADING_WITHOUT_BLANK_LINE.matcher(content).replaceAll("$1\\n\\n$2");
+            content = LIST_MARKER_WITHOUT_SPACE.matcher(content).replaceAll("$1 $2");
+            content = LIST_ITEM.matcher(content).replaceAll("* $1");
 
             // Step 3: Fix character encoding
-            content = content.replaceAll("[“”]", "\"");
-            content = content.replaceAll("[‘’]", "'");
-            content = content.replaceAll("…", "...");
-            content = content.replaceAll("–", "-");
-            content = content.replaceAll("—", "--");
-            content = content.replaceAll("•", "*");
+            content = content.replace('“', '"').replace('”', '"');
+            content = content.replace('‘', '\'').replace('’', '\'');
+            content = content.replace("…", "...");
+            content = content.replace("–", "-");
+            content = content.replace("—", "--");
+            content = content.replace("•", "*");
 
             // Step 4: Clean up spacing and punctuation
-            content = content.replaceAll("\\s+([.,!?;:])", "$1");
-            content = content.replaceAll("([.,!?;:])(?!\\s|$)", "$1 ");
-            content = content.replaceAll("\\s+", " ");
-            content = content.replaceAll("\\.(\\S)", ". $1");
+            content = SPACE_BEFORE_PUNCTUATION.matcher(content).replaceAll("$1");
+            content = PUNCTUATION_WITHOUT_SPACE.matcher(content).replaceAll("$1 ");
+            content = RegexPatterns.WHITESPACE.matcher(content).replaceAll(" ");
+            content = PERIOD_WITHOUT_SPACE.matcher(content).replaceAll(". $1");
 
             return content.trim();
 
@@ -1,27 +1,34 @@
 package com.jithin.ai_content_platform.service;
 
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.model.TrendData;
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import com.jithin.ai_content_platform.repository.TrendDataRepository;
+import com.jithin.ai_content_platform.util.CorpusShardStore;
+import com.jithin.ai_content_platform.util.MappedWordVectors;
+import com.jithin.ai_content_platform.util.RegexPatterns;
+import com.jithin.ai_content_platform.util.WordVectorModel;
 import lombok.extern.slf4j.Slf4j;
 import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
 import org.deeplearning4j.models.word2vec.Word2Vec;
-import org.deeplearning4j.text.sentenceiterator.BasicLineIterator;
-import org.deeplearning4j.text.sentenceiterator.SentenceIterator;
 import org.deeplearning4j.text.tokenization.tokenizer.preprocessor.CommonPreprocessor;
 import org.deeplearning4j.text.tokenization.tokenizerfactory.DefaultTokenizerFactory;
 import org.deeplearning4j.text.tokenization.tokenizerfactory.TokenizerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.io.File;
-import java.io.FileWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -39,11 +46,67 @@ public class EnhancedWord2VecService {
     @Value("${word2vec.model.path}")
     private String modelPath;
 
-    private Word2Vec vec;
+    @Value("${word2vec.vectors.path:models/word2vec.vectors}")
+    private String vectorsPath;
+
+    @Value("${word2vec.hnsw.enabled:true}")
+    private boolean hnswEnabled;
+
+    @Value("${word2vec.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${word2vec.hnsw.ef-construction:100}")
+    private int hnswEfConstruction;
+
+    @Value("${word2vec.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    // Smaller vocabularies are searched exactly
+    @Value("${word2vec.hnsw.min-vocabulary:1000}")
+    private int hnswMinVocabulary;
+
+    // Int8 copy of the vectors for similarity and for scans when there is no HNSW index
+    @Value("${word2vec.vectors.quantized:false}")
+    private boolean quantized;
+
+    @Value("${word2vec.vectors.rerank-factor:4}")
+    private int rerankFactor;
+
+    @Value("${word2vec.corpus.path:models/corpus}")
+    private String corpusPath;
+
+    @Value("${word2vec.training.incremental:true}")
+    private boolean incrementalTraining;
+
+    // Pending sentences needed before an incremental update is scheduled
+    @Value("${word2vec.training.incremental-min-sentences:50}")
+    private int incrementalMinSentences;
+
+    // More unseen words than this in the new shards triggers a full rebuild to grow the vocabulary
+    @Value("${word2vec.training.rebuild-new-words:200}")
+    private int rebuildNewWords;
+
+    @Value("${word2vec.corpus.max-shards:500}")
+    private int maxCorpusShards;
+
+    @Autowired
+    private Word2VecTrainingService trainingService;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private TrendDataRepository trendDataRepository;
+
+    private CorpusShardStore corpusStore;
+
+    // Lookups are served from the memory-mapped export; the DL4J model only lives during training
+    private final AtomicReference<WordVectorModel> vectors = new AtomicReference<>();
     private final Map<String, Double> wordFrequencies = new ConcurrentHashMap<>();
     private final Map<String, LocalDateTime> wordTimestamps = new ConcurrentHashMap<>();
-    private LocalDateTime lastTrainingTime;
+    private volatile LocalDateTime lastTrainingTime;
     private static final long TRAINING_INTERVAL = 24 * 60 * 60 * 1000; // 24 hours
+    private static final int HARVEST_BOOTSTRAP_DAYS = 30;
 
     @PostConstruct
     public void init() {
@@ -55,12 +118,14 @@ public class EnhancedWord2VecService {
                 log.info("Created model directory at: {}", modelDir.getAbsolutePath());
             }
 
+            corpusStore = CorpusShardStore.open(Paths.get(corpusPath));
+
             // Initialize or load model
             initializeModel();
 
 
             // If no model exists, create a basic one with default data
-            if (vec == null) {
+            if (vectors.get() == null) {
                 log.info("Creating initial Word2Vec model with default healthcare data");
                 List<String> defaultData = Arrays.asList(
                         "king queen prince princess royal monarchy",
@@ -85,7 +150,6 @@ public class EnhancedWord2VecService {
                         "history past event civilization ancient heritage"
                 );
                 addTrainingData(defaultData);
-                trainModel(exportWordFrequenciesToFile());
             }
         } catch (Exception e) {
             log.error("Error initializing Word2Vec service", e);
@@ -95,8 +159,13 @@ public class EnhancedWord2VecService {
     public void initializeModel() {
         try {
             File modelFile = new File(modelPath);
-            if (modelFile.exists()) {
-                vec = WordVectorSerializer.readWord2VecModel(modelFile);
+            File vectorsFile = new File(vectorsPath);
+            if (vectorsFile.exists() && (!modelFile.exists() || vectorsFile.lastModified() >= modelFile.lastModified())) {
+                vectors.set(WordVectorModel.open(vectorsFile.toPath(), indexSettings()));
+                log.info("Mapped {} word vectors from {}", vectors.get().size(), vectorsPath);
+            } else if (modelFile.exists()) {
+                Word2Vec model = WordVectorSerializer.readWord2VecModel(modelFile);
+                publishVectors(model);
                 log.info("Loaded existing Word2Vec model from {}", modelPath);
             } else {
                 log.info("No existing model found. Will create new model when training data is available.");
@@ -106,24 +175,18 @@ public class EnhancedWord2VecService {
         }
     }
 
+    /**
+     * Adds sentences to the corpus shard store and schedules training when enough new data
+     * has accumulated.
+     */
     public void addTrainingData(List<String> contents) {
         try {
-            // Create temporary file for training data
-            Path tempFile = Files.createTempFile("word2vec_training", ".txt");
-            try (FileWriter writer = new FileWriter(tempFile.toFile())) {
-                for (String content : contents) {
-                    writer.write(content + "\n");
-                    updateWordStatistics(content);
-                }
-            }
+            contents.forEach(this::updateWordStatistics);
+            corpusStore.append(contents);
 
-            // Check if we should retrain the model
             if (shouldRetrain()) {
-                trainModel(tempFile);
+                trainModel();
             }
-
-            // Cleanup
-            Files.delete(tempFile);
         } catch (Exception e) {
             log.error("Error adding training data", e);
         }
@@ -139,9 +202,14 @@ public class EnhancedWord2VecService {
         });
     }
 
-    private boolean shouldRetrain() {
+    private boolean shouldRetrain() throws Exception {
         if (lastTrainingTime == null) return true;
 
+        // Incremental updates only read the new shards, so any sizeable backlog is worth folding in
+        if (incrementalTraining) {
+            return corpusStore.lineCount(corpusStore.pendingShardIds()) >= incrementalMinSentences;
+        }
+
         LocalDateTime now = LocalDateTime.now();
         long hoursSinceLastTraining = java.time.Duration.between(lastTrainingTime, now).toHours();
 
@@ -159,107 +227,179 @@ public class EnhancedWord2VecService {
     @Scheduled(fixedRate = TRAINING_INTERVAL)
     public void scheduledRetraining() {
         try {
-            if (wordFrequencies.isEmpty()) {
-                log.info("No training data available. Skipping scheduled retraining.");
+            harvestSentences();
+
+            if (corpusStore.pendingShardIds().isEmpty()) {
+                log.info("No new training data available. Skipping scheduled retraining.");
                 return;
             }
 
             if (shouldRetrain()) {
-                log.info("Starting scheduled retraining with {} unique words", wordFrequencies.size());
-                // Export current word frequencies to a file
-                Path trainingFile = exportWordFrequenciesToFile();
-                trainModel(trainingFile);
-                Files.deleteIfExists(trainingFile);
+                log.info("Starting scheduled retraining with {} pending corpus shards", corpusStore.pendingShardIds().size());
+                trainModel();
             }
         } catch (Exception e) {
             log.error("Error in scheduled retraining", e);
         }
     }
 
-    private Path exportWordFrequenciesToFile() throws Exception {
-        Path tempFile = Files.createTempFile("word2vec_training", ".txt");
-        try (FileWriter writer = new FileWriter(tempFile.toFile())) {
-            // Sort words by frequency
-            List<Map.Entry<String, Double>> sortedWords = wordFrequencies.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .collect(Collectors.toList());
-
-            // Write words to file, repeating based on frequency
-            for (Map.Entry<String, Double> entry : sortedWords) {
-                int repetitions = Math.min(100, (int) Math.ceil(entry.getValue()));
-                for (int i = 0; i < repetitions; i++) {
-                    writer.write(entry.getKey() + " ");
-                }
-                writer.write("\n");
+    // Appends sentences from content and trends created since the previous harvest as a new shard
+    private void harvestSentences() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = corpusStore.getHarvestedThrough();
+        if (since == null) {
+            since = now.minusDays(HARVEST_BOOTSTRAP_DAYS);
+        }
+
+        List<String> sentences = new ArrayList<>();
+        for (Content content : contentRepository.findContentFromLastNHours(since)) {
+            if (content.getTitle() != null) {
+                sentences.add(content.getTitle());
+            }
+            if (content.getContentBody() != null) {
+                sentences.addAll(Arrays.asList(RegexPatterns.SENTENCE_BOUNDARY.split(content.getContentBody())));
             }
         }
-        return tempFile;
+        for (TrendData trend : trendDataRepository.findByAnalysisTimestampBetween(since, now)) {
+            if (trend.getTopic() != null) {
+                sentences.add(trend.getTopic());
+            }
+        }
+
+        sentences.forEach(this::updateWordStatistics);
+        long shard = corpusStore.append(sentences);
+        corpusStore.markHarvested(now);
+        if (shard > 0) {
+            log.info("Harvested {} sentences into corpus shard {}", sentences.size(), shard);
+        }
     }
 
-    private void trainModel(Path trainingFile) {
+    /**
+     * Schedules training on the training executor and returns immediately. When the saved
+     * model can be extended, only the shards added since the last run are read; otherwise
+     * the model is rebuilt from every shard. Lookups keep using the current vectors until
+     * the new ones are published.
+     */
+    private void trainModel() {
         try {
-            if (!Files.exists(trainingFile) || Files.size(trainingFile) == 0) {
-                log.warn("Training file is empty or does not exist. Skipping training.");
+            List<Long> pending = corpusStore.pendingShardIds();
+            if (pending.isEmpty()) {
+                log.warn("No new corpus shards. Skipping training.");
                 return;
             }
 
-            // Ensure the model directory exists
-            File modelDir = new File(modelPath).getParentFile();
-            if (!modelDir.exists()) {
-                modelDir.mkdirs();
-            }
+            boolean incremental = canUpdateIncrementally(pending);
+            List<Long> shards = incremental ? pending : corpusStore.shardIds();
+            long trainedThrough = shards.get(shards.size() - 1);
+            Path corpus = corpusStore.concatenate(shards);
+
+            log.info("Scheduling {} Word2Vec model training over {} corpus shards", incremental ? "incremental" : "full", shards.size());
+            Word2VecTrainingService.TrainingJob job = new Word2VecTrainingService.TrainingJob(
+                "content", corpus, Paths.get(modelPath), Paths.get(vectorsPath),
+                vectorSize, windowSize, minWordFrequency, incremental ? 1 : 10, indexSettings())
+                .incremental(incremental)
+                .onPublished(() -> markTrained(trainedThrough));
+            trainingService.submit(job, vectors).thenAccept(model -> {
+                lastTrainingTime = LocalDateTime.now();
+                log.info("Word2Vec model training completed with {} words and saved to {}", model.size(), modelPath);
+            });
+        } catch (Exception e) {
+            log.error("Error scheduling Word2Vec model training", e);
+        }
+    }
 
-            log.info("Starting Word2Vec model training");
+    // Extending the saved model cannot add words, so many unseen words call for a rebuild
+    private boolean canUpdateIncrementally(List<Long> pending) throws Exception {
+        WordVectorModel current = vectors.get();
+        if (!incrementalTraining || current == null || !Files.exists(Paths.get(modelPath))) {
+            return false;
+        }
 
-            // Check if we have enough data
-            long lineCount = Files.lines(trainingFile).count();
-            if (lineCount < 10) { // Minimum threshold for training
-                log.warn("Insufficient training data ({}). Minimum 10 lines required.", lineCount);
-                return;
+        TokenizerFactory tokenizerFactory = new DefaultTokenizerFactory();
+        tokenizerFactory.setTokenPreProcessor(new CommonPreprocessor());
+        Map<String, Integer> unseen = new HashMap<>();
+        for (long id : pending) {
+            try (Stream<String> lines = corpusStore.lines(id)) {
+                lines.forEach(line -> tokenizerFactory.create(line).getTokens().forEach(token -> {
+                    if (!token.isEmpty() && !current.contains(token)) {
+                        unseen.merge(token, 1, Integer::sum);
+                    }
+                }));
             }
+        }
 
-            SentenceIterator iterator = new BasicLineIterator(trainingFile.toFile());
-            TokenizerFactory tokenizerFactory = new DefaultTokenizerFactory();
-            tokenizerFactory.setTokenPreProcessor(new CommonPreprocessor());
-
-            // Configure Word2Vec with safe defaults
-            vec = new Word2Vec.Builder()
-                .minWordFrequency(Math.max(1, minWordFrequency)) // Ensure minimum word frequency is at least 1
-                .iterations(5)
-                .layerSize(vectorSize)
-                .seed(42)
-                .windowSize(Math.min(windowSize, (int)lineCount)) // Ensure window size doesn't exceed data size
-                .iterate(iterator)
-                .tokenizerFactory(tokenizerFactory)
-                .build();
-
-            vec.fit();
-
-            // Verify the model has words before saving
-            if (vec.getVocab() != null && vec.getVocab().numWords() > 0) {
-                // Save the model
-                WordVectorSerializer.writeWord2VecModel(vec, new File(modelPath));
-                lastTrainingTime = LocalDateTime.now();
-                log.info("Word2Vec model training completed with {} words and saved to {}", 
-                    vec.getVocab().numWords(), modelPath);
-            } else {
-                log.warn("Training completed but no words in vocabulary. Model not saved.");
+        long newWords = unseen.values().stream().filter(count -> count >= minWordFrequency).count();
+        if (newWords > rebuildNewWords) {
+            log.info("{} new words in pending shards; rebuilding the Word2Vec vocabulary", newWords);
+            return false;
+        }
+        return true;
+    }
+
+    private void markTrained(long shardId) {
+        try {
+            corpusStore.markTrained(shardId);
+            int pruned = corpusStore.prune(maxCorpusShards);
+            if (pruned > 0) {
+                log.debug("Pruned {} trained corpus shards", pruned);
             }
         } catch (Exception e) {
-            log.error("Error training Word2Vec model", e);
-            // Keep the previous model if training fails
+            log.warn("Could not record trained corpus shards: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getCorpusStats() {
+        try {
+            return corpusStore == null ? Collections.emptyMap() : corpusStore.getStats();
+        } catch (Exception e) {
+            log.warn("Could not read corpus shard stats: {}", e.getMessage());
+            return Collections.emptyMap();
         }
     }
 
+    // Exports the model to the mapped format and switches lookups over to it
+    private void publishVectors(Word2Vec model) throws Exception {
+        vectors.set(WordVectorModel.publish(model, Paths.get(vectorsPath), indexSettings()));
+    }
+
+    /**
+     * The currently published vectors, or null before the first model is available.
+     */
+    public WordVectorModel getModel() {
+        return vectors.get();
+    }
+
+    WordVectorModel.IndexSettings indexSettings() {
+        return new WordVectorModel.IndexSettings(hnswEnabled, hnswM, hnswEfConstruction, hnswEfSearch, hnswMinVocabulary,
+            quantized, rerankFactor);
+    }
+
     public double[] getWordVector(String word) {
-        if (vec == null || !vec.hasWord(word)) {
-            return new double[vectorSize]; // Return zero vector if word not found
+        WordVectorModel model = vectors.get();
+        MappedWordVectors current = model == null ? null : model.getVectors();
+        int index = current == null ? -1 : current.indexOf(word);
+        double[] result = new double[vectorSize]; // Zero vector if word not found
+        if (index >= 0) {
+            float[] vector = current.vector(index);
+            for (int d = 0; d < Math.min(vectorSize, vector.length); d++) {
+                result[d] = vector[d];
+            }
         }
-        return vec.getWordVector(word);
+        return result;
+    }
+
+    public boolean hasWord(String word) {
+        WordVectorModel current = vectors.get();
+        return current != null && current.contains(word);
+    }
+
+    public int getVectorSize() {
+        return vectorSize;
     }
 
     public List<String> findSimilarWords(String word, int n) {
-        if (vec == null) {
+        WordVectorModel current = vectors.get();
+        if (current == null) {
             log.warn("Word2Vec model not initialized when searching for: {}", word);
             return Collections.emptyList();
         }
@@ -274,28 +414,38 @@ public class EnhancedWord2VecService {
             
             // Find similar words for each word in the phrase
             for (String w : words) {
-                if (vec.hasWord(w)) {
-                    allSimilar.addAll(vec.wordsNearest(w, n));
-                }
+                allSimilar.addAll(current.nearest(w, n));
             }
             
             return new ArrayList<>(allSimilar);
         }
         
         // Single word case
-        if (!vec.hasWord(word)) {
+        if (!current.contains(word)) {
             log.debug("Word not found in vocabulary: {}", word);
             return Collections.emptyList();
         }
         
-        return new ArrayList<>(vec.wordsNearest(word, n));
+        return current.nearest(word, n);
     }
 
     public double calculateCosineSimilarity(String word1, String word2) {
-        if (vec == null || !vec.hasWord(word1) || !vec.hasWord(word2)) {
+        WordVectorModel current = vectors.get();
+        if (current == null) {
             return 0.0;
         }
-        return vec.similarity(word1, word2);
+        return current.similarity(word1, word2);
+    }
+
+    /**
+     * Measures recall@k and throughput of the HNSW index against exact search.
+     */
+    public Map<String, Object> benchmarkNearest(int queries, int k) {
+        WordVectorModel current = vectors.get();
+        if (current == null) {
+            return Map.of("error", "Word2Vec model not initialized");
+        }
+        return current.benchmark(queries, k);
     }
 
     public Map<String, Double> getWordFrequencies() {
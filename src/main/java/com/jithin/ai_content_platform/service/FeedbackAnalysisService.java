@@ -22,6 +22,11 @@ public class FeedbackAnalysisService {
     @Autowired
     private ContextAwareSentimentService sentimentService;
 
+    @Autowired
+    private ContentVectorIndex contentVectorIndex;
+
+    private static final int SIMILAR_CONTENT_LIMIT = 100;
+
     /**
      * Analyzes feedback patterns from historical content
      * @param content The content to analyze feedback for
@@ -30,11 +35,11 @@ public class FeedbackAnalysisService {
     public Map<String, Object> analyzeFeedbackPatterns(Content content) {
         Map<String, Object> patterns = new HashMap<>();
         try {
-            // Get similar content by category and type
-            List<Content> similarContent = contentRepository.findByCategoryAndContentType(
-                content.getCategory(), 
-                content.getContentType()
-            );
+            // Nearest content of the same category and type; the full category scan is the fallback
+            List<Content> similarContent = contentVectorIndex.isReady()
+                ? contentVectorIndex.findSimilarContent(content, SIMILAR_CONTENT_LIMIT,
+                    ContentVectorIndex.Filter.any().category(content.getCategory()).contentType(content.getContentType()))
+                : contentRepository.findByCategoryAndContentType(content.getCategory(), content.getContentType());
             
             // Analyze ratings distribution
             Map<Integer, Long> ratingDistribution = similarContent.stream()
@@ -68,9 +73,15 @@ public class FeedbackAnalysisService {
      * Extract common themes from feedback comments
      */
     private Map<String, Integer> extractFeedbackThemes(List<Content> content) {
-        return content.stream()
-            .filter(c -> c.getComments() != null && !c.getComments().isEmpty())
-            .map(c -> sentimentService.analyzeContextAwareSentiment(c.getComments()))
+        List<String> comments = content.stream()
+            .map(Content::getComments)
+            .filter(c -> c != null && !c.isEmpty())
+            .collect(Collectors.toList());
+
+        // Comments seen in earlier predictions come from the result cache; the rest are batch annotated
+        return sentimentService.analyzeContextAwareSentimentBatch(
+                comments, EnumSet.of(ContextAwareSentimentService.Output.TOPICS))
+            .stream()
             .filter(Objects::nonNull)
             .flatMap(analysis -> ((Map<String, Object>) analysis.get("topic_sentiments")).keySet().stream())
             .collect(Collectors.groupingBy(
@@ -107,7 +118,8 @@ public class FeedbackAnalysisService {
         return content.stream()
             .filter(c -> c.getEmotionalTone() != null)
             .mapToDouble(c -> {
-                Map<String, Object> sentimentAnalysis = sentimentService.analyzeContextAwareSentiment(c.getEmotionalTone());
+                Map<String, Object> sentimentAnalysis = sentimentService.analyzeContextAwareSentiment(
+                    c.getEmotionalTone(), EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
                 return (double) sentimentAnalysis.getOrDefault("overall_sentiment", 0.0);
             })
             .average()
@@ -150,7 +162,8 @@ public class FeedbackAnalysisService {
         if (!comments.isEmpty()) {
             double averageSentiment = comments.stream()
                 .mapToDouble(comment -> {
-                    Map<String, Object> analysis = sentimentService.analyzeContextAwareSentiment(comment);
+                    Map<String, Object> analysis = sentimentService.analyzeContextAwareSentiment(
+                        comment, EnumSet.of(ContextAwareSentimentService.Output.SENTENCES));
                     return (double) analysis.getOrDefault("overall_sentiment", 0.0);
                 })
                 .average()
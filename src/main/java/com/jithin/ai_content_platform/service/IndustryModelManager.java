@@ -0,0 +1,404 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import com.jithin.ai_content_platform.util.JdbcSentenceIterator;
+import com.jithin.ai_content_platform.util.WordVectorModel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Word2Vec models for industry trend analysis, one per industry. Models are trained in the
+ * background on recent content about the industry, persisted under the models directory and
+ * served from the last good version; a new one is trained once enough new content about the
+ * industry has arrived since the previous corpus was gathered. Only content categories with
+ * enough recent content are tracked, so arbitrary names from requests never start training.
+ * Saved models are opened on the load executor, never on the caller's thread, and when the
+ * tracked industries reach the configured maximum the least recently used one is dropped
+ * along with its files.
+ */
+@Service
+@Slf4j
+public class IndustryModelManager {
+
+    private static final String VECTORS_SUFFIX = ".vectors";
+
+    private static final String RECENT_CONTENT_SQL =
+        "SELECT title, content_body FROM content WHERE created_at >= ?";
+    private static final String INDUSTRY_CONTENT_SQL = RECENT_CONTENT_SQL
+        + " AND (LOWER(category) = ? OR LOWER(title) LIKE ? OR LOWER(content_body) LIKE ?)";
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private Word2VecTrainingService trainingService;
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("industryModelLoadExecutor")
+    private ThreadPoolTaskExecutor loadExecutor;
+
+    @Value("${word2vec.training.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${industry.models.path:models/industry}")
+    private String modelsPath;
+
+    @Value("${industry.models.lookback-hours:720}")
+    private int lookbackHours;
+
+    @Value("${industry.models.min-documents:10}")
+    private int minDocuments;
+
+    @Value("${industry.models.retrain-min-new-content:50}")
+    private int retrainMinNewContent;
+
+    @Value("${industry.models.max-industries:50}")
+    private int maxIndustries;
+
+    private final Map<String, IndustryModel> models = new ConcurrentHashMap<>();
+
+    // Industry keys that may be tracked, mapped to their lower-cased category
+    private volatile Map<String, String> knownIndustries = Collections.emptyMap();
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong unknown = new AtomicLong();
+
+    /**
+     * Starts opening the models saved by earlier runs so their industries are served and
+     * checked for new content without waiting for a request.
+     */
+    @PostConstruct
+    public void init() {
+        refreshKnownIndustries();
+        Path directory = Paths.get(modelsPath);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(VECTORS_SUFFIX))
+                .map(name -> name.substring(0, name.length() - VECTORS_SUFFIX.length()))
+                .limit(maxIndustries)
+                .forEach(key -> {
+                    IndustryModel entry = new IndustryModel();
+                    models.put(key, entry);
+                    scheduleLoad(key, entry);
+                });
+            log.info("Opening {} saved industry models from {}", models.size(), directory);
+        } catch (IOException e) {
+            log.error("Error listing industry models in {}", directory, e);
+        }
+    }
+
+    /**
+     * The current model for the industry, or null while its saved model is being opened or
+     * its first model is being trained. Never opens or trains on the calling thread.
+     */
+    public WordVectorModel getModel(String industry) {
+        String key = key(industry);
+        if (key.isEmpty()) {
+            return null;
+        }
+        IndustryModel entry = models.get(key);
+        if (entry == null) {
+            if (!knownIndustries.containsKey(key)) {
+                unknown.incrementAndGet();
+                return null;
+            }
+            entry = track(key);
+            if (entry == null) {
+                log.warn("Not tracking a model for industry '{}'; all {} tracked industries are busy", industry, maxIndustries);
+                missed.incrementAndGet();
+                return null;
+            }
+        }
+        entry.lastUsed = System.currentTimeMillis();
+
+        WordVectorModel model = entry.model.get();
+        if (model == null) {
+            missed.incrementAndGet();
+            scheduleLoad(key, entry);
+            return null;
+        }
+        served.incrementAndGet();
+        return model;
+    }
+
+    /**
+     * Whether the industry has a model ready, is waiting for its first one, or has never
+     * been requested.
+     */
+    public String getStatus(String industry) {
+        IndustryModel entry = models.get(key(industry));
+        if (entry == null) {
+            return "untracked";
+        }
+        if (entry.model.get() != null) {
+            return "ready";
+        }
+        return entry.loaded ? "training" : "loading";
+    }
+
+    /**
+     * Retrains each tracked industry whose new content since its last corpus reaches the
+     * configured volume, and retries industries whose first training failed. New content is
+     * counted by category alone, so the check never scans content bodies.
+     */
+    @Scheduled(fixedDelayString = "${industry.models.check-interval-ms:900000}", initialDelayString = "${industry.models.initial-delay-ms:120000}")
+    public void retrainOnNewContent() {
+        refreshKnownIndustries();
+        for (Map.Entry<String, IndustryModel> entry : models.entrySet()) {
+            try {
+                IndustryModel industry = entry.getValue();
+                if (!industry.loaded || isTraining(industry)) {
+                    continue;
+                }
+                LocalDateTime since = industry.corpusGatheredAt;
+                if (since == null) {
+                    if (industry.model.get() == null) {
+                        scheduleTraining(entry.getKey(), industry);
+                    }
+                    continue;
+                }
+                String category = knownIndustries.getOrDefault(entry.getKey(), term(entry.getKey()));
+                long added = contentRepository.countCategoryContentSince(category, since);
+                if (added >= retrainMinNewContent) {
+                    log.info("{} new documents for industry '{}' since {}; retraining", added, entry.getKey(), since);
+                    scheduleTraining(entry.getKey(), entry.getValue());
+                }
+            } catch (Exception e) {
+                log.error("Error checking industry '{}' for new content", entry.getKey(), e);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Object> industries = new TreeMap<>();
+        models.forEach((key, entry) -> {
+            Map<String, Object> industry = new LinkedHashMap<>();
+            WordVectorModel model = entry.model.get();
+            industry.put("ready", model != null);
+            industry.put("training", isTraining(entry));
+            industry.put("words", model == null ? 0 : model.size());
+            industry.put("corpusGatheredAt", entry.corpusGatheredAt);
+            industry.put("corpusDocuments", entry.corpusDocuments);
+            industry.put("corpusSource", entry.corpusSource);
+            industry.put("lastUsed", entry.lastUsed == 0 ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.lastUsed), ZoneId.systemDefault()));
+            industries.put(key, industry);
+        });
+        stats.put("industries", industries);
+        stats.put("served", served.get());
+        stats.put("missed", missed.get());
+        stats.put("trainingScheduled", scheduled.get());
+        stats.put("evicted", evicted.get());
+        stats.put("unknownIndustryRequests", unknown.get());
+        stats.put("knownIndustries", knownIndustries.size());
+        stats.put("maxIndustries", maxIndustries);
+        return stats;
+    }
+
+    // Adds an entry for a new industry, first dropping the least recently used idle one when
+    // the limit is reached; null when every tracked industry is loading or training
+    private synchronized IndustryModel track(String key) {
+        IndustryModel entry = models.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        if (models.size() >= maxIndustries) {
+            Map.Entry<String, IndustryModel> eldest = null;
+            for (Map.Entry<String, IndustryModel> candidate : models.entrySet()) {
+                IndustryModel industry = candidate.getValue();
+                if (!industry.loaded || isTraining(industry)) {
+                    continue;
+                }
+                if (eldest == null || industry.lastUsed < eldest.getValue().lastUsed) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return null;
+            }
+            models.remove(eldest.getKey());
+            deleteFiles(eldest.getKey());
+            evicted.incrementAndGet();
+            log.info("Dropped the model for industry '{}' to track '{}'", eldest.getKey(), key);
+        }
+        entry = new IndustryModel();
+        models.put(key, entry);
+        return entry;
+    }
+
+    // Opens the saved model on the load executor, or trains one if there is none
+    private void scheduleLoad(String key, IndustryModel entry) {
+        synchronized (entry) {
+            if (entry.loading || entry.loaded) {
+                return;
+            }
+            entry.loading = true;
+        }
+        try {
+            loadExecutor.execute(() -> {
+                try {
+                    Path vectorsFile = vectorsFile(key);
+                    if (Files.exists(vectorsFile)) {
+                        try {
+                            entry.model.set(WordVectorModel.open(vectorsFile, word2VecService.indexSettings()));
+                            entry.corpusGatheredAt = LocalDateTime.ofInstant(
+                                Instant.ofEpochMilli(Files.getLastModifiedTime(vectorsFile).toMillis()), ZoneId.systemDefault());
+                        } catch (Exception e) {
+                            log.warn("Could not open saved model for industry '{}': {}", key, e.getMessage());
+                        }
+                    }
+                    entry.loaded = true;
+                    if (entry.model.get() == null) {
+                        scheduleTraining(key, entry);
+                    }
+                } finally {
+                    entry.loading = false;
+                }
+            });
+        } catch (RuntimeException e) {
+            // Queue full; the next request for the industry tries again
+            entry.loading = false;
+            log.debug("Could not queue loading the model for industry '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private static boolean isTraining(IndustryModel entry) {
+        CompletableFuture<WordVectorModel> training = entry.training;
+        return training != null && !training.isDone();
+    }
+
+    // Picks the corpus here; the training thread streams it from the content table. The
+    // corpus time is only recorded once the model is published, so a failed or rejected
+    // job is tried again on the next check.
+    private void scheduleTraining(String key, IndustryModel entry) {
+        synchronized (entry) {
+            if (isTraining(entry)) {
+                return;
+            }
+            try {
+                LocalDateTime gatheredAt = LocalDateTime.now();
+                LocalDateTime since = gatheredAt.minusHours(lookbackHours);
+                String term = term(key);
+                String pattern = "%" + term + "%";
+                long industryDocuments = contentRepository.countIndustryContentSince(term, pattern, since);
+                JdbcSentenceIterator corpus;
+                boolean allRecent = industryDocuments < minDocuments;
+                long documents;
+                if (!allRecent) {
+                    corpus = new JdbcSentenceIterator(dataSource, fetchSize, INDUSTRY_CONTENT_SQL, since, term, pattern, pattern);
+                    documents = industryDocuments;
+                } else {
+                    // Too little about the industry itself; learn from all recent content instead
+                    corpus = new JdbcSentenceIterator(dataSource, fetchSize, RECENT_CONTENT_SQL, since);
+                    documents = contentRepository.countContentSince(since);
+                }
+
+                Word2VecTrainingService.TrainingJob job = new Word2VecTrainingService.TrainingJob(
+                    "industry:" + key, corpus, Paths.get(modelsPath, key + ".model"), vectorsFile(key),
+                    100, 5, 2, minDocuments, word2VecService.indexSettings())
+                    .onPublished(() -> {
+                        entry.corpusGatheredAt = gatheredAt;
+                        entry.corpusDocuments = documents;
+                        entry.corpusSource = allRecent ? "all recent content" : "industry content";
+                    });
+                entry.training = trainingService.submit(job, entry.model);
+                scheduled.incrementAndGet();
+            } catch (Exception e) {
+                log.error("Error scheduling model training for industry '{}'", key, e);
+            }
+        }
+    }
+
+    // Categories with at least minDocuments items in the lookback window
+    private void refreshKnownIndustries() {
+        try {
+            Map<String, String> known = new HashMap<>();
+            for (String category : contentRepository.findActiveCategories(
+                    LocalDateTime.now().minusHours(lookbackHours), minDocuments)) {
+                if (category != null && !key(category).isEmpty()) {
+                    known.put(key(category), category);
+                }
+            }
+            knownIndustries = known;
+        } catch (Exception e) {
+            log.error("Error listing industry categories", e);
+        }
+    }
+
+    // Removes the model, vectors, index and quantized files of a dropped industry. Readers
+    // still holding the mapped model keep working until they let go of it.
+    private void deleteFiles(String key) {
+        Path vectorsFile = vectorsFile(key);
+        for (Path file : List.of(Paths.get(modelsPath, key + ".model"), vectorsFile,
+                WordVectorModel.indexFile(vectorsFile), WordVectorModel.quantizedFile(vectorsFile))) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete {} for dropped industry '{}': {}", file, key, e.getMessage());
+            }
+        }
+    }
+
+    private Path vectorsFile(String key) {
+        return Paths.get(modelsPath, key + VECTORS_SUFFIX);
+    }
+
+    // Lower-case industry name restricted to characters that are safe in file names
+    static String key(String industry) {
+        if (industry == null) {
+            return "";
+        }
+        return industry.trim().toLowerCase().replaceAll("[^a-z0-9_-]+", "-");
+    }
+
+    // The industry name as it appears in category and body text
+    private static String term(String key) {
+        return key.replace('-', ' ');
+    }
+
+    private static final class IndustryModel {
+        private final AtomicReference<WordVectorModel> model = new AtomicReference<>();
+        private volatile LocalDateTime corpusGatheredAt;
+        private volatile long corpusDocuments;
+        private volatile String corpusSource;
+        private volatile long lastUsed;
+        // Set once the saved model, if any, has been opened
+        private volatile boolean loaded;
+        private volatile boolean loading;
+        private volatile CompletableFuture<WordVectorModel> training;
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jithin.ai_content_platform.model.Content;
 import com.jithin.ai_content_platform.repository.ContentRepository;
+import com.jithin.ai_content_platform.util.KeywordMatcher;
+import com.jithin.ai_content_platform.util.TextStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -34,32 +36,52 @@ public class KeywordOptimizationService {
      * @return Map containing keyword optimization metrics
      */
     public Map<String, Object> analyzeKeywordOptimization(String content, String keywords) {
+        if (content == null || content.isEmpty() || keywords == null || keywords.isEmpty()) {
+            log.warn("Content or keywords is empty for keyword optimization analysis");
+            return getDefaultOptimizationMetrics();
+        }
+        return analyzeKeywordOptimization(TextStats.scan(content), keywords);
+    }
+
+    /**
+     * Analyzes keyword optimization using text statistics already gathered for the content,
+     * so callers that also compute readability and structure scan the text only once
+     * @param stats Text statistics of the content to analyze
+     * @param keywords Comma separated target keywords
+     * @return Map containing keyword optimization metrics
+     */
+    public Map<String, Object> analyzeKeywordOptimization(TextStats stats, String keywords) {
         Map<String, Object> optimization = new HashMap<>();
         
         try {
-            if (content == null || content.isEmpty() || keywords == null || keywords.isEmpty()) {
+            if (stats.getWordCount() == 0 || keywords == null || keywords.isEmpty()) {
                 log.warn("Content or keywords is empty for keyword optimization analysis");
                 return getDefaultOptimizationMetrics();
             }
 
             String[] keywordArray = keywords.split("\\s*,\\s*");
-            String contentLower = content.toLowerCase();
+            String contentLower = stats.getText().toLowerCase();
+            
+            // Find every keyword occurrence in one pass; all metrics below read from these matches
+            KeywordMatcher matcher = KeywordMatcher.compile(
+                Arrays.stream(keywordArray).map(String::toLowerCase).toArray(String[]::new));
+            KeywordMatcher.Matches matches = matcher.scan(contentLower);
             
             // Calculate keyword density
-            double density = calculateKeywordDensity(contentLower, keywordArray);
+            double density = calculateKeywordDensity(stats, matches, keywordArray);
             optimization.put("keyword_density", density);
             
             // Analyze keyword placement (title, headings, first/last paragraphs)
-            double placement = analyzeKeywordPlacement(contentLower, keywordArray);
+            double placement = analyzeKeywordPlacement(stats, matches, keywordArray);
             optimization.put("keyword_placement", placement);
             
             // Check natural usage (context and readability)
-            double naturalUsage = analyzeNaturalUsage(content, keywordArray);
+            double naturalUsage = analyzeNaturalUsage(stats, matches, keywordArray);
             optimization.put("natural_usage", naturalUsage);
             
             // Add detailed metrics
-            optimization.put("keyword_frequency", getKeywordFrequency(contentLower, keywordArray));
-            optimization.put("keyword_distribution", calculateKeywordDistribution(contentLower, keywordArray));
+            optimization.put("keyword_frequency", getKeywordFrequency(matches, keywordArray));
+            optimization.put("keyword_distribution", calculateKeywordDistribution(matches, keywordArray, contentLower.length()));
             
             log.debug("Completed keyword optimization analysis for content with {} keywords", keywordArray.length);
             
@@ -113,41 +135,35 @@ public class KeywordOptimizationService {
         return defaults;
     }
 
-    private double calculateKeywordDensity(String content, String[] keywords) {
-        int totalWords = content.split("\\s+").length;
+    private double calculateKeywordDensity(TextStats stats, KeywordMatcher.Matches matches, String[] keywords) {
+        int totalWords = stats.getWordCount();
         if (totalWords == 0) return 0.0;
         
         int keywordCount = 0;
-        for (String keyword : keywords) {
-            keywordCount += countKeywordOccurrences(content, keyword.toLowerCase());
+        for (int k = 0; k < keywords.length; k++) {
+            keywordCount += matches.count(k);
         }
         
         return (double) keywordCount / totalWords;
     }
 
-    private double analyzeKeywordPlacement(String content, String[] keywords) {
+    private double analyzeKeywordPlacement(TextStats stats, KeywordMatcher.Matches matches, String[] keywords) {
         double score = 0.0;
-        String[] paragraphs = content.split("\n\n");
         
         // Check first paragraph (higher weight)
-        if (paragraphs.length > 0) {
-            for (String keyword : keywords) {
-                if (paragraphs[0].toLowerCase().contains(keyword.toLowerCase())) {
+        if (stats.getParagraphCount() > 0) {
+            for (int k = 0; k < keywords.length; k++) {
+                if (matches.occursWithin(k, stats.paragraphStart(0), stats.paragraphEnd(0))) {
                     score += 0.4;
                 }
             }
         }
         
         // Check headings (marked with # in markdown)
-        if (content.contains("#")) {
-            String[] lines = content.split("\n");
-            for (String line : lines) {
-                if (line.startsWith("#")) {
-                    for (String keyword : keywords) {
-                        if (line.toLowerCase().contains(keyword.toLowerCase())) {
-                            score += 0.3;
-                        }
-                    }
+        for (int h = 0; h < stats.getHeadingCount(); h++) {
+            for (int k = 0; k < keywords.length; k++) {
+                if (matches.occursWithin(k, stats.headingStart(h), stats.headingEnd(h))) {
+                    score += 0.3;
                 }
             }
         }
@@ -156,13 +172,12 @@ public class KeywordOptimizationService {
         return Math.min(1.0, score);
     }
 
-    private double analyzeNaturalUsage(String content, String[] keywords) {
+    private double analyzeNaturalUsage(TextStats stats, KeywordMatcher.Matches matches, String[] keywords) {
         double score = 0.8; // Start with a base score
         
         // Check for keyword stuffing
-        for (String keyword : keywords) {
-            int occurrences = countKeywordOccurrences(content.toLowerCase(), keyword.toLowerCase());
-            double density = (double) occurrences / content.split("\\s+").length;
+        for (int k = 0; k < keywords.length; k++) {
+            double density = (double) matches.count(k) / stats.getWordCount();
             
             if (density > 0.1) { // More than 10% density for any keyword
                 score -= 0.2;
@@ -170,11 +185,12 @@ public class KeywordOptimizationService {
         }
         
         // Check for natural sentence flow
-        String[] sentences = content.split("[.!?]+");
-        for (String sentence : sentences) {
-            for (String keyword : keywords) {
-                if (sentence.toLowerCase().contains(keyword.toLowerCase())) {
-                    if (sentence.split("\\s+").length < 5) {
+        for (int i = 0; i < stats.getSentenceCount(); i++) {
+            int start = stats.sentenceStart(i);
+            int end = stats.sentenceEnd(i);
+            for (int k = 0; k < keywords.length; k++) {
+                if (matches.occursWithin(k, start, end)) {
+                    if (stats.wordsBetween(start, end) < 5) {
                         score -= 0.1;
                     }
                 }
@@ -184,39 +200,23 @@ public class KeywordOptimizationService {
         return Math.max(0.0, Math.min(1.0, score));
     }
 
-    private int countKeywordOccurrences(String content, String keyword) {
-        int count = 0;
-        int index = 0;
-        while ((index = content.indexOf(keyword, index)) != -1) {
-            count++;
-            index += keyword.length();
-        }
-        return count;
-    }
-
-    private Map<String, Integer> getKeywordFrequency(String content, String[] keywords) {
+    private Map<String, Integer> getKeywordFrequency(KeywordMatcher.Matches matches, String[] keywords) {
         Map<String, Integer> frequency = new HashMap<>();
-        for (String keyword : keywords) {
-            frequency.put(keyword, countKeywordOccurrences(content, keyword.toLowerCase()));
+        for (int k = 0; k < keywords.length; k++) {
+            frequency.put(keywords[k], matches.count(k));
         }
         return frequency;
     }
 
-    private Map<String, Double> calculateKeywordDistribution(String content, String[] keywords) {
+    private Map<String, Double> calculateKeywordDistribution(KeywordMatcher.Matches matches, String[] keywords, int contentLength) {
         Map<String, Double> distribution = new HashMap<>();
-        int contentLength = content.length();
         
-        for (String keyword : keywords) {
-            List<Integer> positions = new ArrayList<>();
-            int index = 0;
-            while ((index = content.indexOf(keyword.toLowerCase(), index)) != -1) {
-                positions.add(index);
-                index += keyword.length();
-            }
+        for (int k = 0; k < keywords.length; k++) {
+            List<Integer> positions = Arrays.stream(matches.nonOverlappingPositions(k)).boxed().toList();
             
             double evenness = positions.isEmpty() ? 0.0 : 
                 calculateDistributionEvenness(positions, contentLength);
-            distribution.put(keyword, evenness);
+            distribution.put(keywords[k], evenness);
         }
         
         return distribution;
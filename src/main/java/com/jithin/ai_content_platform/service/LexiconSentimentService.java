@@ -0,0 +1,71 @@
+package com.jithin.ai_content_platform.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Cheap word-list sentiment used when a document is too expensive to parse. Scores
+ * a tokenized sentence on the same 0-4 class scale as the CoreNLP sentiment model.
+ */
+@Service
+public class LexiconSentimentService {
+
+    private static final Map<String, Integer> POLARITY = new HashMap<>();
+    private static final Set<String> NEGATORS = Set.of("not", "no", "never", "n't", "nothing", "nobody", "hardly", "without");
+    private static final int NEGATION_WINDOW = 3;
+
+    static {
+        for (String word : List.of("excellent", "outstanding", "amazing", "fantastic", "superb", "brilliant",
+                "wonderful", "exceptional", "love", "loved", "perfect", "best", "incredible", "delightful")) {
+            POLARITY.put(word, 2);
+        }
+        for (String word : List.of("good", "great", "nice", "happy", "helpful", "useful", "easy", "positive",
+                "improve", "improved", "improvement", "benefit", "success", "successful", "effective", "enjoy",
+                "enjoyed", "like", "liked", "recommend", "reliable", "fast", "clear", "friendly", "valuable",
+                "growth", "win", "gain", "strong", "better", "pleased", "satisfied", "innovative", "efficient")) {
+            POLARITY.put(word, 1);
+        }
+        for (String word : List.of("bad", "poor", "slow", "difficult", "hard", "problem", "problems", "issue",
+                "issues", "negative", "fail", "failed", "failure", "weak", "worse", "confusing", "expensive",
+                "disappointed", "disappointing", "unhappy", "risk", "decline", "loss", "bug", "bugs", "broken",
+                "complaint", "complained", "annoying", "dislike", "concern", "lack", "limited", "unreliable")) {
+            POLARITY.put(word, -1);
+        }
+        for (String word : List.of("terrible", "awful", "horrible", "worst", "hate", "hated", "disaster",
+                "useless", "unacceptable", "abysmal", "dreadful", "pathetic", "furious", "disgusting")) {
+            POLARITY.put(word, -2);
+        }
+    }
+
+    /**
+     * Returns a sentiment class from 0 (very negative) to 4 (very positive).
+     */
+    public int scoreSentence(List<String> tokens) {
+        int sum = 0;
+        int hits = 0;
+        int sinceNegator = Integer.MAX_VALUE;
+
+        for (String token : tokens) {
+            String word = token.toLowerCase();
+            if (NEGATORS.contains(word)) {
+                sinceNegator = 0;
+                continue;
+            }
+            Integer polarity = POLARITY.get(word);
+            if (polarity != null) {
+                sum += sinceNegator <= NEGATION_WINDOW ? -polarity : polarity;
+                hits++;
+            }
+            if (sinceNegator != Integer.MAX_VALUE) {
+                sinceNegator++;
+            }
+        }
+
+        if (hits == 0) {
+            return 2;
+        }
+        double average = (double) sum / hits;
+        return (int) Math.round(2 + Math.max(-2.0, Math.min(2.0, average)));
+    }
+}
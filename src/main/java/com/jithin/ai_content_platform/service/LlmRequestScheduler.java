@@ -0,0 +1,312 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.exception.LlmRequestRejectedException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Gatekeeper for every upstream LLM call. Enforces a token bucket per API key and
+ * model, a global in-flight limit and a bounded priority queue. Interactive requests
+ * are always granted before background ones; queued requests that cannot start before
+ * their deadline are shed with {@link LlmRequestRejectedException}.
+ */
+@Service
+@Slf4j
+public class LlmRequestScheduler {
+
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int WAIT_SAMPLE_SIZE = 1024;
+
+    @Value("${openrouter.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${openrouter.scheduler.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${openrouter.scheduler.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${openrouter.scheduler.requests-per-minute:60}")
+    private double defaultRequestsPerMinute;
+
+    @Value("${openrouter.scheduler.burst:10}")
+    private int burst;
+
+    // Comma-separated model=rpm overrides, e.g. "openai/gpt-4o=30,gpt-4-turbo=20"
+    @Value("${openrouter.scheduler.model-requests-per-minute:}")
+    private String modelRequestsPerMinute;
+
+    @Value("${openrouter.scheduler.interactive-deadline-ms:30000}")
+    private long interactiveDeadlineMs;
+
+    @Value("${openrouter.scheduler.background-deadline-ms:180000}")
+    private long backgroundDeadlineMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final TreeSet<Ticket> waiting = new TreeSet<>(
+        Comparator.comparingInt((Ticket t) -> t.priority.ordinal()).thenComparingLong(t -> t.sequence));
+    private final Map<String, TokenBucket> buckets = new HashMap<>();
+    private final Map<Priority, WaitStats> waitStats = new EnumMap<>(Priority.class);
+    private final Map<String, Double> modelLimits = new HashMap<>();
+    private long sequence;
+    private int inFlight;
+
+    @PostConstruct
+    public void init() {
+        for (Priority priority : Priority.values()) {
+            waitStats.put(priority, new WaitStats());
+        }
+        if (modelRequestsPerMinute != null && !modelRequestsPerMinute.isBlank()) {
+            for (String entry : modelRequestsPerMinute.split(",")) {
+                String[] parts = entry.split("=");
+                if (parts.length == 2) {
+                    try {
+                        modelLimits.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+                    } catch (NumberFormatException e) {
+                        log.warn("Ignoring invalid model rate limit entry: {}", entry);
+                    }
+                }
+            }
+        }
+        log.info("LLM request scheduler initialized (enabled={}, maxConcurrent={}, queueCapacity={}, defaultRpm={}, modelLimits={})",
+            enabled, maxConcurrent, queueCapacity, defaultRequestsPerMinute, modelLimits);
+    }
+
+    /**
+     * Waits for a rate-limit token and an in-flight slot, then runs the call.
+     */
+    public <T> T execute(String apiKeyId, String model, Priority priority, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        acquire(apiKeyId + "|" + model, model, priority);
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire(String bucketKey, String model, Priority priority) {
+        long now = System.nanoTime();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(
+            priority == Priority.INTERACTIVE ? interactiveDeadlineMs : backgroundDeadlineMs);
+
+        lock.lock();
+        try {
+            TokenBucket bucket = buckets.computeIfAbsent(bucketKey,
+                key -> new TokenBucket(modelLimits.getOrDefault(model, defaultRequestsPerMinute), burst));
+            Ticket ticket = new Ticket(priority, sequence++, bucketKey, now, deadline);
+            admit(ticket, bucket, now);
+            waiting.add(ticket);
+
+            try {
+                while (true) {
+                    if (ticket.shedReason != null) {
+                        waitStats.get(priority).shed++;
+                        throw new LlmRequestRejectedException(ticket.shedReason);
+                    }
+                    long current = System.nanoTime();
+                    if (current >= deadline) {
+                        waiting.remove(ticket);
+                        waitStats.get(priority).shed++;
+                        stateChanged.signalAll();
+                        throw new LlmRequestRejectedException("LLM request deadline passed while queued for " + model);
+                    }
+                    if (inFlight < maxConcurrent && isNextEligible(ticket, current)) {
+                        bucket.take();
+                        inFlight++;
+                        waiting.remove(ticket);
+                        waitStats.get(priority).record(current - ticket.enqueuedAt);
+                        stateChanged.signalAll();
+                        return;
+                    }
+                    long waitNanos = Math.min(deadline - current, Math.min(bucket.nanosUntilToken(current), MAX_POLL_NANOS));
+                    stateChanged.awaitNanos(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(ticket);
+                Thread.currentThread().interrupt();
+                throw new LlmRequestRejectedException("Interrupted while waiting for LLM capacity", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reject or evict at admission time so a full queue never blocks interactive callers
+    private void admit(Ticket ticket, TokenBucket bucket, long now) {
+        if (waiting.size() >= queueCapacity) {
+            Ticket worst = waiting.last();
+            if (worst.priority.ordinal() > ticket.priority.ordinal()) {
+                waiting.remove(worst);
+                worst.shedReason = "LLM request evicted by higher priority traffic";
+                stateChanged.signalAll();
+            } else {
+                waitStats.get(ticket.priority).rejected++;
+                throw new LlmRequestRejectedException("LLM request queue is full");
+            }
+        }
+
+        // Requests of equal or higher priority on the same bucket are served first
+        long ahead = waiting.stream()
+            .filter(t -> t.bucketKey.equals(ticket.bucketKey) && t.priority.ordinal() <= ticket.priority.ordinal())
+            .count();
+        long estimatedWait = bucket.nanosUntilTokens(now, ahead + 1);
+        if (estimatedWait > ticket.deadline - now) {
+            waitStats.get(ticket.priority).rejected++;
+            throw new LlmRequestRejectedException("LLM rate limit cannot serve request before its deadline");
+        }
+    }
+
+    // A ticket may start when it is the highest ranked waiter whose bucket has a token
+    private boolean isNextEligible(Ticket ticket, long now) {
+        for (Ticket candidate : waiting) {
+            if (buckets.get(candidate.bucketKey).hasToken(now)) {
+                return candidate == ticket;
+            }
+        }
+        return false;
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue depth, in-flight count and queue wait statistics per priority class.
+     */
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("inFlight", inFlight);
+            stats.put("maxConcurrent", maxConcurrent);
+            stats.put("queued", waiting.size());
+            stats.put("queueCapacity", queueCapacity);
+            stats.put("buckets", buckets.size());
+
+            Map<String, Object> byPriority = new LinkedHashMap<>();
+            waitStats.forEach((priority, priorityStats) -> byPriority.put(priority.name().toLowerCase(), priorityStats.toMap()));
+            stats.put("queueWait", byPriority);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Ticket {
+        private final Priority priority;
+        private final long sequence;
+        private final String bucketKey;
+        private final long enqueuedAt;
+        private final long deadline;
+        private String shedReason;
+
+        private Ticket(Priority priority, long sequence, String bucketKey, long enqueuedAt, long deadline) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.bucketKey = bucketKey;
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(double requestsPerMinute, int burst) {
+            this.capacity = Math.max(1, burst);
+            this.tokensPerNano = requestsPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+
+        private boolean hasToken(long now) {
+            refill(now);
+            return tokens >= 1.0;
+        }
+
+        private void take() {
+            tokens -= 1.0;
+        }
+
+        private long nanosUntilToken(long now) {
+            return nanosUntilTokens(now, 1);
+        }
+
+        private long nanosUntilTokens(long now, long needed) {
+            refill(now);
+            double missing = needed - tokens;
+            if (missing <= 0) {
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil(missing / tokensPerNano) : Long.MAX_VALUE;
+        }
+    }
+
+    private static class WaitStats {
+        private final long[] recentWaits = new long[WAIT_SAMPLE_SIZE];
+        private long granted;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private long shed;
+        private long rejected;
+
+        private void record(long waitNanos) {
+            recentWaits[(int) (granted % WAIT_SAMPLE_SIZE)] = waitNanos;
+            granted++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("granted", granted);
+            map.put("shed", shed);
+            map.put("rejected", rejected);
+            map.put("avgWaitMs", granted > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / granted) : 0);
+            map.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+
+            int samples = (int) Math.min(granted, WAIT_SAMPLE_SIZE);
+            if (samples > 0) {
+                long[] sorted = Arrays.copyOf(recentWaits, samples);
+                Arrays.sort(sorted);
+                map.put("p50WaitMs", TimeUnit.NANOSECONDS.toMillis(sorted[(int) (samples * 0.50)]));
+                map.put("p95WaitMs", TimeUnit.NANOSECONDS.toMillis(sorted[Math.min(samples - 1, (int) (samples * 0.95))]));
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jithin.ai_content_platform.service;
+
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single source of StanfordCoreNLP pipelines. CoreNLP shares annotator instances
+ * (and their models) between pipelines whose annotator properties are identical, so
+ * pipelines with the same {@link Settings} are built from the same properties and only
+ * the annotator list differs. Pipelines use the CoreNLP defaults unless tuned settings are
+ * asked for, so every path that scores sentiment gets the same sentence splits and parses. Build time and heap growth per pipeline, and the annotator
+ * instances loaded versus the number an unshared setup would load, are recorded.
+ */
+@Service
+@Slf4j
+public class NlpPipelineRegistry {
+
+    /**
+     * Named annotator sets, cheapest first. Callers should ask for the smallest
+     * profile that produces the annotations they read.
+     */
+    public enum Profile {
+        // Sentence sentiment only
+        SENTIMENT_FAST("tokenize,ssplit,parse,sentiment"),
+        // Sentence sentiment plus POS tags for noun-based topics
+        TOPIC_SENTIMENT("tokenize,ssplit,pos,parse,sentiment"),
+        // Adds lemmas and named entities
+        ENTITY("tokenize,ssplit,pos,lemma,ner,parse,sentiment"),
+        // Everything, including coreference and quotes
+        FULL("tokenize,ssplit,pos,lemma,ner,parse,sentiment,coref,quote");
+
+        private final String annotators;
+
+        Profile(String annotators) {
+            this.annotators = annotators;
+        }
+
+        public String getAnnotators() {
+            return annotators;
+        }
+    }
+
+    /**
+     * Annotator options a pipeline is built with. Pipelines only share annotators with
+     * pipelines of the same settings.
+     */
+    public enum Settings {
+        // Tuned options of the former application-wide pipeline bean
+        TUNED,
+        // CoreNLP defaults, as the content and trend services always ran with; the default
+        DEFAULTS
+    }
+
+    // Fixed benchmark corpus so docs/sec figures are comparable between runs
+    private static final List<String> BENCHMARK_CORPUS = List.of(
+        "Artificial intelligence is changing how marketing teams plan their content calendars. Many teams now publish twice as often.",
+        "The new smartphone from Apple received mixed reviews in London. Critics praised the camera but disliked the battery life.",
+        "Remote work has become a permanent option for millions of employees. Companies report lower costs and happier staff.",
+        "Electric vehicle sales rose sharply in Germany last quarter. Analysts expect the trend to continue through next year.",
+        "The conference in San Francisco brought together researchers from Google, Microsoft and Stanford University.",
+        "Customers complained that the checkout process was slow and confusing. The support team promised a fix within a week.",
+        "Healthy breakfast recipes are trending on social media. Oats, berries and yogurt appear in most of the popular posts.",
+        "The city council approved a new budget for public parks. Residents welcomed the decision at Tuesday's meeting."
+    );
+
+    @Value("${nlp.model.path}")
+    private String sentimentModelPath;
+
+    @Value("${nlp.pipeline.threads:4}")
+    private int threads;
+
+    @Value("${nlp.pipeline.parse-maxlen:100}")
+    private int parseMaxLength;
+
+    private final Map<String, StanfordCoreNLP> pipelines = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> buildStats = new ConcurrentHashMap<>();
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private volatile long heapBeforeFirstBuild = -1;
+    private volatile long annotatorsRequested;
+
+    /**
+     * Returns the shared pipeline for the given annotator list, building it on first use.
+     * Annotators already loaded by another pipeline are reused rather than reloaded.
+     */
+    public StanfordCoreNLP getPipeline(String annotators) {
+        return getPipeline(annotators, Settings.DEFAULTS);
+    }
+
+    public StanfordCoreNLP getPipeline(String annotators, Settings settings) {
+        String key = settings == Settings.DEFAULTS ? normalize(annotators) : settings + ":" + normalize(annotators);
+        StanfordCoreNLP pipeline = pipelines.get(key);
+        if (pipeline != null) {
+            return pipeline;
+        }
+        // Serialize builds so concurrent first callers never load the same models twice
+        synchronized (this) {
+            return pipelines.computeIfAbsent(key, k -> buildPipeline(k, normalize(annotators), settings));
+        }
+    }
+
+    public StanfordCoreNLP getPipeline(Profile profile) {
+        return getPipeline(profile.getAnnotators());
+    }
+
+    public StanfordCoreNLP getPipeline(Profile profile, Settings settings) {
+        return getPipeline(profile.getAnnotators(), settings);
+    }
+
+    /**
+     * Pipeline of default-settings annotators that continues work on documents another
+     * default pipeline has already partly annotated, so requirements such as tokenize are
+     * not re-checked.
+     */
+    public StanfordCoreNLP getContinuation(String annotators) {
+        String key = "continue:" + normalize(annotators);
+        StanfordCoreNLP pipeline = pipelines.get(key);
+        if (pipeline != null) {
+            return pipeline;
+        }
+        synchronized (this) {
+            return pipelines.computeIfAbsent(key, k -> buildPipeline(k, normalize(annotators), null));
+        }
+    }
+
+    /**
+     * Annotates the fixed benchmark corpus with each profile and reports documents per second.
+     * Builds any profile pipeline that is not loaded yet; build time is excluded from the rate.
+     */
+    public Map<String, Object> benchmarkProfiles(int rounds) {
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Profile profile : Profile.values()) {
+            try {
+                StanfordCoreNLP pipeline = getPipeline(profile);
+                // Warm up once so JIT and lazy model parts do not skew the first profile
+                pipeline.annotate(new Annotation(BENCHMARK_CORPUS.get(0)));
+
+                int documents = 0;
+                long started = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    for (String text : BENCHMARK_CORPUS) {
+                        pipeline.annotate(new Annotation(text));
+                        documents++;
+                    }
+                }
+                double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+                Map<String, Object> profileResult = new LinkedHashMap<>();
+                profileResult.put("annotators", profile.getAnnotators());
+                profileResult.put("documents", documents);
+                profileResult.put("seconds", seconds);
+                profileResult.put("docsPerSecond", seconds > 0 ? documents / seconds : 0.0);
+                results.put(profile.name(), profileResult);
+            } catch (Exception e) {
+                log.error("Error benchmarking NLP profile {}", profile, e);
+                results.put(profile.name(), Map.of("error", String.valueOf(e.getMessage())));
+            }
+        }
+        return results;
+    }
+
+    private StanfordCoreNLP buildPipeline(String key, String annotators, Settings settings) {
+        long heapBefore = memoryBean.getHeapMemoryUsage().getUsed();
+        if (heapBeforeFirstBuild < 0) {
+            heapBeforeFirstBuild = heapBefore;
+        }
+        long started = System.nanoTime();
+
+        // No settings marks a continuation pipeline, which skips the requirement check
+        StanfordCoreNLP pipeline = settings == null
+            ? new StanfordCoreNLP(defaultProperties(annotators), false)
+            : new StanfordCoreNLP(settings == Settings.TUNED ? baseProperties(annotators) : defaultProperties(annotators));
+        // Without sharing, every pipeline would load its own instance of each annotator
+        annotatorsRequested += annotators.split(",").length;
+
+        long buildMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long heapDeltaMb = (memoryBean.getHeapMemoryUsage().getUsed() - heapBefore) / (1024 * 1024);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buildMs", buildMs);
+        stats.put("heapDeltaMb", heapDeltaMb);
+        buildStats.put(key, stats);
+        log.info("Built CoreNLP pipeline [{}] in {} ms (heap +{} MB, {} annotator instances loaded for {} requested)",
+            key, buildMs, heapDeltaMb, StanfordCoreNLP.GLOBAL_ANNOTATOR_CACHE.size(), annotatorsRequested);
+        return pipeline;
+    }
+
+    // Annotator options must be identical across pipelines for CoreNLP to reuse loaded annotators
+    private Properties baseProperties(String annotators) {
+        Properties props = new Properties();
+        props.setProperty("annotators", annotators);
+        props.setProperty("tokenize.options", "untokenizable=noneKeep");
+        props.setProperty("ssplit.newlineIsSentenceBreak", "two");
+        props.setProperty("pos.model", "edu/stanford/nlp/models/pos-tagger/english-left3words-distsim.tagger");
+        props.setProperty("ner.useSUTime", "true");
+        props.setProperty("ner.applyNumericClassifiers", "true");
+        props.setProperty("ner.buildEntityMentions", "true");
+        props.setProperty("parse.model", "edu/stanford/nlp/models/lexparser/englishPCFG.ser.gz");
+        props.setProperty("parse.maxlen", String.valueOf(parseMaxLength));
+        // Sentiment needs binary trees; forcing them keeps one parser instance for all pipelines
+        props.setProperty("parse.binaryTrees", "true");
+        props.setProperty("sentiment.model", sentimentModelPath);
+        props.setProperty("coref.algorithm", "neural");
+        props.setProperty("threads", String.valueOf(threads));
+        return props;
+    }
+
+    private static Properties defaultProperties(String annotators) {
+        Properties props = new Properties();
+        props.setProperty("annotators", annotators);
+        return props;
+    }
+
+    private static String normalize(String annotators) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (String annotator : annotators.split(",")) {
+            if (!annotator.isBlank()) {
+                joiner.add(annotator.trim());
+            }
+        }
+        return joiner.toString();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pipelines", new TreeMap<>(buildStats));
+        stats.put("sharedAnnotators", StanfordCoreNLP.GLOBAL_ANNOTATOR_CACHE.size());
+        stats.put("annotatorsWithoutSharing", annotatorsRequested);
+        long heapUsed = memoryBean.getHeapMemoryUsage().getUsed();
+        stats.put("heapUsedMb", heapUsed / (1024 * 1024));
+        if (heapBeforeFirstBuild >= 0) {
+            // Before/after: heap when the first pipeline started building versus now
+            stats.put("heapBeforePipelinesMb", heapBeforeFirstBuild / (1024 * 1024));
+            stats.put("heapGrowthSincePipelinesMb", (heapUsed - heapBeforeFirstBuild) / (1024 * 1024));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,173 @@
+package com.jithin.ai_content_platform.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jithin.ai_content_platform.model.NlpAnalysisResult;
+import com.jithin.ai_content_platform.repository.NlpAnalysisResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of derived NLP results keyed by content hash and pipeline profile. A bounded
+ * in-memory LRU sits in front of the nlp_analysis_results table, so repeated analysis
+ * of the same text within a request and across batch runs skips CoreNLP entirely.
+ * Results are only served for the exact profile that produced them, since richer profiles
+ * weigh sentence sentiment differently.
+ */
+@Service
+@Slf4j
+public class NlpResultCache {
+
+    @Autowired
+    private NlpAnalysisResultRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${nlp.result-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${nlp.result-cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${nlp.result-cache.persist:true}")
+    private boolean persist;
+
+    @Value("${nlp.result-cache.retention-days:30}")
+    private int retentionDays;
+
+    private final Map<String, Map<String, Object>> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached result for the text under the given profile, or null. The returned
+     * map is shared; callers copy it before handing it out.
+     */
+    public Map<String, Object> get(String contentHash, NlpPipelineRegistry.Profile profile) {
+        if (!enabled) {
+            return null;
+        }
+
+        synchronized (entries) {
+            Map<String, Object> result = entries.get(key(contentHash, profile));
+            if (result != null) {
+                memoryHits.incrementAndGet();
+                return result;
+            }
+        }
+
+        if (persist) {
+            try {
+                Optional<NlpAnalysisResult> stored = repository.findByContentHashAndProfile(contentHash, profile.name());
+                if (stored.isPresent()) {
+                    Map<String, Object> result = objectMapper.readValue(stored.get().getResultJson(),
+                        new TypeReference<Map<String, Object>>() {});
+                    repository.touch(stored.get().getId(), LocalDateTime.now());
+                    remember(contentHash, profile, result);
+                    persistentHits.incrementAndGet();
+                    return result;
+                }
+            } catch (Exception e) {
+                log.warn("Error reading persisted NLP result: {}", e.getMessage());
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String contentHash, NlpPipelineRegistry.Profile profile, Map<String, Object> result) {
+        if (!enabled || result == null || result.containsKey("error")) {
+            return;
+        }
+        remember(contentHash, profile, result);
+
+        if (persist) {
+            try {
+                NlpAnalysisResult record = new NlpAnalysisResult();
+                record.setContentHash(contentHash);
+                record.setProfile(profile.name());
+                record.setResultJson(objectMapper.writeValueAsString(result));
+                record.setLastAccessedAt(LocalDateTime.now());
+                repository.save(record);
+            } catch (DataIntegrityViolationException e) {
+                // Another thread or instance stored the same text first
+                log.debug("NLP result for {} / {} already persisted", contentHash, profile);
+            } catch (Exception e) {
+                log.warn("Error persisting NLP result: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${nlp.result-cache.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        if (!persist) {
+            return;
+        }
+        try {
+            int removed = repository.deleteNotAccessedSince(LocalDateTime.now().minusDays(retentionDays));
+            if (removed > 0) {
+                log.info("Purged {} NLP results not used in {} days", removed, retentionDays);
+            }
+        } catch (Exception e) {
+            log.error("Error purging persisted NLP results", e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("persist", persist);
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("persistentHits", persistentHits.get());
+        stats.put("misses", misses.get());
+        long lookups = memoryHits.get() + persistentHits.get() + misses.get();
+        stats.put("hitRate", lookups > 0 ? (double) (lookups - misses.get()) / lookups : 0.0);
+        return stats;
+    }
+
+    private void remember(String contentHash, NlpPipelineRegistry.Profile profile, Map<String, Object> result) {
+        synchronized (entries) {
+            entries.put(key(contentHash, profile), result);
+        }
+    }
+
+    private static String key(String contentHash, NlpPipelineRegistry.Profile profile) {
+        return contentHash + ":" + profile.name();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jithin.ai_content_platform.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import opennlp.tools.langdetect.LanguageDetectorME;
+import opennlp.tools.langdetect.LanguageDetectorModel;
+import opennlp.tools.tokenize.SimpleTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe access to the OpenNLP language detector and document categorizer.
+ * The models are loaded once and shared; the {@code *ME} wrappers keep per-call state
+ * and are not thread-safe, so each thread gets its own instance over the shared model.
+ */
+@Service
+@Slf4j
+public class OpenNlpModelPool {
+
+    @Value("${opennlp.langdetect-model:/models/langdetect-183.bin}")
+    private String languageModelPath;
+
+    @Value("${opennlp.doccat-model:/models/en-doc-cat.bin}")
+    private String categoryModelPath;
+
+    private LanguageDetectorModel languageModel;
+    private DoccatModel categoryModel;
+
+    private final ThreadLocal<LanguageDetectorME> languageDetectors =
+        ThreadLocal.withInitial(() -> new LanguageDetectorME(languageModel));
+    private final ThreadLocal<DocumentCategorizerME> categorizers =
+        ThreadLocal.withInitial(() -> new DocumentCategorizerME(categoryModel));
+
+    private final AtomicLong languageDetections = new AtomicLong();
+    private final AtomicLong categorizations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        try (InputStream in = getClass().getResourceAsStream(languageModelPath)) {
+            if (in != null) {
+                languageModel = new LanguageDetectorModel(in);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to load OpenNLP language model {}: {}", languageModelPath, e.getMessage());
+        }
+
+        try (InputStream in = getClass().getResourceAsStream(categoryModelPath)) {
+            if (in != null) {
+                categoryModel = new DoccatModel(in);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to load OpenNLP categorizer model {}: {}", categoryModelPath, e.getMessage());
+        }
+
+        if (languageModel == null || categoryModel == null) {
+            log.warn("OpenNLP models not found. Language detection available: {}, categorization available: {}",
+                languageModel != null, categoryModel != null);
+        }
+    }
+
+    public boolean isLanguageDetectionAvailable() {
+        return languageModel != null;
+    }
+
+    public boolean isCategorizationAvailable() {
+        return categoryModel != null;
+    }
+
+    /**
+     * Returns the ISO 639-3 code of the most likely language, or null when no model is loaded.
+     */
+    public String detectLanguage(String text) {
+        if (languageModel == null || text == null) {
+            return null;
+        }
+        languageDetections.incrementAndGet();
+        return languageDetectors.get().predictLanguage(text).getLang();
+    }
+
+    /**
+     * Returns the category probabilities for the text, or an empty array when no model is loaded.
+     */
+    public double[] categorize(String text) {
+        if (categoryModel == null || text == null) {
+            return new double[0];
+        }
+        categorizations.incrementAndGet();
+        return categorizers.get().categorize(tokenize(text));
+    }
+
+    public String bestCategory(String text) {
+        double[] probabilities = categorize(text);
+        return probabilities.length == 0 ? null : categorizers.get().getBestCategory(probabilities);
+    }
+
+    public String[] tokenize(String text) {
+        return SimpleTokenizer.INSTANCE.tokenize(text);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("languageDetectionAvailable", isLanguageDetectionAvailable());
+        stats.put("categorizationAvailable", isCategorizationAvailable());
+        stats.put("languageDetections", languageDetections.get());
+        stats.put("categorizations", categorizations.get());
+        return stats;
+    }
+}
@@ -1,6 +1,8 @@
 package com.jithin.ai_content_platform.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jithin.ai_content_platform.exception.LlmRequestRejectedException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.*;
@@ -9,7 +11,13 @@ import org.springframework.util.DigestUtils;
 import org.springframework.web.client.RestTemplate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -20,40 +28,50 @@ public class OpenRouterService {
     private final String appTitle;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final LlmRequestScheduler requestScheduler;
+    private final SemanticResponseCache semanticCache;
+    private final String apiKeyId;
     private static final String OPENROUTER_API_URL = "https://openrouter.ai/api/v1/chat/completions";
 
     public OpenRouterService(
             @Value("${openai.api.key}") String openAiKey,
             @Value("${openrouter.api.key}") String openRouterKey,
             @Value("${openai.http.referer}") String httpReferer,
-            @Value("${openai.app.title}") String appTitle) {
+            @Value("${openai.app.title}") String appTitle,
+            LlmRequestScheduler requestScheduler,
+            SemanticResponseCache semanticCache) {
         this.openAiKey = openAiKey;
         this.openRouterKey = openRouterKey;
         this.httpReferer = httpReferer;
         this.appTitle = appTitle;
         this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
+        this.requestScheduler = requestScheduler;
+        this.semanticCache = semanticCache;
+        // Rate limits are tracked per key without keeping the key itself in bucket names
+        this.apiKeyId = DigestUtils.md5DigestAsHex(String.valueOf(openRouterKey).getBytes()).substring(0, 8);
     }
 
     @Cacheable(value = "openRouterResponses", key = "#root.method.name + '_' + #model + '_' + T(java.util.Objects).hash(#messages) + '_' + T(java.util.Objects).hash(#extraBody)", unless = "#result == null")
     public Map<String, Object> createChatCompletion(String model, List<Map<String, String>> messages, Map<String, Object> extraBody) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            try {
-                headers.set("Authorization", "Bearer " + openRouterKey);
-            } catch (Exception e) {
-                headers.set("Authorization", "Bearer " + openAiKey);
-            }
-            headers.set("HTTP-Referer", httpReferer);
-            headers.set("X-Title", appTitle);
+        return createChatCompletion(model, messages, extraBody, LlmRequestScheduler.Priority.INTERACTIVE);
+    }
 
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("messages", messages);
-            if (extraBody != null) {
-                requestBody.putAll(extraBody);
-            }
+    /**
+     * Same as {@link #createChatCompletion(String, List, Map)} but scheduled with the given
+     * priority. Batch and analysis work should pass {@code BACKGROUND}.
+     */
+    @Cacheable(value = "openRouterResponses", key = "#root.method.name + '_' + #model + '_' + T(java.util.Objects).hash(#messages) + '_' + T(java.util.Objects).hash(#extraBody)", unless = "#result == null")
+    public Map<String, Object> createChatCompletion(String model, List<Map<String, String>> messages,
+                                                    Map<String, Object> extraBody, LlmRequestScheduler.Priority priority) {
+        SemanticResponseCache.Lookup cached = semanticCache.lookup(model, messages, extraBody);
+        if (cached.isHit()) {
+            return cached.getResponse();
+        }
+
+        try {
+            HttpHeaders headers = buildHeaders();
+            Map<String, Object> requestBody = buildRequestBody(model, messages, extraBody);
 
              // Log the request for debugging
         log.debug("OpenRouter API Request - Headers: {}", headers);
@@ -61,12 +79,14 @@ public class OpenRouterService {
 
 
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> responseEntity = restTemplate.exchange(
-                OPENROUTER_API_URL,
-                HttpMethod.POST,
-                request,
-                Map.class
-            );
+            long started = System.currentTimeMillis();
+            ResponseEntity<Map> responseEntity = requestScheduler.execute(apiKeyId, model, priority,
+                () -> restTemplate.exchange(
+                    OPENROUTER_API_URL,
+                    HttpMethod.POST,
+                    request,
+                    Map.class
+                ));
 
             log.debug("OpenRouter API Response: {}", responseEntity.getBody());
             
@@ -74,13 +94,124 @@ public class OpenRouterService {
                 throw new RuntimeException("OpenRouter API returned status code: " + responseEntity.getStatusCode());
             }
 
-            return responseEntity.getBody();
+            Map<String, Object> body = responseEntity.getBody();
+            if (semanticCache.isEnabled()) {
+                String text = extractContentFromResponse(body);
+                if (cached.shouldVerify()) {
+                    semanticCache.recordVerification(cached.getCachedText(), text);
+                }
+                semanticCache.store(model, messages, extraBody, body, text, System.currentTimeMillis() - started);
+            }
+            return body;
+        } catch (LlmRequestRejectedException e) {
+            log.warn("OpenRouter request for {} shed by scheduler: {}", model, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error calling OpenRouter API: ", e);
             throw new RuntimeException("Failed to create chat completion", e);
         }
     }
 
+    /**
+     * Streams a chat completion using the upstream {@code stream: true} SSE mode.
+     * Each content delta is passed to {@code onToken} as it arrives; the assembled
+     * completion is returned in the same shape as {@link #createChatCompletion}.
+     */
+    public Map<String, Object> streamChatCompletion(String model, List<Map<String, String>> messages,
+                                                    Map<String, Object> extraBody, Consumer<String> onToken) {
+        try {
+            HttpHeaders headers = buildHeaders();
+            headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+            Map<String, Object> requestBody = buildRequestBody(model, messages, extraBody);
+            requestBody.put("stream", true);
+            byte[] payload = objectMapper.writeValueAsBytes(requestBody);
+
+            StringBuilder completion = new StringBuilder();
+            String finishReason = requestScheduler.execute(apiKeyId, model, LlmRequestScheduler.Priority.INTERACTIVE,
+                () -> restTemplate.execute(
+                    OPENROUTER_API_URL,
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().putAll(headers);
+                        request.getBody().write(payload);
+                    },
+                    response -> readEventStream(response.getBody(), completion, onToken)
+                ));
+
+            Map<String, Object> message = new HashMap<>();
+            message.put("role", "assistant");
+            message.put("content", completion.toString());
+            Map<String, Object> choice = new HashMap<>();
+            choice.put("message", message);
+            choice.put("finish_reason", finishReason);
+            Map<String, Object> result = new HashMap<>();
+            result.put("model", model);
+            result.put("choices", List.of(choice));
+            return result;
+        } catch (LlmRequestRejectedException e) {
+            log.warn("OpenRouter stream for {} shed by scheduler: {}", model, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error streaming from OpenRouter API: ", e);
+            throw new RuntimeException("Failed to stream chat completion", e);
+        }
+    }
+
+    private String readEventStream(InputStream body, StringBuilder completion, Consumer<String> onToken) throws IOException {
+        String finishReason = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Skip blank separators and keep-alive comments such as ": OPENROUTER PROCESSING"
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring("data:".length()).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+
+                JsonNode chunk = objectMapper.readTree(data);
+                if (chunk.has("error")) {
+                    throw new IOException("OpenRouter stream error: " + chunk.path("error").path("message").asText());
+                }
+                JsonNode choice = chunk.path("choices").path(0);
+                String token = choice.path("delta").path("content").asText("");
+                if (!token.isEmpty()) {
+                    completion.append(token);
+                    onToken.accept(token);
+                }
+                if (choice.hasNonNull("finish_reason")) {
+                    finishReason = choice.get("finish_reason").asText();
+                }
+            }
+        }
+        return finishReason;
+    }
+
+    private HttpHeaders buildHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            headers.set("Authorization", "Bearer " + openRouterKey);
+        } catch (Exception e) {
+            headers.set("Authorization", "Bearer " + openAiKey);
+        }
+        headers.set("HTTP-Referer", httpReferer);
+        headers.set("X-Title", appTitle);
+        return headers;
+    }
+
+    private Map<String, Object> buildRequestBody(String model, List<Map<String, String>> messages, Map<String, Object> extraBody) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", messages);
+        if (extraBody != null) {
+            requestBody.putAll(extraBody);
+        }
+        return requestBody;
+    }
+
     public String generateCacheKey(String model, List<Map<String, String>> messages, Map<String, Object> extraBody) {
         try {
             // Create a string that combines all input parameters
@@ -0,0 +1,263 @@
+package com.jithin.ai_content_platform.service;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.util.CoreMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides up front which sentences of a document may go through the PCFG parser and RNN
+ * sentiment model. Documents are tokenized and sentence split first; PCFG cost grows with
+ * the cube of sentence length, so the estimated parse time is the sum of cubed sentence
+ * lengths times a per-unit cost learned from recent parses. Over-long sentences, and then
+ * the longest remaining ones until the estimate fits the time budget, are left unparsed
+ * and get lexicon sentiment instead. The split document is then annotated further in
+ * place, so text is only tokenized once.
+ */
+@Service
+@Slf4j
+public class ParseBudgetManager {
+
+    private static final String SHALLOW_ANNOTATORS = "tokenize,ssplit";
+    private static final Set<String> SHALLOW = Set.of("tokenize", "ssplit");
+    // Annotators from the parser on only see the sentences that fit the budget
+    private static final String PARSE_ANNOTATOR = "parse";
+    // Weight of the newest observation in the per-unit cost average
+    private static final double COST_SMOOTHING = 0.1;
+
+    @Autowired
+    private NlpPipelineRegistry nlpPipelineRegistry;
+
+    @Autowired
+    private BatchAnnotationService batchAnnotationService;
+
+    @Value("${nlp.parse-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${nlp.parse-budget.max-sentence-tokens:80}")
+    private int maxSentenceTokens;
+
+    @Value("${nlp.parse-budget.document-budget-ms:3000}")
+    private long documentBudgetMs;
+
+    @Value("${nlp.parse-budget.initial-nanos-per-unit:150}")
+    private double initialNanosPerUnit;
+
+    private volatile double nanosPerUnit = -1;
+
+    private final AtomicLong assessed = new AtomicLong();
+    private final AtomicLong degradedByLength = new AtomicLong();
+    private final AtomicLong degradedByTime = new AtomicLong();
+    private final AtomicLong sentencesDegraded = new AtomicLong();
+    private final AtomicLong parsesRecorded = new AtomicLong();
+
+    /**
+     * Tokenizes and splits the text and picks the sentences a full parse can afford.
+     */
+    public Assessment assess(String text) {
+        Annotation document = new Annotation(text);
+        nlpPipelineRegistry.getPipeline(SHALLOW_ANNOTATORS).annotate(document);
+        List<CoreMap> sentences = document.get(CoreAnnotations.SentencesAnnotation.class);
+        if (sentences == null) {
+            sentences = Collections.emptyList();
+        }
+        if (!enabled) {
+            return new Assessment(document, sentences, sentences, cost(sentences), null);
+        }
+        assessed.incrementAndGet();
+
+        List<CoreMap> parseable = new ArrayList<>(sentences.size());
+        int tooLong = 0;
+        for (CoreMap sentence : sentences) {
+            if (length(sentence) > maxSentenceTokens) {
+                tooLong++;
+            } else {
+                parseable.add(sentence);
+            }
+        }
+
+        // Leave out the longest sentences until the rest fit the time budget
+        long cost = cost(parseable);
+        int overBudget = 0;
+        if (estimateMs(cost) > documentBudgetMs) {
+            List<CoreMap> byLength = new ArrayList<>(parseable);
+            byLength.sort(Comparator.comparingInt(ParseBudgetManager::length).reversed());
+            Set<CoreMap> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (CoreMap sentence : byLength) {
+                if (estimateMs(cost) <= documentBudgetMs) {
+                    break;
+                }
+                cost -= cube(length(sentence));
+                dropped.add(sentence);
+            }
+            parseable.removeIf(dropped::contains);
+            overBudget = dropped.size();
+        }
+
+        String degradeReason = null;
+        if (tooLong > 0 || overBudget > 0) {
+            List<String> reasons = new ArrayList<>(2);
+            if (tooLong > 0) {
+                reasons.add(tooLong + " sentences over " + maxSentenceTokens + " tokens");
+                degradedByLength.incrementAndGet();
+            }
+            if (overBudget > 0) {
+                reasons.add(overBudget + " sentences over the " + documentBudgetMs + " ms parse budget");
+                degradedByTime.incrementAndGet();
+            }
+            degradeReason = String.join("; ", reasons);
+            sentencesDegraded.addAndGet(tooLong + overBudget);
+            log.debug("Lexicon sentiment for part of a document: {}", degradeReason);
+        }
+        return new Assessment(document, sentences, parseable, cost, degradeReason);
+    }
+
+    /**
+     * Runs the rest of the profile's annotators on the assessed documents. Annotators before
+     * the parser see every sentence; the parser and everything after it only the parseable
+     * ones. The measured parse time feeds the cost estimate.
+     */
+    public void complete(List<Assessment> assessments, NlpPipelineRegistry.Profile profile) {
+        List<String> before = new ArrayList<>();
+        List<String> after = new ArrayList<>();
+        for (String annotator : profile.getAnnotators().split(",")) {
+            if (SHALLOW.contains(annotator)) {
+                continue;
+            }
+            (after.isEmpty() && !PARSE_ANNOTATOR.equals(annotator) ? before : after).add(annotator);
+        }
+
+        List<Annotation> documents = new ArrayList<>(assessments.size());
+        List<Annotation> parsed = new ArrayList<>(assessments.size());
+        long cost = 0;
+        for (Assessment assessment : assessments) {
+            documents.add(assessment.document);
+            if (!assessment.parseable.isEmpty()) {
+                parsed.add(assessment.parseableDocument());
+                cost += assessment.cost;
+            }
+        }
+
+        if (!before.isEmpty()) {
+            batchAnnotationService.annotateDocuments(documents, nlpPipelineRegistry.getContinuation(String.join(",", before)));
+        }
+        if (!after.isEmpty() && !parsed.isEmpty()) {
+            long started = System.nanoTime();
+            batchAnnotationService.annotateDocuments(parsed, nlpPipelineRegistry.getContinuation(String.join(",", after)));
+            recordParse(cost, System.nanoTime() - started);
+        }
+    }
+
+    public void complete(Assessment assessment, NlpPipelineRegistry.Profile profile) {
+        complete(Collections.singletonList(assessment), profile);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxSentenceTokens", maxSentenceTokens);
+        stats.put("documentBudgetMs", documentBudgetMs);
+        stats.put("nanosPerCostUnit", currentNanosPerUnit());
+        stats.put("assessed", assessed.get());
+        stats.put("degradedByLength", degradedByLength.get());
+        stats.put("degradedByTime", degradedByTime.get());
+        stats.put("sentencesDegraded", sentencesDegraded.get());
+        stats.put("parsesRecorded", parsesRecorded.get());
+        return stats;
+    }
+
+    // Feeds the measured time of a parse back into the per-unit cost estimate
+    private void recordParse(long cost, long elapsedNanos) {
+        if (cost <= 0) {
+            return;
+        }
+        double observed = (double) elapsedNanos / cost;
+        double current = currentNanosPerUnit();
+        nanosPerUnit = current + COST_SMOOTHING * (observed - current);
+        parsesRecorded.incrementAndGet();
+    }
+
+    private long estimateMs(long cost) {
+        return TimeUnit.NANOSECONDS.toMillis((long) (cost * currentNanosPerUnit()));
+    }
+
+    private double currentNanosPerUnit() {
+        return nanosPerUnit > 0 ? nanosPerUnit : initialNanosPerUnit;
+    }
+
+    private static long cost(List<CoreMap> sentences) {
+        long cost = 0;
+        for (CoreMap sentence : sentences) {
+            cost += cube(length(sentence));
+        }
+        return cost;
+    }
+
+    private static long cube(int length) {
+        return (long) length * length * length;
+    }
+
+    private static int length(CoreMap sentence) {
+        return sentence.get(CoreAnnotations.TokensAnnotation.class).size();
+    }
+
+    public static class Assessment {
+        private final Annotation document;
+        private final List<CoreMap> sentences;
+        private final List<CoreMap> parseable;
+        private final long cost;
+        private final String degradeReason;
+
+        private Assessment(Annotation document, List<CoreMap> sentences, List<CoreMap> parseable,
+                           long cost, String degradeReason) {
+            this.document = document;
+            this.sentences = sentences;
+            this.parseable = parseable;
+            this.cost = cost;
+            this.degradeReason = degradeReason;
+        }
+
+        /**
+         * Whether some sentences are left to lexicon sentiment.
+         */
+        public boolean isDegraded() {
+            return degradeReason != null;
+        }
+
+        public Annotation getDocument() {
+            return document;
+        }
+
+        public List<CoreMap> getSentences() {
+            return sentences;
+        }
+
+        public String getDegradeReason() {
+            return degradeReason;
+        }
+
+        // The document itself when every sentence fits, else a view over the parseable
+        // sentences whose annotations land on the shared sentence maps
+        private Annotation parseableDocument() {
+            if (parseable.size() == sentences.size()) {
+                return document;
+            }
+            Annotation view = new Annotation(document.get(CoreAnnotations.TextAnnotation.class));
+            List<CoreLabel> tokens = new ArrayList<>();
+            for (CoreMap sentence : parseable) {
+                tokens.addAll(sentence.get(CoreAnnotations.TokensAnnotation.class));
+            }
+            view.set(CoreAnnotations.TokensAnnotation.class, tokens);
+            view.set(CoreAnnotations.SentencesAnnotation.class, new ArrayList<>(parseable));
+            return view;
+        }
+    }
+}
@@ -34,6 +34,11 @@ public class PerformancePredictionService {
     @Autowired
     private FeedbackAnalysisService feedbackAnalysisService;
 
+    @Autowired
+    private ContentVectorIndex contentVectorIndex;
+
+    private static final int SIMILAR_CONTENT_LIMIT = 100;
+
     @Value("${openai.model}")
     private String model;
 
@@ -315,11 +320,11 @@ public class PerformancePredictionService {
     }
 
     private List<String> collectUserFeedback(Content content) {
-        // Get feedback from similar content
-        List<Content> similarContent = contentRepository.findByCategoryAndContentType(
-            content.getCategory(),
-            content.getContentType()
-        );
+        // Get feedback from the nearest content of the same category and type
+        List<Content> similarContent = contentVectorIndex.isReady()
+            ? contentVectorIndex.findSimilarContent(content, SIMILAR_CONTENT_LIMIT,
+                ContentVectorIndex.Filter.any().category(content.getCategory()).contentType(content.getContentType()))
+            : contentRepository.findByCategoryAndContentType(content.getCategory(), content.getContentType());
         
         return similarContent.stream()
             .filter(c -> c.getComments() != null && !c.getComments().isEmpty())
@@ -0,0 +1,379 @@
+package com.jithin.ai_content_platform.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional semantic cache for LLM responses. Only the user messages, which carry the
+ * request-specific fields, are embedded as the averaged Word2Vec vector of their tokens and
+ * indexed with random-hyperplane LSH; the model, parameters, message roles and every
+ * non-user message must match exactly. A candidate is only returned when its user messages
+ * have exactly the same non-stopword tokens, so prompts built from one template for
+ * different topics never share an answer. A sample of hits is served live instead and
+ * compared against the cached answer to estimate the false-hit rate.
+ */
+@Service
+@Slf4j
+public class SemanticResponseCache {
+
+    private static final int LSH_TABLES = 8;
+    private static final int LSH_BITS = 12;
+    private static final String USER_ROLE = "user";
+
+    // Tokens allowed to differ between prompts that share an answer
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "an", "the", "and", "or", "but", "of", "to", "in", "on", "at", "for", "with", "by", "from",
+        "about", "as", "into", "is", "are", "was", "were", "be", "been", "being", "it", "its", "this",
+        "that", "these", "those", "please", "can", "could", "would", "will", "you", "your", "me", "my",
+        "i", "we", "our", "do", "does", "some", "any", "just", "so", "very");
+
+    @Autowired
+    private EnhancedWord2VecService word2VecService;
+
+    @Value("${openrouter.semantic-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openrouter.semantic-cache.similarity-threshold:0.97}")
+    private double similarityThreshold;
+
+    @Value("${openrouter.semantic-cache.min-vocabulary-coverage:0.5}")
+    private double minVocabularyCoverage;
+
+    @Value("${openrouter.semantic-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${openrouter.semantic-cache.ttl-minutes:360}")
+    private long ttlMinutes;
+
+    @Value("${openrouter.semantic-cache.verification-sample-rate:0.05}")
+    private double verificationSampleRate;
+
+    @Value("${openrouter.semantic-cache.response-agreement-threshold:0.9}")
+    private double responseAgreementThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LinkedHashMap<Long, CacheEntry> entries = new LinkedHashMap<>();
+    private final List<Map<Integer, List<Long>>> lshTables = new ArrayList<>();
+    private double[][][] hyperplanes;
+    private long nextId;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong verificationSamples = new AtomicLong();
+    private final AtomicLong falseHits = new AtomicLong();
+    private final AtomicLong latencySavedMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int dimensions = word2VecService.getVectorSize();
+        Random random = new Random(42);
+        hyperplanes = new double[LSH_TABLES][LSH_BITS][dimensions];
+        for (int t = 0; t < LSH_TABLES; t++) {
+            lshTables.add(new HashMap<>());
+            for (int b = 0; b < LSH_BITS; b++) {
+                for (int d = 0; d < dimensions; d++) {
+                    hyperplanes[t][b][d] = random.nextGaussian();
+                }
+            }
+        }
+        log.info("Semantic response cache {} (threshold={}, maxEntries={})",
+            enabled ? "enabled" : "disabled", similarityThreshold, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a cached response for a semantically equivalent prompt, if any. A hit
+     * selected for verification is returned with {@code verify=true} and no response,
+     * so the caller makes the live call and reports back via {@link #recordVerification}.
+     */
+    public Lookup lookup(String model, List<Map<String, String>> messages, Map<String, Object> extraBody) {
+        if (!enabled) {
+            return Lookup.MISS;
+        }
+        lookups.incrementAndGet();
+
+        PromptEmbedding embedding = embed(messages);
+        if (embedding == null) {
+            return Lookup.MISS;
+        }
+        String paramsKey = paramsKey(model, messages, extraBody);
+        long now = System.currentTimeMillis();
+
+        CacheEntry best = null;
+        double bestSimilarity = similarityThreshold;
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(embedding.vector)) {
+                CacheEntry entry = entries.get(id);
+                if (entry == null || !entry.paramsKey.equals(paramsKey) || entry.isExpired(now, ttlMinutes)) {
+                    continue;
+                }
+                double similarity = dot(embedding.vector, entry.vector);
+                if (similarity >= bestSimilarity && embedding.tokens.equals(entry.tokens)) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (best == null) {
+            return Lookup.MISS;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < verificationSampleRate) {
+            verificationSamples.incrementAndGet();
+            return new Lookup(null, best.responseText, bestSimilarity, true);
+        }
+        hits.incrementAndGet();
+        latencySavedMs.addAndGet(best.latencyMs);
+        log.debug("Semantic cache hit for model {} (similarity {})", model, bestSimilarity);
+        return new Lookup(best.response, best.responseText, bestSimilarity, false);
+    }
+
+    /**
+     * Stores a live response so later similar prompts can reuse it.
+     */
+    public void store(String model, List<Map<String, String>> messages, Map<String, Object> extraBody,
+                      Map<String, Object> response, String responseText, long latencyMs) {
+        if (!enabled || response == null || responseText == null || responseText.isBlank()) {
+            return;
+        }
+        PromptEmbedding embedding = embed(messages);
+        if (embedding == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            long id = nextId++;
+            CacheEntry entry = new CacheEntry(paramsKey(model, messages, extraBody), embedding.vector, embedding.tokens,
+                response, responseText, latencyMs, System.currentTimeMillis());
+            entries.put(id, entry);
+            for (int t = 0; t < LSH_TABLES; t++) {
+                lshTables.get(t).computeIfAbsent(hash(t, embedding.vector), k -> new ArrayList<>()).add(id);
+            }
+            while (entries.size() > maxEntries) {
+                evict(entries.keySet().iterator().next());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares a live answer with the cached answer a sampled hit would have returned.
+     */
+    public void recordVerification(String cachedText, String liveText) {
+        PromptEmbedding cached = embed(List.of(Map.of("content", cachedText)));
+        PromptEmbedding live = embed(List.of(Map.of("content", liveText)));
+        double agreement = cached != null && live != null ? dot(cached.vector, live.vector) : 0.0;
+        if (agreement < responseAgreementThreshold) {
+            falseHits.incrementAndGet();
+            log.info("Semantic cache false hit detected (response agreement {})", agreement);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.get();
+        long hitCount = hits.get();
+        long samples = verificationSamples.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        lock.readLock().lock();
+        try {
+            stats.put("entries", entries.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("lookups", lookupCount);
+        stats.put("hits", hitCount);
+        stats.put("hitRate", lookupCount > 0 ? (double) hitCount / lookupCount : 0.0);
+        stats.put("verificationSamples", samples);
+        stats.put("falseHits", falseHits.get());
+        stats.put("estimatedFalseHitRate", samples > 0 ? (double) falseHits.get() / samples : 0.0);
+        stats.put("latencySavedMs", latencySavedMs.get());
+        stats.put("similarityThreshold", similarityThreshold);
+        return stats;
+    }
+
+    // Embeds the user messages; messages without a role are treated as user messages
+    private PromptEmbedding embed(List<Map<String, String>> messages) {
+        Set<String> tokens = new HashSet<>();
+        double[] sum = new double[word2VecService.getVectorSize()];
+        int total = 0;
+        int known = 0;
+        for (Map<String, String> message : messages) {
+            String content = message.get("content");
+            if (content == null || !USER_ROLE.equals(message.getOrDefault("role", USER_ROLE))) {
+                continue;
+            }
+            for (String token : content.toLowerCase().split("[^\\p{L}\\p{Nd}]+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                total++;
+                if (!STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                if (word2VecService.hasWord(token)) {
+                    double[] vector = word2VecService.getWordVector(token);
+                    for (int i = 0; i < sum.length && i < vector.length; i++) {
+                        sum[i] += vector[i];
+                    }
+                    known++;
+                }
+            }
+        }
+        // Too few known words makes the averaged vector meaningless
+        if (known == 0 || (double) known / total < minVocabularyCoverage) {
+            return null;
+        }
+        double norm = Math.sqrt(dot(sum, sum));
+        if (norm == 0) {
+            return null;
+        }
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] /= norm;
+        }
+        return new PromptEmbedding(sum, tokens);
+    }
+
+    private Set<Long> candidates(double[] vector) {
+        Set<Long> candidates = new HashSet<>();
+        for (int t = 0; t < LSH_TABLES; t++) {
+            List<Long> bucket = lshTables.get(t).get(hash(t, vector));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        return candidates;
+    }
+
+    private int hash(int table, double[] vector) {
+        int signature = 0;
+        for (int b = 0; b < LSH_BITS; b++) {
+            if (dot(hyperplanes[table][b], vector) >= 0) {
+                signature |= 1 << b;
+            }
+        }
+        return signature;
+    }
+
+    private void evict(Long id) {
+        CacheEntry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int t = 0; t < LSH_TABLES; t++) {
+            int signature = hash(t, entry.vector);
+            List<Long> bucket = lshTables.get(t).get(signature);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    lshTables.get(t).remove(signature);
+                }
+            }
+        }
+    }
+
+    // Model, parameters, the role of every message and the full text of non-user messages
+    private static String paramsKey(String model, List<Map<String, String>> messages, Map<String, Object> extraBody) {
+        List<String> fixed = new ArrayList<>(messages.size());
+        for (Map<String, String> message : messages) {
+            String role = message.getOrDefault("role", USER_ROLE);
+            fixed.add(USER_ROLE.equals(role) ? role : role + ":" + message.get("content"));
+        }
+        return model + "_" + Objects.hash(extraBody) + "_" + fixed.hashCode();
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length && i < b.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    public static class Lookup {
+        static final Lookup MISS = new Lookup(null, null, 0.0, false);
+
+        private final Map<String, Object> response;
+        private final String cachedText;
+        private final double similarity;
+        private final boolean verify;
+
+        Lookup(Map<String, Object> response, String cachedText, double similarity, boolean verify) {
+            this.response = response;
+            this.cachedText = cachedText;
+            this.similarity = similarity;
+            this.verify = verify;
+        }
+
+        public boolean isHit() {
+            return response != null;
+        }
+
+        public boolean shouldVerify() {
+            return verify;
+        }
+
+        public Map<String, Object> getResponse() {
+            return response;
+        }
+
+        public String getCachedText() {
+            return cachedText;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    private static class PromptEmbedding {
+        private final double[] vector;
+        private final Set<String> tokens;
+
+        private PromptEmbedding(double[] vector, Set<String> tokens) {
+            this.vector = vector;
+            this.tokens = tokens;
+        }
+    }
+
+    private static class CacheEntry {
+        private final String paramsKey;
+        private final double[] vector;
+        private final Set<String> tokens;
+        private final Map<String, Object> response;
+        private final String responseText;
+        private final long latencyMs;
+        private final long createdAt;
+
+        private CacheEntry(String paramsKey, double[] vector, Set<String> tokens, Map<String, Object> response,
+                           String responseText, long latencyMs, long createdAt) {
+            this.paramsKey = paramsKey;
+            this.vector = vector;
+            this.tokens = tokens;
+            this.response = response;
+            this.responseText = responseText;
+            this.latencyMs = latencyMs;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now, long ttlMinutes) {
+            return now - createdAt > ttlMinutes * 60_000L;
+        }
+    }
+}
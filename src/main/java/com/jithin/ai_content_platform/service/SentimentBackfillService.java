@@ -0,0 +1,102 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.model.Content;
+import com.jithin.ai_content_platform.repository.ContentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Fills the typed sentiment columns for content written before they existed, a batch per
+ * run in id order. Rows whose stored analysis already has an overall score are copied
+ * from it; the rest are analyzed the same way content is at generation time. Batches run
+ * on their own executor, so CoreNLP never holds up the scheduler thread. Rows that cannot
+ * be scored count an attempt and are left alone once they reach the configured maximum.
+ */
+@Service
+@Slf4j
+public class SentimentBackfillService {
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ContextAwareSentimentService contextAwareSentimentService;
+
+    @Autowired
+    @Qualifier("sentimentBackfillExecutor")
+    private ThreadPoolTaskExecutor backfillExecutor;
+
+    @Value("${content.sentiment-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${content.sentiment-backfill.batch-size:100}")
+    private int batchSize;
+
+    @Value("${content.sentiment-backfill.max-attempts:3}")
+    private int maxAttempts;
+
+    private volatile long lastId;
+
+    /**
+     * Hands the next batch to the backfill executor. A batch still running is not queued again.
+     */
+    @Scheduled(fixedDelayString = "${content.sentiment-backfill.interval-ms:60000}")
+    public void scheduleBatch() {
+        if (!enabled) {
+            return;
+        }
+        backfillExecutor.execute(this::backfillBatch);
+    }
+
+    public void backfillBatch() {
+        try {
+            List<Content> batch = contentRepository.findWithoutSentimentScore(lastId, maxAttempts, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                if (lastId > 0) {
+                    log.info("Sentiment backfill pass complete");
+                    lastId = 0;
+                }
+                return;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+
+            List<Content> unanalyzed = new ArrayList<>();
+            for (Content content : batch) {
+                content.applySentimentSummary(content.getAnalyzedSentimentMap());
+                if (content.getSentimentScore() == null) {
+                    unanalyzed.add(content);
+                }
+            }
+            if (!unanalyzed.isEmpty()) {
+                List<String> texts = unanalyzed.stream().map(Content::getContentBody).toList();
+                List<Map<String, Object>> analyses = contextAwareSentimentService.analyzeContextAwareSentimentBatch(
+                    texts, EnumSet.allOf(ContextAwareSentimentService.Output.class));
+                for (int i = 0; i < unanalyzed.size(); i++) {
+                    unanalyzed.get(i).applySentimentSummary(analyses.get(i));
+                }
+            }
+
+            int scored = 0;
+            for (Content content : batch) {
+                if (content.getSentimentScore() != null) {
+                    scored++;
+                } else {
+                    Integer attempts = content.getSentimentBackfillAttempts();
+                    content.setSentimentBackfillAttempts(attempts == null ? 1 : attempts + 1);
+                }
+            }
+            contentRepository.saveAll(batch);
+            log.info("Backfilled sentiment for {} of {} content items up to id {}", scored, batch.size(), lastId);
+        } catch (Exception e) {
+            log.error("Error backfilling content sentiment", e);
+        }
+    }
+}
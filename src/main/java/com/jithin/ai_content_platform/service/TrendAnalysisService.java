@@ -15,6 +15,9 @@ import java.time.format.DateTimeFormatter;
 import org.springframework.cache.annotation.Cacheable;
 import com.jithin.ai_content_platform.repository.ContentRepository;
 import com.jithin.ai_content_platform.repository.TrendDataRepository;
+import com.jithin.ai_content_platform.util.JdbcSentenceIterator;
+import com.jithin.ai_content_platform.util.MiniBatchKMeans;
+import com.jithin.ai_content_platform.util.WordVectorModel;
 import edu.stanford.nlp.ling.CoreAnnotations;
 import edu.stanford.nlp.neural.rnn.RNNCoreAnnotations;
 import edu.stanford.nlp.pipeline.Annotation;
@@ -23,14 +26,10 @@ import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
 import edu.stanford.nlp.trees.Tree;
 import edu.stanford.nlp.util.CoreMap;
 import lombok.extern.slf4j.Slf4j;
-import java.io.IOException;
 import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
 import org.deeplearning4j.models.word2vec.Word2Vec;
-import org.deeplearning4j.text.sentenceiterator.BasicLineIterator;
+import org.deeplearning4j.text.sentenceiterator.CollectionSentenceIterator;
 import org.deeplearning4j.text.sentenceiterator.SentenceIterator;
-import org.deeplearning4j.text.tokenization.tokenizer.preprocessor.CommonPreprocessor;
-import org.deeplearning4j.text.tokenization.tokenizerfactory.DefaultTokenizerFactory;
-import org.deeplearning4j.text.tokenization.tokenizerfactory.TokenizerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,9 +45,10 @@ import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
 
-import java.io.BufferedWriter;
+import javax.sql.DataSource;
+
 import java.io.File;
-import java.io.FileWriter;
+import java.nio.file.Paths;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -81,6 +81,9 @@ public class TrendAnalysisService {
     @Autowired
     private DynamicTrendWeightService dynamicTrendWeightService;
 
+    @Autowired
+    private ContextAwareSentimentService contextAwareSentimentService;
+
     @Value("${content.strategy.trend.weight}")
     private double trendWeight;
 
@@ -100,26 +103,68 @@ public class TrendAnalysisService {
 private int defaultLimit;
 
     private final StanfordCoreNLP pipeline;
-    private Word2Vec word2Vec;
+    private static final String WORD2VEC_MODEL_FILE = "word2vec.model";
+    private static final String WORD2VEC_VECTORS_FILE = "word2vec.vectors";
+
+    // Memory-mapped export of the trend model; the DL4J model is only held while training
+    private final AtomicReference<WordVectorModel> wordVectors = new AtomicReference<>();
+
+    @Autowired
+    private EnhancedWord2VecService enhancedWord2VecService;
+
+    @Autowired
+    private Word2VecTrainingService trainingService;
 
     @Autowired
-    public TrendAnalysisService(ObjectMapper objectMapper) {
+    private ContentVectorIndex contentVectorIndex;
+
+    @Autowired
+    private IndustryModelManager industryModelManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${word2vec.training.fetch-size:500}")
+    private int trainingFetchSize;
+
+    // Initial trend corpus, streamed through a cursor rather than loaded or copied to a file
+    private static final String INITIAL_CORPUS_SQL =
+            "SELECT content_body FROM content UNION ALL SELECT topic FROM trend_data";
+
+    // Topic clustering: mini-batch k-means settings and the correlation that counts as significant
+    private static final int TOPIC_CLUSTER_BATCH_SIZE = 256;
+    private static final int TOPIC_CLUSTER_ITERATIONS = 100;
+    private static final double TOPIC_CORRELATION_THRESHOLD = 0.5;
+    // Series are clustered over a window that nearly all of them cover, but at least this long
+    private static final double TOPIC_WINDOW_PERCENTILE = 0.1;
+    private static final int TOPIC_MIN_WINDOW = 3;
+
+    // Keyword lookups return at most this many semantically related items above the score floor
+    private static final int RELATED_CONTENT_LIMIT = 50;
+    private static final double RELATED_CONTENT_MIN_SCORE = 0.3;
+
+    @Autowired
+    public TrendAnalysisService(ObjectMapper objectMapper, NlpPipelineRegistry nlpPipelineRegistry) {
         this.objectMapper = objectMapper;
 
-        // Initialize Stanford NLP pipeline
-        Properties props = new Properties();
-        props.setProperty("annotators", "tokenize, ssplit, parse, sentiment");
-        this.pipeline = new StanfordCoreNLP(props);
+        // Shared pipeline with the CoreNLP defaults this service has always used
+        this.pipeline = nlpPipelineRegistry.getPipeline(NlpPipelineRegistry.Profile.SENTIMENT_FAST,
+                NlpPipelineRegistry.Settings.DEFAULTS);
     }
 
     @PostConstruct
     public void init() {
         try {
             // Initialize Word2Vec model with enhanced error handling
-            File modelFile = new File("word2vec.model");
-            if (modelFile.exists()) {
+            File modelFile = new File(WORD2VEC_MODEL_FILE);
+            File vectorsFile = new File(WORD2VEC_VECTORS_FILE);
+            if (vectorsFile.exists() && (!modelFile.exists() || vectorsFile.lastModified() >= modelFile.lastModified())) {
+                wordVectors.set(WordVectorModel.open(vectorsFile.toPath(), enhancedWord2VecService.indexSettings()));
+                logger.info("Mapped {} word vectors from {}", wordVectors.get().size(), WORD2VEC_VECTORS_FILE);
+            } else if (modelFile.exists()) {
                 try {
-                    word2Vec = WordVectorSerializer.readWord2VecModel(modelFile);
+                    Word2Vec word2Vec = WordVectorSerializer.readWord2VecModel(modelFile);
+                    wordVectors.set(WordVectorModel.publish(word2Vec, vectorsFile.toPath(), enhancedWord2VecService.indexSettings()));
                     logger.info("Successfully loaded existing Word2Vec model");
                 } catch (Exception e) {
                     logger.error("Error loading existing Word2Vec model, will attempt to retrain", e);
@@ -136,16 +181,18 @@ private int defaultLimit;
 
     private void initializeNewModel() {
         try {
-            // Get existing content or create sample if none exists
-            List<Content> initialContent = contentRepository.findAll();
-            if (initialContent.isEmpty()) {
+            // Stream existing content or use a sample if none exists
+            SentenceIterator sentences;
+            if (contentRepository.count() == 0) {
                 logger.info("No existing content found, using sample data for initial model training");
-                initialContent = Collections.singletonList(createSampleContent());
+                sentences = new CollectionSentenceIterator(
+                        Collections.singletonList(createSampleContent().getContentBody()));
+            } else {
+                sentences = new JdbcSentenceIterator(dataSource, trainingFetchSize, INITIAL_CORPUS_SQL);
             }
-            
-            String corpusFile = createTemporaryCorpus(initialContent);
-            trainWordEmbeddings(corpusFile);
-            logger.info("Successfully trained new Word2Vec model");
+
+            trainWordEmbeddings(sentences);
+            logger.info("Scheduled training of a new Word2Vec model");
         } catch (Exception e) {
             logger.error("Failed to initialize new Word2Vec model", e);
         }
@@ -244,6 +291,13 @@ private int defaultLimit;
         Map<String, Map<String, Object>> trendScores = new HashMap<>();
         Map<String, Double> sentimentScores = new HashMap<>();
 
+        // Annotate the whole batch up front on all cores rather than one parse per item
+        List<Double> batchSentiments = batchSentimentScores(contentBatch);
+        for (int i = 0; i < contentBatch.size(); i++) {
+            Double sentiment = batchSentiments.get(i);
+            sentimentScores.merge(contentBatch.get(i).getCategory(), sentiment != null ? sentiment : 0.0, Double::sum);
+        }
+
         contentBatch.parallelStream().forEach(content -> {
             try {
                 // Process trend scores
@@ -278,12 +332,6 @@ private int defaultLimit;
                         return merged;
                     }));
                 }
-
-                // Process sentiment
-                double sentiment = analyzeSentimentScore(content);
-                synchronized (sentimentScores) {
-                    sentimentScores.merge(content.getCategory(), sentiment, Double::sum);
-                }
             } catch (Exception e) {
                 logger.error("Error processing content item: {}", content.getId(), e);
             }
@@ -425,7 +473,7 @@ if (dates.size() >= 30) {
 List<Content> relatedContent = contentRepository.findByCategoryAndContentType(keyword, "article");
 if (relatedContent.isEmpty()) {
     // Try broader search
-    relatedContent = contentRepository.findByTitleContainingOrContentBodyContaining(keyword, keyword);
+    relatedContent = findRelatedContent(keyword);
 }
 if (!relatedContent.isEmpty()) {
     double score = calculateEngagementScore(relatedContent);
@@ -671,78 +719,43 @@ if (!relatedContent.isEmpty()) {
 
     public void trainModelWithTrendingTopics(List<String> trendingTopics) {
     try {
-        // Prepare corpus from trending topics
-        String corpusFile = prepareCorpusFromTopics(trendingTopics);
-        
-        // Train the Word2Vec model
-        trainWordEmbeddings(corpusFile);
+        // Train the Word2Vec model on a private copy of the topics
+        trainWordEmbeddings(new CollectionSentenceIterator(new ArrayList<>(trendingTopics)));
     } catch (Exception e) {
         logger.error("Error training Word2Vec model with trending topics", e);
     }
 }
 
-private String prepareCorpusFromTopics(List<String> topics) throws IOException {
-    File corpusFile = new File("corpus.txt");
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(corpusFile))) {
-        for (String topic : topics) {
-            writer.write(topic);
-            writer.newLine();
-        }
-    }
-    return corpusFile.getAbsolutePath();
-}
-
-    private String createTemporaryCorpus(List<Content> content) throws Exception {
-        File tempFile = File.createTempFile("content_corpus", ".txt");
-        try (FileWriter writer = new FileWriter(tempFile)) {
-            for (Content c : content) {
-                writer.write(c.getContentBody() + "\n");
-            }
+    // Nearest content from the vector index, falling back to a substring scan until it is loaded
+    private List<Content> findRelatedContent(String keyword) {
+        if (contentVectorIndex.isReady()) {
+            return contentVectorIndex.findSimilarContent(keyword, RELATED_CONTENT_LIMIT,
+                    ContentVectorIndex.Filter.any().minScore(RELATED_CONTENT_MIN_SCORE));
         }
-        return tempFile.getAbsolutePath();
+        return contentRepository.findByTitleContainingOrContentBodyContaining(keyword, keyword);
     }
 
-    private void trainWordEmbeddings(String corpusFile) throws Exception {
-        logger.info("Training word embeddings...");
+    // Trains in the background; lookups keep using the current vectors until the new ones are published
+    private void trainWordEmbeddings(SentenceIterator sentences) throws Exception {
+        logger.info("Scheduling word embeddings training...");
 
-        SentenceIterator iter = new BasicLineIterator(corpusFile);
-        TokenizerFactory t = new DefaultTokenizerFactory();
-        t.setTokenPreProcessor(new CommonPreprocessor());
-
-        word2Vec = new Word2Vec.Builder()
-                .minWordFrequency(2)
-                .iterations(5)
-                .layerSize(100)
-                .seed(42)
-                .windowSize(5)
-                .iterate(iter)
-                .tokenizerFactory(t)
-                .build();
-
-        word2Vec.fit();
-
-        // Save the model for future use
-        WordVectorSerializer.writeWord2VecModel(word2Vec, "word2vec.model");
-        logger.info("Word embeddings training completed");
+        Word2VecTrainingService.TrainingJob job = new Word2VecTrainingService.TrainingJob(
+                "trends", sentences, Paths.get(WORD2VEC_MODEL_FILE), Paths.get(WORD2VEC_VECTORS_FILE),
+                100, 5, 2, 1, enhancedWord2VecService.indexSettings());
+        trainingService.submit(job, wordVectors)
+                .thenAccept(model -> logger.info("Word embeddings training completed with {} words", model.size()));
     }
 
     private Map<String, Double> analyzeSentimentDistribution(List<Content> content) {
         Map<String, Double> distribution = new HashMap<>();
         int totalContent = content.size();
 
-        // Count sentiment occurrences
+        // Count sentiment occurrences from the typed sentiment class
         Map<String, Integer> sentimentCounts = content.stream()
-                .map(c -> {
-                    try {
-                        return objectMapper.readTree(c.getAnalyzedSentiment());
-                    } catch (JsonProcessingException e) {
-                        logger.error("Error parsing sentiment", e);
-                        return null;
-                    }
-                })
+                .map(Content::getSentimentClass)
                 .filter(Objects::nonNull)
                 .collect(Collectors.groupingBy(
-                        node -> node.fieldNames().next(),
+                        sentiment -> sentiment,
                         Collectors.collectingAndThen(
                                 Collectors.counting(),
                                 Long::intValue
@@ -756,6 +769,38 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
         return distribution;
     }
 
+    /**
+     * Sentiment distribution and summary statistics for a category, aggregated in the database.
+     */
+    public Map<String, Object> getCategorySentimentSummary(String category) {
+        Map<String, Object> summary = new HashMap<>();
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            long total = 0;
+            for (Object[] row : contentRepository.countBySentimentClass(category)) {
+                long count = ((Number) row[1]).longValue();
+                counts.put((String) row[0], count);
+                total += count;
+            }
+            Map<String, Double> distribution = new HashMap<>();
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                distribution.put(entry.getKey(), (double) entry.getValue() / total);
+            }
+            summary.put("distribution", distribution);
+
+            ContentRepository.SentimentStats stats = contentRepository.sentimentStatsByCategory(category);
+            if (stats != null) {
+                summary.put("averageSentiment", stats.getAverage());
+                summary.put("sentimentStdDev", stats.getStdDev());
+                summary.put("averageConfidence", stats.getAverageConfidence());
+                summary.put("analyzedCount", stats.getCount());
+            }
+        } catch (Exception e) {
+            logger.error("Error aggregating sentiment for category {}: {}", category, e.getMessage());
+        }
+        return summary;
+    }
+
     private double analyzeSentimentScore(Content content) {
         String contentText = content.getContentBody();
         if (contentText == null || contentText.isEmpty()) {
@@ -763,33 +808,63 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
         }
 
         try {
-            Annotation annotation = new Annotation(contentText);
-            pipeline.annotate(annotation);
-
-            double totalSentiment = 0;
-            int count = 0;
+            return overallSentiment(contextAwareSentimentService.analyzeContextAwareSentiment(contentText));
+        } catch (Exception e) {
+            logger.error("Error analyzing sentiment: {}", e.getMessage());
+            return 0.0;
+        }
+    }
 
-            for (CoreMap sentence : annotation.get(CoreAnnotations.SentencesAnnotation.class)) {
-                Tree tree = sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class);
-                int sentiment = RNNCoreAnnotations.getPredictedClass(tree);
-                totalSentiment += sentiment;
-                count++;
+    /**
+     * Sentiment score per content item, always the weighted overall_sentiment of the full
+     * context-aware analysis. Items analyzed at generation time use their stored
+     * sentiment_score; unchanged documents come from the NLP result cache and the rest are
+     * annotated as one multi-threaded batch.
+     */
+    private List<Double> batchSentimentScores(List<Content> contents) {
+        try {
+            List<Double> scores = new ArrayList<>(Collections.nCopies(contents.size(), null));
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < contents.size(); i++) {
+                Double stored = contents.get(i).getSentimentScore();
+                if (stored != null) {
+                    scores.set(i, stored);
+                } else {
+                    missing.add(i);
+                }
+            }
+            if (missing.isEmpty()) {
+                return scores;
             }
 
-            return count > 0 ? totalSentiment / count : 0.0;
+            List<String> texts = missing.stream()
+                .map(i -> contents.get(i).getContentBody())
+                .collect(Collectors.toList());
+            List<Map<String, Object>> analyses = contextAwareSentimentService.analyzeContextAwareSentimentBatch(
+                texts, EnumSet.allOf(ContextAwareSentimentService.Output.class));
+            for (int j = 0; j < missing.size(); j++) {
+                scores.set(missing.get(j), overallSentiment(analyses.get(j)));
+            }
+            return scores;
         } catch (Exception e) {
-            logger.error("Error analyzing sentiment: {}", e.getMessage());
-            return 0.0;
+            logger.error("Error batch analyzing sentiment: {}", e.getMessage());
+            return contents.stream().map(this::analyzeSentimentScore).collect(Collectors.toList());
         }
     }
 
+    // Same measure as the stored sentiment_score (see Content.applySentimentSummary)
+    private static double overallSentiment(Map<String, Object> analysis) {
+        Object score = analysis == null ? null : analysis.get("overall_sentiment");
+        return score instanceof Number ? ((Number) score).doubleValue() : 0.0;
+    }
+
     public double getAverageSentiment(List<Content> contents) {
         if (contents == null || contents.isEmpty()) {
             return 0.0;
         }
 
-        return contents.stream()
-                .mapToDouble(this::analyzeSentimentScore)
+        return batchSentimentScores(contents).stream()
+                .mapToDouble(score -> score != null ? score : 0.0)
                 .average()
                 .orElse(0.0);
     }
@@ -1159,7 +1234,7 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
         ));
 
         // Analyze historical content performance
-        List<Content> relatedContent = contentRepository.findByContentBodyContaining(keyword);
+        List<Content> relatedContent = findRelatedContent(keyword);
 
         // Calculate opportunity score
         double opportunityScore = calculateOpportunityScore(trendData, relatedContent);
@@ -1217,8 +1292,8 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
     private double calculateAverageSentiment(List<Content> content) {
         if (content.isEmpty()) return 0.5;
 
-        return content.stream()
-                .mapToDouble(this::analyzeSentimentScore)
+        return batchSentimentScores(content).stream()
+                .mapToDouble(score -> score != null ? score : 0.0)
                 .average()
                 .orElse(0.5);
     }
@@ -1370,8 +1445,10 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
      * 3. Cross-industry correlation analysis
      * 4. Competitive intelligence gathering
      * 5. Sentiment-based market signals
+     * Embedding results come from the industry's last trained model. While its first model is
+     * still training they are empty, the result carries a modelStatus and is not cached.
      */
-    @Cacheable(value = "industryTrends", key = "#industry")
+    @Cacheable(value = "industryTrends", key = "#industry", unless = "#result.containsKey('modelStatus')")
     public Map<String, Object> getIndustryTrends(String industry) {
         logger.info("Analyzing trends for industry: {}", industry);
         Map<String, Object> trends = new HashMap<>();
@@ -1380,22 +1457,30 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
             // Get recent content for semantic analysis
             List<Content> recentContent = contentRepository.findContentFromLastNHours(LocalDateTime.now().minusHours(720)); // Last 30 days
 
-            // Train industry-specific word embeddings
-            Word2Vec industryModel = trainIndustrySpecificModel(recentContent, industry);
-
-            // Extract emerging concepts using word embeddings
-            Map<String, Double> emergingConcepts = findEmergingConcepts(industryModel, industry);
+            // Industry-specific word embeddings, trained in the background
+            WordVectorModel industryModel = industryModelManager.getModel(industry);
+            String industryTerm = industry.trim().toLowerCase();
+
+            Map<String, Double> emergingConcepts = new HashMap<>();
+            Map<String, Double> crossIndustryImpact = new HashMap<>();
+            Map<String, Double> contentGaps = new HashMap<>();
+            if (industryModel != null) {
+                // Extract emerging concepts using word embeddings
+                emergingConcepts = findEmergingConcepts(industryModel, industryTerm);
+
+                // Analyze cross-industry influences
+                crossIndustryImpact = analyzeCrossIndustryImpact(industryTerm, industryModel);
+
+                // Generate content recommendations
+                contentGaps = identifyContentOpportunities(
+                        recentContent,
+                        industryTerm,
+                        industryModel);
+            } else {
+                trends.put("modelStatus", industryModelManager.getStatus(industry));
+            }
             trends.put("emergingConcepts", emergingConcepts);
-
-            // Analyze cross-industry influences
-            Map<String, Double> crossIndustryImpact = analyzeCrossIndustryImpact(industry, industryModel);
             trends.put("crossIndustryImpact", crossIndustryImpact);
-
-            // Generate content recommendations
-            Map<String, Double> contentGaps = identifyContentOpportunities(
-                    recentContent,
-                    industry,
-                    industryModel);
             trends.put("contentOpportunities", contentGaps);
 
             // Predict trend lifecycle stages
@@ -1423,39 +1508,9 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
         return trends;
     }
 
-    private Word2Vec trainIndustrySpecificModel(List<Content> content, String industry) throws Exception {
-        // Create temporary corpus file
-        File tempFile = File.createTempFile("industry_corpus", ".txt");
-        try (FileWriter writer = new FileWriter(tempFile)) {
-            for (Content c : content) {
-                writer.write(c.getContentBody() + "\n");
-            }
-        }
-
-        // Configure Word2Vec
-        TokenizerFactory t = new DefaultTokenizerFactory();
-        t.setTokenPreProcessor(new CommonPreprocessor());
-
-        SentenceIterator iterator = new BasicLineIterator(tempFile);
-
-        // Build model
-        Word2Vec vec = new Word2Vec.Builder()
-                .minWordFrequency(2)
-                .iterations(5)
-                .layerSize(100)
-                .seed(42)
-                .windowSize(5)
-                .iterate(iterator)
-                .tokenizerFactory(t)
-                .build();
-
-        vec.fit();
-        return vec;
-    }
-
-    private Map<String, Double> findEmergingConcepts(Word2Vec model, String industry) {
+    private Map<String, Double> findEmergingConcepts(WordVectorModel model, String industry) {
         // Find terms most similar to industry-specific seed words
-        Collection<String> similar = model.wordsNearest(industry, 20);
+        Collection<String> similar = model.nearest(industry, 20);
         Map<String, Double> concepts = new HashMap<>();
 
         for (String term : similar) {
@@ -1466,7 +1521,7 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
         return concepts;
     }
 
-    private Map<String, Double> analyzeCrossIndustryImpact(String industry, Word2Vec model) {
+    private Map<String, Double> analyzeCrossIndustryImpact(String industry, WordVectorModel model) {
         // Define related industries
         List<String> relatedIndustries = Arrays.asList(
                 "technology", "finance", "healthcare", "retail",
@@ -1486,7 +1541,7 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
     private Map<String, Double> identifyContentOpportunities(
             List<Content> content,
             String industry,
-            Word2Vec model) {
+            WordVectorModel model) {
 
         // Analyze existing content coverage
         Set<String> coveredTopics = content.stream()
@@ -1495,7 +1550,7 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
 
         // Find potential opportunities
         Map<String, Double> opportunities = new HashMap<>();
-        Collection<String> industryTerms = model.wordsNearest(industry, 50);
+        Collection<String> industryTerms = model.nearest(industry, 50);
 
         for (String term : industryTerms) {
             boolean isCovered = coveredTopics.stream()
@@ -1555,12 +1610,9 @@ private String prepareCorpusFromTopics(List<String> topics) throws IOException {
 
         List<Double> sentimentScores = new ArrayList<>();
         for (Content content : contents) {
-            // Assuming analyzedSentiment is a numeric string representation of sentiment score
-            try {
-                double score = Double.parseDouble(content.getAnalyzedSentiment());
-                sentimentScores.add(score);
-            } catch (NumberFormatException e) {
-                // Handle case where sentiment cannot be parsed
+            // Typed score written at analysis time; content never analyzed is skipped
+            if (content.getSentimentScore() != null) {
+                sentimentScores.add(content.getSentimentScore());
             }
         }
 
@@ -1892,8 +1944,9 @@ public List<String> findRelatedKeywords(String topic) {
         }
 
         // Fallback to word2vec if no recent data is available
-        if (word2Vec != null) {
-            List<String> keywords = word2Vec.wordsNearest(topic, 5).stream()
+        WordVectorModel vectors = wordVectors.get();
+        if (vectors != null) {
+            List<String> keywords = vectors.nearest(topic, 5).stream()
                 .map(String::toLowerCase)
                 .collect(Collectors.toList());
             
@@ -2270,38 +2323,52 @@ public List<String> findRelatedKeywords(String topic) {
         Map<String, Object> relationships = new HashMap<>();
         
         try {
-            // Calculate correlations between topics
-            Map<String, Map<String, Double>> correlations = new HashMap<>();
-            List<String> topics = new ArrayList<>(sentimentSeries.keySet());
-
-            for (int i = 0; i < topics.size(); i++) {
-                String topic1 = topics.get(i);
-                Map<String, Double> topicCorrelations = new HashMap<>();
-
-                for (int j = i + 1; j < topics.size(); j++) {
-                    String topic2 = topics.get(j);
-                    List<Double> series1 = sentimentSeries.get(topic1);
-                    List<Double> series2 = sentimentSeries.get(topic2);
-
-                    // Calculate correlation coefficient
-                    double correlation = calculateCorrelation(series1, series2);
-                    if (Math.abs(correlation) > 0.5) { // Only include significant correlations
-                        topicCorrelations.put(topic2, correlation);
+            // Compare series over a common window of their latest values as unit vectors,
+            // whose dot product is the Pearson correlation and whose distance shrinks as it
+            // grows. The window is a low percentile of the series lengths, so one short series
+            // cannot cut every other one down; the few series shorter than the window are
+            // compared with the clusters over their own length instead.
+            int[] lengths = sentimentSeries.values().stream()
+                    .mapToInt(List::size)
+                    .filter(size -> size >= 2)
+                    .sorted()
+                    .toArray();
+            int length = lengths.length == 0 ? 0 : Math.max(
+                    lengths[(int) (TOPIC_WINDOW_PERCENTILE * (lengths.length - 1))],
+                    Math.min(TOPIC_MIN_WINDOW, lengths[lengths.length - 1]));
+            List<String> topics = new ArrayList<>();
+            List<double[]> rows = new ArrayList<>();
+            Map<String, List<Double>> shortSeries = new HashMap<>();
+            if (length >= 2) {
+                for (Map.Entry<String, List<Double>> entry : sentimentSeries.entrySet()) {
+                    int size = entry.getValue().size();
+                    if (size < 2) {
+                        continue;
+                    }
+                    if (size < length) {
+                        shortSeries.put(entry.getKey(), entry.getValue());
+                        continue;
+                    }
+                    double[] row = standardizeSeries(entry.getValue(), length);
+                    if (row != null) {
+                        topics.add(entry.getKey());
+                        rows.add(row);
                     }
-                }
-
-                if (!topicCorrelations.isEmpty()) {
-                    correlations.put(topic1, topicCorrelations);
                 }
             }
 
             // Identify topic clusters
-            List<Map<String, Object>> clusters = identifyTopicClusters(correlations);
+            Map<String, Map<String, Double>> correlations = new HashMap<>();
+            List<Map<String, Object>> clusters = identifyTopicClusters(
+                    topics, rows.toArray(new double[0][]), shortSeries, sentimentSeries, correlations);
             
             relationships.put("correlations", correlations);
             relationships.put("clusters", clusters);
             relationships.put("analysisTimestamp", LocalDateTime.now());
             relationships.put("dataPoints", sentimentSeries.size());
+            relationships.put("windowLength", length);
+            relationships.put("topicsCompared", topics.size());
+            relationships.put("topicsShorterThanWindow", shortSeries.size());
             
         } catch (Exception e) {
             logger.error("Error analyzing cross-topic relationships", e);
@@ -2310,58 +2377,154 @@ public List<String> findRelatedKeywords(String topic) {
         return relationships;
     }
 
-    private double calculateCorrelation(List<Double> series1, List<Double> series2) {
-        int n = Math.min(series1.size(), series2.size());
-        if (n < 2) return 0.0;
+    // Last length values centred and scaled to unit length, or null for a flat series
+    private static double[] standardizeSeries(List<Double> series, int length) {
+        double[] row = new double[length];
+        double mean = 0.0;
+        int offset = series.size() - length;
+        for (int i = 0; i < length; i++) {
+            row[i] = series.get(offset + i);
+            mean += row[i];
+        }
+        mean /= length;
+
+        double sumSq = 0.0;
+        for (int i = 0; i < length; i++) {
+            row[i] -= mean;
+            sumSq += row[i] * row[i];
+        }
+        if (sumSq == 0) {
+            return null;
+        }
+        double norm = Math.sqrt(sumSq);
+        for (int i = 0; i < length; i++) {
+            row[i] /= norm;
+        }
+        return row;
+    }
+
+    /**
+     * Groups topics with mini-batch k-means over their standardized series, keeping members
+     * whose correlation with the cluster centroid is significant. Each cluster is centred on
+     * the member closest to its centroid, and only correlations with that topic are recorded.
+     * k-means only groups topics that move together, so every topic is also checked against
+     * each central topic for a significant negative correlation; with k near sqrt(n / 2) the
+     * pass stays well under the all-pairs cost. Series shorter than the window join the
+     * cluster whose central topic they correlate with best over their own length.
+     */
+    private List<Map<String, Object>> identifyTopicClusters(List<String> topics, double[][] points,
+                                                            Map<String, List<Double>> shortSeries,
+                                                            Map<String, List<Double>> sentimentSeries,
+                                                            Map<String, Map<String, Double>> correlations) {
+        List<Map<String, Object>> clusters = new ArrayList<>();
+        if (points.length < 2) {
+            return clusters;
+        }
 
-        double sum1 = 0.0, sum2 = 0.0, sum1Sq = 0.0, sum2Sq = 0.0, pSum = 0.0;
+        int k = Math.max(1, (int) Math.round(Math.sqrt(points.length / 2.0)));
+        MiniBatchKMeans.Result result = MiniBatchKMeans.cluster(
+                points, k, TOPIC_CLUSTER_BATCH_SIZE, TOPIC_CLUSTER_ITERATIONS, 42);
+        double[][] centroids = result.getCentroids();
 
-        for (int i = 0; i < n; i++) {
-            double x = series1.get(i);
-            double y = series2.get(i);
-            sum1 += x;
-            sum2 += y;
-            sum1Sq += x * x;
-            sum2Sq += y * y;
-            pSum += x * y;
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        int[] assignments = result.getAssignments();
+        for (int i = 0; i < assignments.length; i++) {
+            groups.computeIfAbsent(assignments[i], c -> new ArrayList<>()).add(i);
         }
 
-        double num = (n * pSum) - (sum1 * sum2);
-        double den = Math.sqrt(((n * sum1Sq) - (sum1 * sum1)) * ((n * sum2Sq) - (sum2 * sum2)));
+        groups.forEach((c, members) -> {
+            double[] centroid = centroids[c];
+            double centroidNorm = Math.sqrt(dotProduct(centroid, centroid));
+            if (members.size() < 2 || centroidNorm == 0) {
+                return;
+            }
 
-        return den == 0 ? 0.0 : num / den;
-    }
+            // Members ordered by correlation with the centroid, weakest dropped
+            Map<Integer, Double> closeness = new HashMap<>();
+            for (int member : members) {
+                double correlation = dotProduct(points[member], centroid) / centroidNorm;
+                if (correlation > TOPIC_CORRELATION_THRESHOLD) {
+                    closeness.put(member, correlation);
+                }
+            }
+            if (closeness.size() < 2) {
+                return;
+            }
+            List<Integer> ordered = new ArrayList<>(closeness.keySet());
+            ordered.sort((a, b) -> Double.compare(closeness.get(b), closeness.get(a)));
 
-    private List<Map<String, Object>> identifyTopicClusters(Map<String, Map<String, Double>> correlations) {
-        List<Map<String, Object>> clusters = new ArrayList<>();
-        Set<String> processedTopics = new HashSet<>();
-
-        correlations.forEach((topic, related) -> {
-            if (!processedTopics.contains(topic)) {
-                Map<String, Object> cluster = new HashMap<>();
-                List<String> members = new ArrayList<>();
-                members.add(topic);
-
-                related.forEach((relatedTopic, correlation) -> {
-                    if (!processedTopics.contains(relatedTopic)) {
-                        members.add(relatedTopic);
-                        processedTopics.add(relatedTopic);
-                    }
-                });
+            int central = ordered.get(0);
+            Map<String, Double> topicCorrelations = new HashMap<>();
+            List<String> clusterTopics = new ArrayList<>();
+            for (int member : ordered) {
+                clusterTopics.add(topics.get(member));
+                double correlation = dotProduct(points[member], points[central]);
+                if (member != central && Math.abs(correlation) > TOPIC_CORRELATION_THRESHOLD) {
+                    topicCorrelations.put(topics.get(member), correlation);
+                }
+            }
 
-                if (members.size() > 1) {
-                    cluster.put("topics", members);
-                    cluster.put("size", members.size());
-                    cluster.put("centralTopic", topic);
-                    clusters.add(cluster);
+            // Topics that move against the cluster, wherever k-means put them
+            List<String> opposingTopics = new ArrayList<>();
+            for (int other = 0; other < points.length; other++) {
+                double correlation = dotProduct(points[other], points[central]);
+                if (correlation < -TOPIC_CORRELATION_THRESHOLD) {
+                    topicCorrelations.put(topics.get(other), correlation);
+                    opposingTopics.add(topics.get(other));
                 }
-                processedTopics.add(topic);
             }
+            correlations.put(topics.get(central), topicCorrelations);
+
+            Map<String, Object> cluster = new HashMap<>();
+            cluster.put("topics", clusterTopics);
+            cluster.put("centralTopic", topics.get(central));
+            cluster.put("opposingTopics", opposingTopics);
+            cluster.put("cohesion", closeness.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0));
+            clusters.add(cluster);
         });
 
+        shortSeries.forEach((topic, series) -> {
+            double[] row = standardizeSeries(series, series.size());
+            if (row == null) {
+                return;
+            }
+            Map<String, Object> best = null;
+            double bestCorrelation = TOPIC_CORRELATION_THRESHOLD;
+            for (Map<String, Object> cluster : clusters) {
+                String central = (String) cluster.get("centralTopic");
+                double[] centralRow = standardizeSeries(sentimentSeries.get(central), series.size());
+                if (centralRow == null) {
+                    continue;
+                }
+                double correlation = dotProduct(row, centralRow);
+                if (correlation < -TOPIC_CORRELATION_THRESHOLD) {
+                    correlations.get(central).put(topic, correlation);
+                    ((List<String>) cluster.get("opposingTopics")).add(topic);
+                } else if (correlation > bestCorrelation) {
+                    best = cluster;
+                    bestCorrelation = correlation;
+                }
+            }
+            if (best != null) {
+                ((List<String>) best.get("topics")).add(topic);
+                correlations.get((String) best.get("centralTopic")).put(topic, bestCorrelation);
+            }
+        });
+
+        clusters.forEach(cluster -> cluster.put("size", ((List<?>) cluster.get("topics")).size()));
+        correlations.values().removeIf(Map::isEmpty);
+        clusters.sort((a, b) -> Integer.compare((Integer) b.get("size"), (Integer) a.get("size")));
         return clusters;
     }
 
+    private static double dotProduct(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int d = 0; d < a.length; d++) {
+            sum += a[d] * b[d];
+        }
+        return sum;
+    }
+
     private Map<String, Object> identifyOpportunities(
             Map<String, Object> topicEvolution,
             Map<String, Object> topicRelationships,
@@ -2823,10 +2986,11 @@ public List<String> findRelatedKeywords(String topic) {
     private Map<String, Double> analyzeTopicRelations(String topic) {
         Map<String, Double> relations = new HashMap<>();
         try {
-            if (word2Vec != null) {
-                Collection<String> nearestWords = word2Vec.wordsNearest(topic, 10);
+            WordVectorModel vectors = wordVectors.get();
+            if (vectors != null) {
+                Collection<String> nearestWords = vectors.nearest(topic, 10);
                 for (String word : nearestWords) {
-                    double similarity = word2Vec.similarity(topic, word);
+                    double similarity = vectors.similarity(topic, word);
                     if (similarity > 0.3) { // Only include strong relationships
                     relations.put(word, similarity);
                 }
@@ -0,0 +1,325 @@
+package com.jithin.ai_content_platform.service;
+
+import com.jithin.ai_content_platform.util.WordVectorModel;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.models.embeddings.loader.WordVectorSerializer;
+import org.deeplearning4j.models.word2vec.Word2Vec;
+import org.deeplearning4j.text.sentenceiterator.BasicLineIterator;
+import org.deeplearning4j.text.sentenceiterator.SentenceIterator;
+import org.deeplearning4j.text.tokenization.tokenizer.preprocessor.CommonPreprocessor;
+import org.deeplearning4j.text.tokenization.tokenizerfactory.DefaultTokenizerFactory;
+import org.deeplearning4j.text.tokenization.tokenizerfactory.TokenizerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Trains Word2Vec models off the caller's thread. Each job fits a fresh model on the
+ * training executor, validates it, writes the serialized model to a temporary file that
+ * is renamed into place, exports the mapped vectors and index, and only then swaps the
+ * new {@link WordVectorModel} into the caller's reference. Readers keep using the
+ * previous model until the swap, and a failed job leaves it untouched.
+ */
+@Service
+@Slf4j
+public class Word2VecTrainingService {
+
+    @Autowired
+    @Qualifier("word2VecTrainingExecutor")
+    private ThreadPoolTaskExecutor trainingExecutor;
+
+    // At most one job per model name runs at a time, with at most one follow-up waiting for it
+    private final Map<String, CompletableFuture<WordVectorModel>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, FollowUp> followUps = new HashMap<>();
+    private final Map<String, LocalDateTime> lastPublished = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong incremental = new AtomicLong();
+
+    /**
+     * Schedules training from the job's corpus. A corpus file is owned by the job and deleted;
+     * a sentence iterator is finished once training ends. If a job for the same model is
+     * already running, this one becomes its follow-up and starts when it finishes. A newer
+     * submission replaces a waiting follow-up, whose corpus is discarded and whose callers
+     * get the newer job's result.
+     */
+    public CompletableFuture<WordVectorModel> submit(TrainingJob job, AtomicReference<WordVectorModel> target) {
+        CompletableFuture<WordVectorModel> pending;
+        synchronized (followUps) {
+            if (inFlight.containsKey(job.name)) {
+                FollowUp replaced = followUps.get(job.name);
+                pending = replaced == null ? new CompletableFuture<>() : replaced.future;
+                followUps.put(job.name, new FollowUp(job, target, pending));
+                coalesced.incrementAndGet();
+                if (replaced != null) {
+                    replaced.job.release();
+                }
+                log.debug("Word2Vec training for {} already running; queued this corpus as its follow-up", job.name);
+                return pending;
+            }
+            pending = new CompletableFuture<>();
+            inFlight.put(job.name, pending);
+        }
+        start(job, target, pending);
+        return pending;
+    }
+
+    private void start(TrainingJob job, AtomicReference<WordVectorModel> target, CompletableFuture<WordVectorModel> pending) {
+        try {
+            trainingExecutor.execute(() -> {
+                try {
+                    WordVectorModel model = train(job);
+                    if (job.onPublished != null) {
+                        job.onPublished.run();
+                    }
+                    target.set(model);
+                    lastPublished.put(job.name, LocalDateTime.now());
+                    published.incrementAndGet();
+                    pending.complete(model);
+                } catch (Throwable e) {
+                    failed.incrementAndGet();
+                    log.error("Word2Vec training for {} failed; keeping the previous model", job.name, e);
+                    pending.completeExceptionally(e);
+                } finally {
+                    job.release();
+                    startFollowUp(job.name);
+                }
+            });
+        } catch (RuntimeException e) {
+            job.release();
+            pending.completeExceptionally(e);
+            startFollowUp(job.name);
+        }
+    }
+
+    // Hands the name over to its waiting follow-up, or frees it
+    private void startFollowUp(String name) {
+        FollowUp next;
+        synchronized (followUps) {
+            next = followUps.remove(name);
+            if (next == null) {
+                inFlight.remove(name);
+                return;
+            }
+            inFlight.put(name, next.future);
+        }
+        start(next.job, next.target, next.future);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", new ArrayList<>(inFlight.keySet()));
+        synchronized (followUps) {
+            stats.put("waiting", new ArrayList<>(followUps.keySet()));
+        }
+        stats.put("published", published.get());
+        stats.put("rejected", rejected.get());
+        stats.put("failed", failed.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("incremental", incremental.get());
+        stats.put("lastPublished", new HashMap<>(lastPublished));
+        return stats;
+    }
+
+    private WordVectorModel train(TrainingJob job) throws Exception {
+        SentenceIterator sentences = job.sentences != null ? job.sentences : new BasicLineIterator(job.corpusFile.toFile());
+        long lineCount = 0;
+        if (job.corpusFile != null) {
+            try (var lines = Files.lines(job.corpusFile)) {
+                lineCount = lines.count();
+            }
+        } else {
+            // Only reads as far as the checks below need, so a streamed corpus is not read in
+            // full an extra time; the iterator re-reads its source on reset
+            long needed = Math.max(job.minLines, job.windowSize);
+            while (lineCount < needed && sentences.hasNext()) {
+                sentences.nextSentence();
+                lineCount++;
+            }
+            sentences.reset();
+        }
+        if (lineCount < job.minLines) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Insufficient training data (" + lineCount + " lines, "
+                + job.minLines + " required)");
+        }
+
+        long started = System.currentTimeMillis();
+        TokenizerFactory tokenizerFactory = new DefaultTokenizerFactory();
+        tokenizerFactory.setTokenPreProcessor(new CommonPreprocessor());
+        Word2Vec model;
+        if (job.incremental && Files.exists(job.modelFile)) {
+            // Continue from the saved weights; only the new corpus is read, and words outside
+            // the existing vocabulary are skipped until the next full rebuild
+            model = WordVectorSerializer.readWord2VecModel(job.modelFile.toFile(), true);
+            model.setTokenizerFactory(tokenizerFactory);
+            model.setSentenceIterator(sentences);
+            incremental.incrementAndGet();
+        } else {
+            model = new Word2Vec.Builder()
+                .minWordFrequency(Math.max(1, job.minWordFrequency))
+                .iterations(5)
+                .layerSize(job.layerSize)
+                .seed(42)
+                .windowSize((int) Math.min(job.windowSize, lineCount))
+                .iterate(sentences)
+                .tokenizerFactory(tokenizerFactory)
+                .build();
+        }
+        model.fit();
+
+        validate(job, model);
+
+        Files.createDirectories(job.modelFile.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(job.modelFile.toAbsolutePath().getParent(), job.modelFile.getFileName().toString(), ".tmp");
+        try {
+            WordVectorSerializer.writeWord2VecModel(model, temp.toFile());
+            Files.move(temp, job.modelFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        WordVectorModel published = WordVectorModel.publish(model, job.vectorsFile, job.indexSettings);
+        log.info("Word2Vec model {} {} on {} lines with {} words in {} ms", job.name,
+            job.incremental ? "updated" : "trained", job.corpusFile != null ? lineCount : ">= " + lineCount,
+            published.size(), System.currentTimeMillis() - started);
+        return published;
+    }
+
+    // A usable model has a vocabulary, the expected width and finite vectors
+    private void validate(TrainingJob job, Word2Vec model) {
+        if (model.getVocab() == null || model.getVocab().numWords() == 0) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Trained model has an empty vocabulary");
+        }
+        int checked = 0;
+        for (String word : model.getVocab().words()) {
+            double[] vector = model.getWordVector(word);
+            if (vector == null || vector.length != job.layerSize) {
+                rejected.incrementAndGet();
+                throw new IllegalStateException("Vector for '" + word + "' has the wrong size");
+            }
+            for (double value : vector) {
+                if (!Double.isFinite(value)) {
+                    rejected.incrementAndGet();
+                    throw new IllegalStateException("Vector for '" + word + "' is not finite");
+                }
+            }
+            if (++checked >= 100) {
+                break;
+            }
+        }
+    }
+
+
+    private static final class FollowUp {
+        private final TrainingJob job;
+        private final AtomicReference<WordVectorModel> target;
+        private final CompletableFuture<WordVectorModel> future;
+
+        private FollowUp(TrainingJob job, AtomicReference<WordVectorModel> target, CompletableFuture<WordVectorModel> future) {
+            this.job = job;
+            this.target = target;
+            this.future = future;
+        }
+    }
+
+    /**
+     * What to train and where to publish it.
+     */
+    public static final class TrainingJob {
+        private final String name;
+        private final Path corpusFile;
+        private final SentenceIterator sentences;
+        private final Path modelFile;
+        private final Path vectorsFile;
+        private final int layerSize;
+        private final int windowSize;
+        private final int minWordFrequency;
+        private final int minLines;
+        private final WordVectorModel.IndexSettings indexSettings;
+        private boolean incremental;
+        private Runnable onPublished;
+
+        public TrainingJob(String name, Path corpusFile, Path modelFile, Path vectorsFile, int layerSize,
+                           int windowSize, int minWordFrequency, int minLines,
+                           WordVectorModel.IndexSettings indexSettings) {
+            this(name, corpusFile, null, modelFile, vectorsFile, layerSize, windowSize, minWordFrequency, minLines, indexSettings);
+        }
+
+        /**
+         * Trains from sentences streamed by the iterator instead of a corpus file. The
+         * iterator must support {@link SentenceIterator#reset()}, as training reads it more
+         * than once. A {@link com.jithin.ai_content_platform.util.JdbcSentenceIterator} holds
+         * a pooled connection for each whole pass, so each training thread can keep one
+         * connection busy for as long as the fit takes.
+         */
+        public TrainingJob(String name, SentenceIterator sentences, Path modelFile, Path vectorsFile, int layerSize,
+                           int windowSize, int minWordFrequency, int minLines,
+                           WordVectorModel.IndexSettings indexSettings) {
+            this(name, null, sentences, modelFile, vectorsFile, layerSize, windowSize, minWordFrequency, minLines, indexSettings);
+        }
+
+        private TrainingJob(String name, Path corpusFile, SentenceIterator sentences, Path modelFile, Path vectorsFile,
+                            int layerSize, int windowSize, int minWordFrequency, int minLines,
+                            WordVectorModel.IndexSettings indexSettings) {
+            this.name = name;
+            this.corpusFile = corpusFile;
+            this.sentences = sentences;
+            this.modelFile = modelFile;
+            this.vectorsFile = vectorsFile;
+            this.layerSize = layerSize;
+            this.windowSize = windowSize;
+            this.minWordFrequency = minWordFrequency;
+            this.minLines = minLines;
+            this.indexSettings = indexSettings;
+        }
+
+        /**
+         * Continue training the saved model on this corpus instead of starting from scratch.
+         */
+        public TrainingJob incremental(boolean incremental) {
+            this.incremental = incremental;
+            return this;
+        }
+
+        /**
+         * Runs on the training thread once the new model is written, before it is swapped in.
+         * Dropped along with the corpus when a newer follow-up replaces the job.
+         */
+        public TrainingJob onPublished(Runnable onPublished) {
+            this.onPublished = onPublished;
+            return this;
+        }
+
+        // Deletes the corpus file or releases whatever the iterator holds open
+        private void release() {
+            if (sentences != null) {
+                sentences.finish();
+            }
+            if (corpusFile == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(corpusFile);
+            } catch (IOException e) {
+                log.debug("Could not delete training corpus {}: {}", corpusFile, e.getMessage());
+            }
+        }
+    }
+}
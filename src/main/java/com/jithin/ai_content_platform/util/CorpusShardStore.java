@@ -0,0 +1,196 @@
+package com.jithin.ai_content_platform.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store of training sentences, one sentence per line, split into numbered
+ * shard files. A small manifest records the last shard folded into the model and how far
+ * the sources have been harvested, so incremental training only reads shards added since
+ * the previous run. Shards are written next to their final name and moved into place.
+ */
+public final class CorpusShardStore {
+
+    private static final Pattern SHARD_NAME = Pattern.compile("shard-(\\d{8})\\.txt");
+    private static final String MANIFEST = "manifest.properties";
+    private static final String TRAINED_THROUGH = "trainedThrough";
+    private static final String HARVESTED_THROUGH = "harvestedThrough";
+
+    private final Path directory;
+    private final Properties manifest = new Properties();
+
+    private CorpusShardStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public static CorpusShardStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        CorpusShardStore store = new CorpusShardStore(directory);
+        Path manifestFile = directory.resolve(MANIFEST);
+        if (Files.exists(manifestFile)) {
+            try (InputStream in = Files.newInputStream(manifestFile)) {
+                store.manifest.load(in);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Writes the sentences as a new shard and returns its id, or -1 when there was nothing
+     * to write. Line breaks inside a sentence are folded into spaces.
+     */
+    public synchronized long append(Collection<String> sentences) throws IOException {
+        List<String> lines = sentences.stream()
+            .filter(Objects::nonNull)
+            .map(sentence -> RegexPatterns.WHITESPACE.matcher(sentence).replaceAll(" ").trim())
+            .filter(sentence -> !sentence.isEmpty())
+            .collect(Collectors.toList());
+        if (lines.isEmpty()) {
+            return -1;
+        }
+
+        long id = lastShardId() + 1;
+        Path shard = shardPath(id);
+        Path temp = Files.createTempFile(directory, shard.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, shard, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return id;
+    }
+
+    public synchronized List<Long> shardIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> SHARD_NAME.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(matcher -> Long.parseLong(matcher.group(1)))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    public long lastShardId() throws IOException {
+        List<Long> ids = shardIds();
+        return ids.isEmpty() ? 0 : ids.get(ids.size() - 1);
+    }
+
+    /**
+     * Shards added since the last {@link #markTrained(long)}.
+     */
+    public List<Long> pendingShardIds() throws IOException {
+        long trainedThrough = getTrainedThrough();
+        return shardIds().stream().filter(id -> id > trainedThrough).collect(Collectors.toList());
+    }
+
+    public synchronized long getTrainedThrough() {
+        return Long.parseLong(manifest.getProperty(TRAINED_THROUGH, "0"));
+    }
+
+    public synchronized void markTrained(long shardId) throws IOException {
+        if (shardId > getTrainedThrough()) {
+            manifest.setProperty(TRAINED_THROUGH, Long.toString(shardId));
+            saveManifest();
+        }
+    }
+
+    public synchronized LocalDateTime getHarvestedThrough() {
+        String value = manifest.getProperty(HARVESTED_THROUGH);
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    public synchronized void markHarvested(LocalDateTime time) throws IOException {
+        manifest.setProperty(HARVESTED_THROUGH, time.toString());
+        saveManifest();
+    }
+
+    /**
+     * Concatenates the given shards into a new temporary file, which the caller owns.
+     */
+    public Path concatenate(List<Long> shardIds) throws IOException {
+        Path corpus = Files.createTempFile("word2vec_corpus", ".txt");
+        try (OutputStream out = Files.newOutputStream(corpus)) {
+            for (long id : shardIds) {
+                Path shard = shardPath(id);
+                if (Files.exists(shard)) {
+                    Files.copy(shard, out);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(corpus);
+            throw e;
+        }
+        return corpus;
+    }
+
+    public long lineCount(List<Long> shardIds) throws IOException {
+        long lines = 0;
+        for (long id : shardIds) {
+            try (Stream<String> shard = Files.lines(shardPath(id), StandardCharsets.UTF_8)) {
+                lines += shard.count();
+            }
+        }
+        return lines;
+    }
+
+    public Stream<String> lines(long shardId) throws IOException {
+        return Files.lines(shardPath(shardId), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deletes the oldest already-trained shards so that at most {@code maxShards} remain.
+     * Pending shards are never removed.
+     */
+    public synchronized int prune(int maxShards) throws IOException {
+        List<Long> ids = shardIds();
+        long trainedThrough = getTrainedThrough();
+        int removed = 0;
+        for (int i = 0; i < ids.size() - maxShards && ids.get(i) <= trainedThrough; i++) {
+            Files.deleteIfExists(shardPath(ids.get(i)));
+            removed++;
+        }
+        return removed;
+    }
+
+    public Map<String, Object> getStats() throws IOException {
+        List<Long> ids = shardIds();
+        long trainedThrough = getTrainedThrough();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("directory", directory.toString());
+        stats.put("shards", ids.size());
+        stats.put("pendingShards", ids.stream().filter(id -> id > trainedThrough).count());
+        stats.put("trainedThrough", trainedThrough);
+        stats.put("harvestedThrough", getHarvestedThrough());
+        return stats;
+    }
+
+    private Path shardPath(long id) {
+        return directory.resolve(String.format("shard-%08d.txt", id));
+    }
+
+    private void saveManifest() throws IOException {
+        Path manifestFile = directory.resolve(MANIFEST);
+        Path temp = Files.createTempFile(directory, MANIFEST, ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            manifest.store(writer, "Word2Vec corpus shard store");
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
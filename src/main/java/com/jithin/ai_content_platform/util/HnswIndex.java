@@ -0,0 +1,312 @@
+package com.jithin.ai_content_platform.util;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Hierarchical navigable small world graph over the rows of a {@link MappedWordVectors}
+ * store, for approximate cosine nearest-neighbour search. Each row is linked to its
+ * closest rows on layer 0 and, with exponentially decreasing probability, on sparser
+ * upper layers; a query descends greedily from the top layer and then explores layer 0
+ * with a candidate list of size {@code ef}. Larger {@code ef} trades speed for recall.
+ * Neighbours are chosen with the HNSW selection heuristic, which prefers links in
+ * different directions over several links into the same dense region.
+ * Only the graph lives on the heap; vectors are read from the mapped store.
+ */
+public final class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357;
+    private static final int VERSION = 1;
+
+    private final MappedWordVectors vectors;
+    private final int m;
+    private final int[][][] links;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private HnswIndex(MappedWordVectors vectors, int m) {
+        this.vectors = vectors;
+        this.m = m;
+        this.links = new int[vectors.size()][][];
+    }
+
+    /**
+     * Builds the graph by inserting every row. {@code m} is the number of links per node on
+     * upper layers (twice that on layer 0); {@code efConstruction} is the candidate list size
+     * used while linking.
+     */
+    public static HnswIndex build(MappedWordVectors vectors, int m, int efConstruction, long seed) {
+        HnswIndex index = new HnswIndex(vectors, Math.max(2, m));
+        Random random = new Random(seed);
+        double levelFactor = 1.0 / Math.log(index.m);
+        for (int node = 0; node < vectors.size(); node++) {
+            if (vectors.norm(node) == 0) {
+                index.links[node] = new int[][]{new int[0]};
+                continue;
+            }
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelFactor);
+            index.insert(node, level, Math.max(efConstruction, index.m));
+        }
+        return index;
+    }
+
+    public static HnswIndex read(Path file, MappedWordVectors vectors) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an HNSW index file: " + file);
+            }
+            int count = in.readInt();
+            if (count != vectors.size()) {
+                throw new IOException("HNSW index has " + count + " nodes but the store has " + vectors.size());
+            }
+            HnswIndex index = new HnswIndex(vectors, in.readInt());
+            index.entryPoint = in.readInt();
+            index.maxLevel = in.readInt();
+            for (int node = 0; node < count; node++) {
+                int layers = in.readInt();
+                index.links[node] = new int[layers][];
+                for (int layer = 0; layer < layers; layer++) {
+                    int[] neighbours = new int[in.readInt()];
+                    for (int i = 0; i < neighbours.length; i++) {
+                        neighbours[i] = in.readInt();
+                    }
+                    index.links[node][layer] = neighbours;
+                }
+            }
+            return index;
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(links.length);
+            out.writeInt(m);
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+            for (int[][] nodeLinks : links) {
+                out.writeInt(nodeLinks.length);
+                for (int[] neighbours : nodeLinks) {
+                    out.writeInt(neighbours.length);
+                    for (int neighbour : neighbours) {
+                        out.writeInt(neighbour);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Approximate k nearest rows to the query vector, most similar first.
+     */
+    public int[] search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || k <= 0) {
+            return new int[0];
+        }
+        double queryNorm = norm(query);
+        if (queryNorm == 0) {
+            return new int[0];
+        }
+
+        int current = entryPoint;
+        double currentDistance = distance(query, queryNorm, current);
+        for (int layer = maxLevel; layer > 0; layer--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int neighbour : links[current][layer]) {
+                    double d = distance(query, queryNorm, neighbour);
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        PriorityQueue<Candidate> found = searchLayer(query, queryNorm, current, Math.max(ef, k), 0);
+        while (found.size() > k) {
+            found.poll();
+        }
+        int[] result = new int[found.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = found.poll().node;
+        }
+        return result;
+    }
+
+    public int size() {
+        return links.length;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    private void insert(int node, int level, int efConstruction) {
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[0];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = vectors.vector(node);
+        double queryNorm = vectors.norm(node);
+        int current = entryPoint;
+        double currentDistance = distance(query, queryNorm, current);
+        for (int layer = maxLevel; layer > level; layer--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int neighbour : links[current][layer]) {
+                    double d = distance(query, queryNorm, neighbour);
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            PriorityQueue<Candidate> found = searchLayer(query, queryNorm, current, efConstruction, layer);
+            List<Candidate> closest = new ArrayList<>(found);
+            closest.sort(Comparator.comparingDouble(c -> c.distance));
+            current = closest.get(0).node;
+
+            int maxLinks = layer == 0 ? 2 * m : m;
+            int[] neighbours = selectNeighbours(closest, maxLinks);
+            links[node][layer] = neighbours;
+            for (int neighbour : neighbours) {
+                connect(neighbour, node, layer, maxLinks);
+            }
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    // Adds a back link, re-selecting maxLinks neighbours with the heuristic when the list overflows
+    private void connect(int from, int to, int layer, int maxLinks) {
+        int[] existing = links[from][layer];
+        int[] extended = Arrays.copyOf(existing, existing.length + 1);
+        extended[existing.length] = to;
+        if (extended.length > maxLinks) {
+            List<Candidate> candidates = new ArrayList<>(extended.length);
+            for (int neighbour : extended) {
+                candidates.add(new Candidate(neighbour, 1.0 - vectors.cosine(from, neighbour)));
+            }
+            candidates.sort(Comparator.comparingDouble(c -> c.distance));
+            extended = selectNeighbours(candidates, maxLinks);
+        }
+        links[from][layer] = extended;
+    }
+
+    /**
+     * Picks up to {@code max} links from candidates sorted by distance to the base node. A
+     * candidate is taken only when it is closer to the base than to every link taken so far.
+     */
+    private int[] selectNeighbours(List<Candidate> sorted, int max) {
+        int[] selected = new int[Math.min(max, sorted.size())];
+        int count = 0;
+        for (Candidate candidate : sorted) {
+            if (count == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < count && diverse; i++) {
+                diverse = 1.0 - vectors.cosine(candidate.node, selected[i]) > candidate.distance;
+            }
+            if (diverse) {
+                selected[count++] = candidate.node;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    // Returns up to ef closest nodes as a max-heap by distance (farthest at the head)
+    private PriorityQueue<Candidate> searchLayer(float[] query, double queryNorm, int entry, int ef, int layer) {
+        BitSet visited = new BitSet(links.length);
+        visited.set(entry);
+        Candidate start = new Candidate(entry, distance(query, queryNorm, entry));
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+        PriorityQueue<Candidate> found = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.distance).reversed());
+        candidates.add(start);
+        found.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (closest.distance > found.peek().distance && found.size() >= ef) {
+                break;
+            }
+            int[][] nodeLinks = links[closest.node];
+            if (layer >= nodeLinks.length) {
+                continue;
+            }
+            for (int neighbour : nodeLinks[layer]) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                double d = distance(query, queryNorm, neighbour);
+                if (found.size() < ef || d < found.peek().distance) {
+                    Candidate candidate = new Candidate(neighbour, d);
+                    candidates.add(candidate);
+                    found.add(candidate);
+                    if (found.size() > ef) {
+                        found.poll();
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private double distance(float[] query, double queryNorm, int node) {
+        float nodeNorm = vectors.norm(node);
+        if (nodeNorm == 0) {
+            return 2.0;
+        }
+        return 1.0 - vectors.dot(query, node) / (queryNorm * nodeNorm);
+    }
+
+    private static double norm(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static final class Candidate {
+        private final int node;
+        private final double distance;
+
+        private Candidate(int node, double distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+}
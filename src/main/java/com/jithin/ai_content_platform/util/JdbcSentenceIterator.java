@@ -0,0 +1,148 @@
+package com.jithin.ai_content_platform.util;
+
+import org.deeplearning4j.text.sentenceiterator.SentenceIterator;
+import org.deeplearning4j.text.sentenceiterator.SentencePreProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+/**
+ * Training sentences read through a forward-only JDBC cursor, one sentence per row with the
+ * row's text columns joined by spaces. Rows are fetched {@code fetchSize} at a time, so a
+ * pass over a large table never holds more than one batch in memory or writes it to disk.
+ * Each {@link #reset()} re-runs the query for the next pass; the connection is held only
+ * while a pass is in progress and released when it ends or on {@link #finish()}.
+ *
+ * <p>A pass runs at the pace of the consumer, so during training the connection stays
+ * checked out of the pool, inside an open read-only transaction, for as long as Word2Vec
+ * takes over one epoch. Size the pool with one connection per training thread to spare,
+ * and keep the database's idle-in-transaction timeout above the longest epoch. The open
+ * snapshot also holds back vacuum on the content table until the pass ends.
+ */
+public final class JdbcSentenceIterator implements SentenceIterator {
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final Object[] parameters;
+    private final int fetchSize;
+    private SentencePreProcessor preProcessor;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet rows;
+    private String next;
+    private boolean exhausted;
+
+    public JdbcSentenceIterator(DataSource dataSource, int fetchSize, String sql, Object... parameters) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public synchronized String nextSentence() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String sentence = next;
+        next = null;
+        return preProcessor == null ? sentence : preProcessor.preProcess(sentence);
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        while (next == null && !exhausted) {
+            advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public synchronized void reset() {
+        close();
+        next = null;
+        exhausted = false;
+    }
+
+    @Override
+    public synchronized void finish() {
+        close();
+        next = null;
+        exhausted = true;
+    }
+
+    @Override
+    public SentencePreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public void setPreProcessor(SentencePreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    // Reads one row; blank rows leave next unset so the caller reads on
+    private void advance() {
+        try {
+            if (rows == null) {
+                open();
+            }
+            if (!rows.next()) {
+                finish();
+                return;
+            }
+            StringBuilder sentence = new StringBuilder();
+            int columns = rows.getMetaData().getColumnCount();
+            for (int column = 1; column <= columns; column++) {
+                String value = rows.getString(column);
+                if (value != null && !value.isBlank()) {
+                    sentence.append(sentence.length() == 0 ? "" : " ").append(value);
+                }
+            }
+            String folded = RegexPatterns.WHITESPACE.matcher(sentence).replaceAll(" ").trim();
+            next = folded.isEmpty() ? null : folded;
+        } catch (SQLException e) {
+            finish();
+            throw new IllegalStateException("Error reading training sentences", e);
+        }
+    }
+
+    private void open() throws SQLException {
+        connection = dataSource.getConnection();
+        // Drivers such as PostgreSQL only stream with a fetch size outside auto-commit
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+        statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        rows = statement.executeQuery();
+    }
+
+    private void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.setReadOnly(false);
+            connection.setAutoCommit(true);
+        } catch (SQLException ignored) {
+            // The connection is closed below regardless
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Nothing left to release
+        }
+        connection = null;
+        statement = null;
+        rows = null;
+    }
+}
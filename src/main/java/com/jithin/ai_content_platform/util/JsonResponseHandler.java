@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.*;
 import java.util.stream.Collectors;
 
@@ -13,7 +14,23 @@ import java.util.stream.Collectors;
 @Component
 public class JsonResponseHandler {
     
+    // Balanced JSON object up to three levels of nesting
+    private static final Pattern JSON_OBJECT = Pattern.compile("\\{(?:[^{}]*|\\{(?:[^{}]*|\\{[^{}]*\\})*\\})*\\}");
+    private static final Pattern FLAT_JSON_OBJECT = Pattern.compile("\\{[^{}]*\\}");
+    private static final Pattern NON_EMPTY_FLAT_JSON_OBJECT = Pattern.compile("\\{[^{}]+\\}");
+    private static final Pattern MARKDOWN_FENCE = Pattern.compile("`{1,3}(?:json)?\\n?");
+    private static final Pattern BACKTICKS = Pattern.compile("`{1,3}");
+    private static final Pattern FENCE_LANGUAGE_LINE = Pattern.compile("(?m)^\\s*```.*$");
+    private static final Pattern LINE_BREAKS = Pattern.compile("[\\r\\n]+");
+    private static final Pattern KEY_VALUE = Pattern.compile("\\\"|\"([\\w]+)\"\\s*:\\s*(?:(\"{1,2}(?:[^\"\\\\]|\\\\[\"\\\\])*\"{1,2})|([0-9.]+)|\\[([^\\]]*)\\])");
+    private static final Pattern SURROUNDING_QUOTES = Pattern.compile("^\"{1,2}|\"$");
+    private static final Pattern ARRAY_ITEM_QUOTES = Pattern.compile("^\"|\"|\\\\\"|\"");
+    private static final Pattern COMMA = Pattern.compile(",");
+
     private final ObjectMapper objectMapper;
+
+    // One compiled array pattern per field name
+    private final Map<String, Pattern> arrayPatterns = new ConcurrentHashMap<>();
     
     public JsonResponseHandler(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -27,23 +44,14 @@ public class JsonResponseHandler {
      */
     public List<String> extractArray(String jsonString, String arrayField) {
         try {
-            // Pattern that handles nested objects, arrays, and various value types
-            Pattern arrayPattern = Pattern.compile(
-                String.format("\"%s\"\\s*:\\s*\\[\\s*((?:"
-                + "(?:\"{1,2}(?:[^\"\\\\]|\\\\.)*\"{1,2}|" // Strings with escaped quotes
-                + "[0-9.]+|" // Numbers
-                + "true|false|null|" // Booleans and null
-                + "\\{[^{}]*\\}" // Objects
-                + ")\\s*,?\\s*)*" // Multiple values
-                + ")\\s*\\]", arrayField)
-            );
+            Pattern arrayPattern = arrayPatterns.computeIfAbsent(arrayField, JsonResponseHandler::compileArrayPattern);
 
             Matcher arrayMatcher = arrayPattern.matcher(jsonString);
             if (arrayMatcher.find()) {
                 String arrayContent = arrayMatcher.group(1);
-                return Arrays.stream(arrayContent.split("\\s*,\\s*"))
+                return Arrays.stream(RegexPatterns.COMMA_SEPARATOR.split(arrayContent))
                     .map(s -> s.trim())
-                    .map(s -> s.replaceAll("^\"|\"|\\\\\"|\"", ""))
+                    .map(s -> ARRAY_ITEM_QUOTES.matcher(s).replaceAll(""))
                     .filter(s -> !s.isEmpty())
                     .collect(Collectors.toList());
             }
@@ -53,6 +61,19 @@ public class JsonResponseHandler {
             return new ArrayList<>();
         }
     }
+
+    // Pattern that handles nested objects, arrays, and various value types
+    private static Pattern compileArrayPattern(String arrayField) {
+        return Pattern.compile(
+            String.format("\"%s\"\\s*:\\s*\\[\\s*((?:"
+            + "(?:\"{1,2}(?:[^\"\\\\]|\\\\.)*\"{1,2}|" // Strings with escaped quotes
+            + "[0-9.]+|" // Numbers
+            + "true|false|null|" // Booleans and null
+            + "\\{[^{}]*\\}" // Objects
+            + ")\\s*,?\\s*)*" // Multiple values
+            + ")\\s*\\]", arrayField)
+        );
+    }
     
     /**
      * Safely parses and validates JSON response from OpenAI/OpenRouter
@@ -132,8 +153,7 @@ public class JsonResponseHandler {
         }
         
         // First try to find a complete JSON object with proper formatting
-        Pattern jsonPattern = Pattern.compile("\\{(?:[^{}]*|\\{(?:[^{}]*|\\{[^{}]*\\})*\\})*\\}");
-        Matcher jsonMatcher = jsonPattern.matcher(cleaned);
+        Matcher jsonMatcher = JSON_OBJECT.matcher(cleaned);
         
         // Keep track of all potential JSON matches
         StringBuilder lastValidJson = new StringBuilder();
@@ -151,8 +171,7 @@ public class JsonResponseHandler {
                 }
             } catch (Exception e) {
                 // If parsing fails, try to extract any valid JSON objects within this match
-                Pattern innerJsonPattern = Pattern.compile("\\{[^{}]*\\}");
-                Matcher innerJsonMatcher = innerJsonPattern.matcher(potentialJson);
+                Matcher innerJsonMatcher = FLAT_JSON_OBJECT.matcher(potentialJson);
                 while (innerJsonMatcher.find()) {
                     String innerJson = innerJsonMatcher.group();
                     try {
@@ -174,15 +193,13 @@ public class JsonResponseHandler {
         }
         
         // If we haven't found a valid JSON object yet, try cleaning the input
-        cleaned = cleaned.replaceAll("`{1,3}(?:json)?\\n?", "") // Remove markdown code blocks
-                        .replaceAll("`{1,3}", "") // Remove any remaining backticks
-                        .replaceAll("(?m)^\\s*```.*$", "") // Remove markdown language specifiers
-                        .replaceAll("[\\r\\n]+", " ") // Replace newlines with spaces
-                        .trim();
+        cleaned = MARKDOWN_FENCE.matcher(cleaned).replaceAll(""); // Remove markdown code blocks
+        cleaned = BACKTICKS.matcher(cleaned).replaceAll(""); // Remove any remaining backticks
+        cleaned = FENCE_LANGUAGE_LINE.matcher(cleaned).replaceAll(""); // Remove markdown language specifiers
+        cleaned = LINE_BREAKS.matcher(cleaned).replaceAll(" ").trim(); // Replace newlines with spaces
         
         // Try to find the last complete JSON object in the text
-        Pattern lastJsonPattern = Pattern.compile("\\{(?:[^{}]*|\\{(?:[^{}]*|\\{[^{}]*\\})*\\})*\\}");
-        Matcher lastJsonMatcher = lastJsonPattern.matcher(cleaned);
+        Matcher lastJsonMatcher = JSON_OBJECT.matcher(cleaned);
         String lastMatch = null;
         
         while (lastJsonMatcher.find()) {
@@ -196,8 +213,7 @@ public class JsonResponseHandler {
                 return fixedJson;
             } catch (Exception e) {
                 // If we can't parse the complete object, try to find the largest valid JSON subset
-                Pattern subsetPattern = Pattern.compile("\\{[^{}]+\\}");
-                Matcher subsetMatcher = subsetPattern.matcher(lastMatch);
+                Matcher subsetMatcher = NON_EMPTY_FLAT_JSON_OBJECT.matcher(lastMatch);
                 while (subsetMatcher.find()) {
                     String subset = subsetMatcher.group();
                     try {
@@ -214,8 +230,7 @@ public class JsonResponseHandler {
         try {
             // Extract any key-value pairs from the text using a more generic pattern
             // Extract key-value pairs with proper handling of escaped quotes
-            Pattern keyValuePattern = Pattern.compile("\\\"|\"([\\w]+)\"\\s*:\\s*(?:(\"{1,2}(?:[^\"\\\\]|\\\\[\"\\\\])*\"{1,2})|([0-9.]+)|\\[([^\\]]*)\\])");
-            Matcher keyValueMatcher = keyValuePattern.matcher(cleaned);
+            Matcher keyValueMatcher = KEY_VALUE.matcher(cleaned);
             
             Map<String, Object> resultMap = new HashMap<>();
             while (keyValueMatcher.find()) {
@@ -227,7 +242,7 @@ public class JsonResponseHandler {
                 if (key != null) {
                     if (strValue != null) {
                         // Handle string value
-                        resultMap.put(key, strValue.replaceAll("^\"{1,2}|\"$", "").replace("\\\\\"", "\""));
+                        resultMap.put(key, SURROUNDING_QUOTES.matcher(strValue).replaceAll("").replace("\\\\\"", "\""));
                     } else if (numValue != null) {
                         // Handle numeric value
                         try {
@@ -237,9 +252,9 @@ public class JsonResponseHandler {
                         }
                     } else if (arrayValue != null) {
                         // Handle array value
-                        String[] items = arrayValue.split(",");
+                        String[] items = COMMA.split(arrayValue);
                         resultMap.put(key, Arrays.stream(items)
-                            .map(s -> s.trim().replaceAll("^\"{1,2}|\"$", "").replace("\\\\\"", "\""))
+                            .map(s -> SURROUNDING_QUOTES.matcher(s.trim()).replaceAll("").replace("\\\\\"", "\""))
                             .collect(Collectors.toList()));
                     }
                 }
@@ -0,0 +1,169 @@
+package com.jithin.ai_content_platform.util;
+
+import java.util.*;
+
+/**
+ * Aho–Corasick automaton over a fixed keyword set. Built once per keyword list, it finds
+ * every occurrence of every keyword in a single pass over the text, so the cost is
+ * proportional to the text plus the number of matches rather than text times keywords.
+ * Matching is case-sensitive; callers lowercase both keywords and text.
+ */
+public final class KeywordMatcher {
+
+    private final String[] keywords;
+    private final List<Node> nodes = new ArrayList<>();
+
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+        nodes.add(new Node());
+        for (int k = 0; k < keywords.length; k++) {
+            // Empty keywords never match
+            if (!keywords[k].isEmpty()) {
+                insert(keywords[k], k);
+            }
+        }
+        buildFailureLinks();
+    }
+
+    public static KeywordMatcher compile(String... keywords) {
+        return new KeywordMatcher(keywords.clone());
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Scans the text once and records the start offset of every occurrence of every keyword,
+     * including overlapping ones.
+     */
+    public Matches scan(String text) {
+        int[][] positions = new int[keywords.length][];
+        int[] counts = new int[keywords.length];
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next;
+            while ((next = nodes.get(state).children.get(c)) == null && state != 0) {
+                state = nodes.get(state).failure;
+            }
+            state = next == null ? 0 : next;
+
+            for (int k : nodes.get(state).outputs) {
+                if (positions[k] == null) {
+                    positions[k] = new int[4];
+                } else if (counts[k] == positions[k].length) {
+                    positions[k] = Arrays.copyOf(positions[k], counts[k] * 2);
+                }
+                positions[k][counts[k]++] = i - keywords[k].length() + 1;
+            }
+        }
+
+        for (int k = 0; k < keywords.length; k++) {
+            positions[k] = positions[k] == null ? new int[0] : Arrays.copyOf(positions[k], counts[k]);
+        }
+        return new Matches(keywords, positions);
+    }
+
+    private void insert(String keyword, int index) {
+        int state = 0;
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            Integer next = nodes.get(state).children.get(c);
+            if (next == null) {
+                next = nodes.size();
+                nodes.add(new Node());
+                nodes.get(state).children.put(c, next);
+            }
+            state = next;
+        }
+        nodes.get(state).outputs.add(index);
+    }
+
+    // Breadth-first, so a node's failure target is always finished before the node itself
+    private void buildFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>(nodes.get(0).children.values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            Node node = nodes.get(state);
+            for (Map.Entry<Character, Integer> edge : node.children.entrySet()) {
+                int child = edge.getValue();
+                int fallback = node.failure;
+                Integer target;
+                while ((target = nodes.get(fallback).children.get(edge.getKey())) == null && fallback != 0) {
+                    fallback = nodes.get(fallback).failure;
+                }
+                Node childNode = nodes.get(child);
+                childNode.failure = target == null || target == child ? 0 : target;
+                childNode.outputs.addAll(nodes.get(childNode.failure).outputs);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Integer> children = new HashMap<>();
+        private final List<Integer> outputs = new ArrayList<>();
+        private int failure;
+    }
+
+    /**
+     * Occurrences found by one scan, indexed by keyword position in the matcher.
+     */
+    public static final class Matches {
+        private final String[] keywords;
+        private final int[][] positions;
+
+        private Matches(String[] keywords, int[][] positions) {
+            this.keywords = keywords;
+            this.positions = positions;
+        }
+
+        /**
+         * Start offsets of all occurrences of the keyword, overlapping ones included.
+         */
+        public int[] positions(int keyword) {
+            return positions[keyword];
+        }
+
+        /**
+         * Start offsets of occurrences taken left to right without overlap, the same
+         * occurrences a repeated {@code indexOf} from the end of the previous match finds.
+         */
+        public int[] nonOverlappingPositions(int keyword) {
+            int[] all = positions[keyword];
+            int length = keywords[keyword].length();
+            int[] result = new int[all.length];
+            int count = 0;
+            int nextAllowed = 0;
+            for (int position : all) {
+                if (position >= nextAllowed) {
+                    result[count++] = position;
+                    nextAllowed = position + length;
+                }
+            }
+            return count == all.length ? all : Arrays.copyOf(result, count);
+        }
+
+        public int count(int keyword) {
+            return nonOverlappingPositions(keyword).length;
+        }
+
+        /**
+         * Whether an occurrence of the keyword lies entirely within [start, end).
+         */
+        public boolean occursWithin(int keyword, int start, int end) {
+            int[] all = positions[keyword];
+            int i = Arrays.binarySearch(all, start);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < all.length && all[i] + keywords[keyword].length() <= end;
+        }
+    }
+}
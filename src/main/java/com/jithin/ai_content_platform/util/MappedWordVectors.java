@@ -0,0 +1,327 @@
+package com.jithin.ai_content_platform.util;
+
+import org.deeplearning4j.models.word2vec.Word2Vec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Read-only word vectors backed by a memory-mapped file. The file holds a float32 matrix,
+ * per-row norms and an open-addressing vocabulary hash table, so opening it costs one
+ * mapping and lookups read straight from the page cache without building heap objects.
+ * Several processes mapping the same file share one physical copy.
+ *
+ * <p>Layout (little endian, 4-byte aligned): header, norms {@code float[count]}, matrix
+ * {@code float[count * dimensions]}, hash table {@code int[tableSize]} holding row + 1,
+ * word offsets {@code int[count + 1]}, UTF-8 word bytes.
+ */
+public final class MappedWordVectors {
+
+    private static final int MAGIC = 0x57325643;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final int count;
+    private final int dimensions;
+    private final int tableMask;
+    private final FloatBuffer norms;
+    private final FloatBuffer matrix;
+    private final IntBuffer table;
+    private final IntBuffer wordOffsets;
+    private final ByteBuffer wordBytes;
+
+    private MappedWordVectors(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a word vector file");
+        }
+        count = buffer.getInt(8);
+        dimensions = buffer.getInt(12);
+        int tableSize = buffer.getInt(16);
+        tableMask = tableSize - 1;
+
+        int position = HEADER_BYTES;
+        norms = slice(buffer, position, count * 4).asFloatBuffer();
+        position += count * 4;
+        matrix = slice(buffer, position, count * dimensions * 4).asFloatBuffer();
+        position += count * dimensions * 4;
+        table = slice(buffer, position, tableSize * 4).asIntBuffer();
+        position += tableSize * 4;
+        wordOffsets = slice(buffer, position, (count + 1) * 4).asIntBuffer();
+        position += (count + 1) * 4;
+        wordBytes = slice(buffer, position, buffer.limit() - position);
+    }
+
+    /**
+     * Maps an exported vector file read-only.
+     */
+    public static MappedWordVectors open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Word vector file larger than 2 GB: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedWordVectors(buffer);
+        }
+    }
+
+    /**
+     * Writes vectors for the given words to a file in the mapped format. The file is written
+     * next to the target and moved into place, so readers never map a partial file.
+     */
+    public static void write(Path file, List<String> words, int dimensions, Function<String, float[]> vectorOf)
+            throws IOException {
+        int count = words.size();
+        int tableSize = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        byte[][] encoded = new byte[count][];
+        int blobBytes = 0;
+        for (int i = 0; i < count; i++) {
+            encoded[i] = words.get(i).getBytes(StandardCharsets.UTF_8);
+            blobBytes += encoded[i].length;
+        }
+
+        long size = HEADER_BYTES + 4L * count + 4L * count * dimensions + 4L * tableSize + 4L * (count + 1) + blobBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Word vectors do not fit in a 2 GB mapping");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(dimensions).putInt(tableSize).putInt(blobBytes);
+
+            int normsAt = HEADER_BYTES;
+            int matrixAt = normsAt + 4 * count;
+            for (int i = 0; i < count; i++) {
+                float[] vector = vectorOf.apply(words.get(i));
+                double norm = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    float value = vector != null && d < vector.length ? vector[d] : 0f;
+                    buffer.putFloat(matrixAt + 4 * (i * dimensions + d), value);
+                    norm += value * value;
+                }
+                buffer.putFloat(normsAt + 4 * i, (float) Math.sqrt(norm));
+            }
+
+            int tableAt = matrixAt + 4 * count * dimensions;
+            int mask = tableSize - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = spread(words.get(i).hashCode()) & mask;
+                while (buffer.getInt(tableAt + 4 * slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                buffer.putInt(tableAt + 4 * slot, i + 1);
+            }
+
+            int offsetsAt = tableAt + 4 * tableSize;
+            int blobAt = offsetsAt + 4 * (count + 1);
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                buffer.putInt(offsetsAt + 4 * i, offset);
+                buffer.put(blobAt + offset, encoded[i]);
+                offset += encoded[i].length;
+            }
+            buffer.putInt(offsetsAt + 4 * count, offset);
+            ((MappedByteBuffer) buffer).force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Exports the vocabulary and vectors of a trained DL4J model.
+     */
+    public static void export(Word2Vec model, Path file) throws IOException {
+        List<String> words = new ArrayList<>(model.getVocab().words());
+        write(file, words, model.getLayerSize(), word -> {
+            double[] vector = model.getWordVector(word);
+            float[] result = new float[vector.length];
+            for (int d = 0; d < vector.length; d++) {
+                result[d] = (float) vector[d];
+            }
+            return result;
+        });
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Row of the word, or -1 when it is not in the vocabulary.
+     */
+    public int indexOf(String word) {
+        if (word == null || count == 0) {
+            return -1;
+        }
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+        int slot = spread(word.hashCode()) & tableMask;
+        int entry;
+        while ((entry = table.get(slot)) != 0) {
+            if (wordEquals(entry - 1, key)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    public String word(int index) {
+        int start = wordOffsets.get(index);
+        byte[] bytes = new byte[wordOffsets.get(index + 1) - start];
+        wordBytes.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public float[] vector(int index) {
+        float[] vector = new float[dimensions];
+        matrix.get(index * dimensions, vector);
+        return vector;
+    }
+
+    public float norm(int index) {
+        return norms.get(index);
+    }
+
+    public double dot(int a, int b) {
+        int baseA = a * dimensions;
+        int baseB = b * dimensions;
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int d = 0;
+        // Four independent accumulators let the JIT overlap the multiply-adds
+        for (; d + 3 < dimensions; d += 4) {
+            s0 += matrix.get(baseA + d) * matrix.get(baseB + d);
+            s1 += matrix.get(baseA + d + 1) * matrix.get(baseB + d + 1);
+            s2 += matrix.get(baseA + d + 2) * matrix.get(baseB + d + 2);
+            s3 += matrix.get(baseA + d + 3) * matrix.get(baseB + d + 3);
+        }
+        for (; d < dimensions; d++) {
+            s0 += matrix.get(baseA + d) * matrix.get(baseB + d);
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    public double dot(float[] query, int index) {
+        int base = index * dimensions;
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int d = 0;
+        for (; d + 3 < dimensions; d += 4) {
+            s0 += query[d] * matrix.get(base + d);
+            s1 += query[d + 1] * matrix.get(base + d + 1);
+            s2 += query[d + 2] * matrix.get(base + d + 2);
+            s3 += query[d + 3] * matrix.get(base + d + 3);
+        }
+        for (; d < dimensions; d++) {
+            s0 += query[d] * matrix.get(base + d);
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    /**
+     * Adds {@code weight} times the row to {@code target}, for pooling several rows into one
+     * vector without copying each of them out first.
+     */
+    public void accumulate(int index, float weight, float[] target) {
+        int base = index * dimensions;
+        for (int d = 0; d < dimensions; d++) {
+            target[d] += weight * matrix.get(base + d);
+        }
+    }
+
+    public double cosine(int a, int b) {
+        double denominator = (double) norms.get(a) * norms.get(b);
+        return denominator == 0 ? 0.0 : dot(a, b) / denominator;
+    }
+
+    /**
+     * Exact nearest neighbours of a word by cosine similarity, excluding the word itself.
+     */
+    public List<String> nearest(String word, int n) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        return nearest(vector(index), n, index);
+    }
+
+    /**
+     * Exact nearest neighbours of a query vector by cosine similarity, most similar first.
+     */
+    public List<String> nearest(float[] query, int n, int excludeIndex) {
+        double queryNorm = 0;
+        for (float value : query) {
+            queryNorm += value * value;
+        }
+        queryNorm = Math.sqrt(queryNorm);
+        if (queryNorm == 0 || n <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Min-heap of the best n rows seen so far
+        PriorityQueue<double[]> best = new PriorityQueue<>(n + 1, Comparator.comparingDouble(e -> e[0]));
+        for (int i = 0; i < count; i++) {
+            if (i == excludeIndex || norms.get(i) == 0) {
+                continue;
+            }
+            double similarity = dot(query, i) / (queryNorm * norms.get(i));
+            if (best.size() < n) {
+                best.add(new double[]{similarity, i});
+            } else if (similarity > best.peek()[0]) {
+                best.poll();
+                best.add(new double[]{similarity, i});
+            }
+        }
+
+        List<String> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(word((int) best.poll()[1]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private boolean wordEquals(int index, byte[] key) {
+        int start = wordOffsets.get(index);
+        if (wordOffsets.get(index + 1) - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (wordBytes.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        return buffer.slice(position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jithin.ai_content_platform.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Mini-batch k-means over rows of a primitive matrix. Centroids are seeded with k-means++
+ * and then moved towards the points of small random batches with a per-centroid learning
+ * rate of one over the points it has absorbed, so each iteration costs
+ * {@code batchSize * k} distances instead of {@code n * k}. Assigning points to their
+ * nearest centroid runs in parallel; centroid updates are sequential.
+ */
+public final class MiniBatchKMeans {
+
+    private MiniBatchKMeans() {
+    }
+
+    /**
+     * Clusters the rows of {@code points}, which must all have the same length, into at
+     * most {@code k} groups.
+     */
+    public static Result cluster(double[][] points, int k, int batchSize, int iterations, long seed) {
+        int n = points.length;
+        if (n == 0 || k <= 0) {
+            return new Result(new int[n], new double[0][]);
+        }
+        k = Math.min(k, n);
+        Random random = new Random(seed);
+        double[][] centroids = seed(points, k, random);
+
+        int batch = Math.min(batchSize, n);
+        int[] sample = new int[batch];
+        int[] nearest = new int[batch];
+        long[] counts = new long[k];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < batch; i++) {
+                sample[i] = random.nextInt(n);
+            }
+            IntStream.range(0, batch).parallel().forEach(i -> nearest[i] = nearest(points[sample[i]], centroids));
+            for (int i = 0; i < batch; i++) {
+                double[] centroid = centroids[nearest[i]];
+                double[] point = points[sample[i]];
+                double rate = 1.0 / ++counts[nearest[i]];
+                for (int d = 0; d < centroid.length; d++) {
+                    centroid[d] += rate * (point[d] - centroid[d]);
+                }
+            }
+        }
+
+        int[] assignments = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> assignments[i] = nearest(points[i], centroids));
+        return new Result(assignments, centroids);
+    }
+
+    public static double squaredDistance(double[] a, double[] b) {
+        double sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            double difference = a[d] - b[d];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    // k-means++: each further centroid is drawn with probability proportional to its squared
+    // distance from the nearest centroid chosen so far
+    private static double[][] seed(double[][] points, int k, Random random) {
+        int n = points.length;
+        double[][] centroids = new double[k][];
+        centroids[0] = points[random.nextInt(n)].clone();
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.MAX_VALUE);
+        for (int c = 1; c < k; c++) {
+            double[] last = centroids[c - 1];
+            IntStream.range(0, n).parallel()
+                .forEach(i -> distances[i] = Math.min(distances[i], squaredDistance(points[i], last)));
+            double total = 0;
+            for (double distance : distances) {
+                total += distance;
+            }
+            int chosen = random.nextInt(n);
+            if (total > 0) {
+                double target = random.nextDouble() * total;
+                for (int i = 0; i < n; i++) {
+                    target -= distances[i];
+                    if (target <= 0) {
+                        chosen = i;
+                        break;
+                    }
+                }
+            }
+            centroids[c] = points[chosen].clone();
+        }
+        return centroids;
+    }
+
+    private static int nearest(double[] point, double[][] centroids) {
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        for (int c = 0; c < centroids.length; c++) {
+            double distance = squaredDistance(point, centroids[c]);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cluster index of each input row, and the final centroids.
+     */
+    public static final class Result {
+        private final int[] assignments;
+        private final double[][] centroids;
+
+        private Result(int[] assignments, double[][] centroids) {
+            this.assignments = assignments;
+            this.centroids = centroids;
+        }
+
+        public int[] getAssignments() {
+            return assignments;
+        }
+
+        public double[][] getCentroids() {
+            return centroids;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.jithin.ai_content_platform.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Int8 scalar-quantized copy of a {@link MappedWordVectors} matrix, memory-mapped from its
+ * own file. Each dimension has a symmetric scale factor ({@code max |value| / 127}), so a
+ * row takes one byte per dimension instead of four and scans touch a quarter of the pages.
+ * Rows share numbering and vocabulary with the float store; cosines computed here are
+ * approximate and callers re-rank the best candidates against the float rows.
+ *
+ * <p>Layout (little endian): header, scales {@code float[dimensions]}, norms of the
+ * dequantized rows {@code float[count]}, codes {@code byte[count * dimensions]}.
+ */
+public final class QuantizedWordVectors {
+
+    private static final int MAGIC = 0x57325138;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final int count;
+    private final int dimensions;
+    private final float[] scales;
+    private final float[] weights;
+    private final FloatBuffer norms;
+    private final ByteBuffer codes;
+
+    private QuantizedWordVectors(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a quantized word vector file");
+        }
+        count = buffer.getInt(8);
+        dimensions = buffer.getInt(12);
+
+        int position = HEADER_BYTES;
+        scales = new float[dimensions];
+        weights = new float[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            scales[d] = buffer.getFloat(position + 4 * d);
+            weights[d] = scales[d] * scales[d];
+        }
+        position += 4 * dimensions;
+        norms = buffer.slice(position, 4 * count).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        position += 4 * count;
+        codes = buffer.slice(position, count * dimensions);
+    }
+
+    /**
+     * Maps a quantized file, checking that it was built from a store of the same shape.
+     */
+    public static QuantizedWordVectors open(Path file, MappedWordVectors source) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            QuantizedWordVectors quantized = new QuantizedWordVectors(
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (quantized.count != source.size() || quantized.dimensions != source.dimensions()) {
+                throw new IOException("Quantized vectors do not match the store: " + file);
+            }
+            return quantized;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Quantizes every row of the store into a file written next to the target and moved
+     * into place.
+     */
+    public static void write(MappedWordVectors source, Path file) throws IOException {
+        int count = source.size();
+        int dimensions = source.dimensions();
+        float[] scales = new float[dimensions];
+        for (int i = 0; i < count; i++) {
+            float[] row = source.vector(i);
+            for (int d = 0; d < dimensions; d++) {
+                scales[d] = Math.max(scales[d], Math.abs(row[d]));
+            }
+        }
+        for (int d = 0; d < dimensions; d++) {
+            scales[d] /= 127f;
+        }
+
+        long size = HEADER_BYTES + 4L * dimensions + 4L * count + (long) count * dimensions;
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(dimensions);
+            for (float scale : scales) {
+                buffer.putFloat(scale);
+            }
+
+            int normsAt = HEADER_BYTES + 4 * dimensions;
+            int codesAt = normsAt + 4 * count;
+            for (int i = 0; i < count; i++) {
+                float[] row = source.vector(i);
+                double norm = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    int code = scales[d] == 0 ? 0 : Math.round(row[d] / scales[d]);
+                    code = Math.max(-127, Math.min(127, code));
+                    buffer.put(codesAt + i * dimensions + d, (byte) code);
+                    double value = code * scales[d];
+                    norm += value * value;
+                }
+                buffer.putFloat(normsAt + 4 * i, (float) Math.sqrt(norm));
+            }
+            ((MappedByteBuffer) buffer).force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Bytes of vector data mapped by this store, for comparing with the float matrix.
+     */
+    public long byteSize() {
+        return (long) count * dimensions + 4L * count + 4L * dimensions;
+    }
+
+    /**
+     * Approximate cosine of two rows from their codes.
+     */
+    public double cosine(int a, int b) {
+        double denominator = (double) norms.get(a) * norms.get(b);
+        if (denominator == 0) {
+            return 0.0;
+        }
+        int baseA = a * dimensions;
+        int baseB = b * dimensions;
+        float sum = 0;
+        for (int d = 0; d < dimensions; d++) {
+            sum += weights[d] * codes.get(baseA + d) * codes.get(baseB + d);
+        }
+        return sum / denominator;
+    }
+
+    /**
+     * Rows with the highest approximate cosine to the query, best first. The query is
+     * folded with the scales once so each row costs one multiply-add per dimension.
+     */
+    public int[] candidates(float[] query, int n, int excludeIndex) {
+        float[] scaled = new float[dimensions];
+        double queryNorm = 0;
+        for (int d = 0; d < dimensions; d++) {
+            scaled[d] = query[d] * scales[d];
+            queryNorm += query[d] * query[d];
+        }
+        if (queryNorm == 0 || n <= 0) {
+            return new int[0];
+        }
+
+        // Min-heap of the best n rows seen so far
+        PriorityQueue<double[]> best = new PriorityQueue<>(n + 1, Comparator.comparingDouble(e -> e[0]));
+        for (int i = 0; i < count; i++) {
+            float norm = norms.get(i);
+            if (i == excludeIndex || norm == 0) {
+                continue;
+            }
+            int base = i * dimensions;
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int d = 0;
+            for (; d + 3 < dimensions; d += 4) {
+                s0 += scaled[d] * codes.get(base + d);
+                s1 += scaled[d + 1] * codes.get(base + d + 1);
+                s2 += scaled[d + 2] * codes.get(base + d + 2);
+                s3 += scaled[d + 3] * codes.get(base + d + 3);
+            }
+            for (; d < dimensions; d++) {
+                s0 += scaled[d] * codes.get(base + d);
+            }
+            // The query norm is the same for every row, so it is left out of the ranking
+            double similarity = (s0 + s1 + s2 + s3) / norm;
+            if (best.size() < n) {
+                best.add(new double[]{similarity, i});
+            } else if (similarity > best.peek()[0]) {
+                best.poll();
+                best.add(new double[]{similarity, i});
+            }
+        }
+
+        int[] rows = new int[best.size()];
+        for (int i = rows.length - 1; i >= 0; i--) {
+            rows[i] = (int) best.poll()[1];
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jithin.ai_content_platform.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Shared compiled regular expressions. {@code String.split} and {@code String.replaceAll}
+ * compile their pattern on every call, so content analyzers and formatters use these
+ * constants instead. Patterns built at runtime (for example around a keyword) go through
+ * {@link #get(String, int)}, which keeps the most recently used expressions compiled.
+ */
+public final class RegexPatterns {
+
+    public static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    public static final Pattern NON_WORD = Pattern.compile("\\W+");
+    public static final Pattern COMMA_SEPARATOR = Pattern.compile("\\s*,\\s*");
+    public static final Pattern COMMA_THEN_SPACE = Pattern.compile(",\\s*");
+    public static final Pattern SENTENCE_BOUNDARY = Pattern.compile("(?<=[.!?])\\s+");
+    public static final Pattern SENTENCE_TERMINATORS = Pattern.compile("[.!?]+");
+    public static final Pattern PARAGRAPH_BREAK = Pattern.compile("\n\n");
+
+    // Least recently used runtime patterns are evicted beyond this many
+    private static final int MAX_CACHED = 1024;
+
+    private static final Map<String, Pattern> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong compiles = new AtomicLong();
+
+    private RegexPatterns() {
+    }
+
+    public static Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+    public static Pattern get(String regex, int flags) {
+        String key = flags + "/" + regex;
+        Pattern pattern;
+        synchronized (CACHE) {
+            pattern = CACHE.get(key);
+        }
+        if (pattern != null) {
+            hits.incrementAndGet();
+            return pattern;
+        }
+        compiles.incrementAndGet();
+        pattern = Pattern.compile(regex, flags);
+        synchronized (CACHE) {
+            CACHE.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Case-insensitive whole-word pattern for a literal keyword.
+     */
+    public static Pattern wholeWord(String word) {
+        return get("\\b" + Pattern.quote(word) + "\\b", Pattern.CASE_INSENSITIVE);
+    }
+
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (CACHE) {
+            stats.put("cachedPatterns", CACHE.size());
+        }
+        stats.put("hits", hits.get());
+        stats.put("compiles", compiles.get());
+        long lookups = hits.get() + compiles.get();
+        stats.put("hitRate", lookups > 0 ? (double) hits.get() / lookups : 0.0);
+        return stats;
+    }
+}
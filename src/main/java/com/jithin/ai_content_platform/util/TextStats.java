@@ -0,0 +1,440 @@
+package com.jithin.ai_content_platform.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Text statistics gathered in a single pass over a document: words with their offsets
+ * and syllables, sentence and paragraph spans, markdown headings, list markers and links.
+ * Readability, structure and keyword analyzers read from one instance instead of each
+ * re-splitting the text.
+ *
+ * <p>A '.', '!' or '?' ends a sentence only when it is followed by whitespace and then an
+ * upper-case letter, a new line or the end of the text, and a '.' does not end a common
+ * abbreviation or initial, so "3.14", "e.g. this" and "example.com" stay in one sentence.
+ */
+public final class TextStats {
+
+    // Lower-case abbreviations, without their dots, that a period does not end a sentence after
+    private static final Set<String> ABBREVIATIONS = Set.of(
+        "eg", "ie", "cf", "vs", "al", "fig", "approx", "mr", "mrs", "ms", "dr", "prof", "st", "jr", "sr");
+
+    private final String text;
+
+    private int[] wordStarts = new int[64];
+    private int[] wordEnds = new int[64];
+    private int wordCount;
+    private int syllableCount;
+    private int complexWordCount;
+    private int nonWhitespaceChars;
+
+    private final IntSpans sentences = new IntSpans();
+    private final IntSpans paragraphs = new IntSpans();
+    private final IntSpans headings = new IntSpans();
+    private final List<Integer> headingLevels = new ArrayList<>();
+
+    private int bulletListItems;
+    private int numberedListItems;
+    private int markdownLinks;
+    private int bareUrls;
+
+    private TextStats(String text) {
+        this.text = text;
+    }
+
+    public static TextStats scan(String text) {
+        TextStats stats = new TextStats(text == null ? "" : text);
+        stats.scan();
+        return stats;
+    }
+
+    private void scan() {
+        int length = text.length();
+
+        int wordStart = -1;
+        // Incremental syllable state for the current word (letters only)
+        int letters = 0;
+        int vowelGroups = 0;
+        boolean previousVowel = false;
+        char lastLetter = 0;
+        char secondLastLetter = 0;
+
+        int sentenceStart = -1;
+        // Closing quotes and brackets after a sentence end do not start the next sentence
+        int sentenceResume = 0;
+        int paragraphStart = -1;
+        int lastContentEnd = 0;
+        int newlinesSinceContent = 0;
+        boolean atLineStart = true;
+        int linkSearchLimit = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (atLineStart) {
+                scanLineStart(i);
+                atLineStart = false;
+            }
+
+            if (Character.isWhitespace(c)) {
+                if (wordStart >= 0) {
+                    endWord(wordStart, i, letters, vowelGroups, lastLetter, secondLastLetter);
+                    wordStart = -1;
+                }
+                if (c == '\n') {
+                    newlinesSinceContent++;
+                    atLineStart = true;
+                }
+                continue;
+            }
+
+            // Non-whitespace: close the paragraph if a blank line preceded this character
+            nonWhitespaceChars++;
+            if (newlinesSinceContent >= 2 && paragraphStart >= 0) {
+                // Sentences never run across a paragraph break
+                if (sentenceStart >= 0) {
+                    sentences.add(sentenceStart, lastContentEnd);
+                    sentenceStart = -1;
+                }
+                paragraphs.add(paragraphStart, lastContentEnd);
+                paragraphStart = -1;
+            }
+            newlinesSinceContent = 0;
+            if (paragraphStart < 0) {
+                paragraphStart = i;
+            }
+            lastContentEnd = i + 1;
+
+            if (c == '.' || c == '!' || c == '?') {
+                if (sentenceStart >= 0 && endsSentence(i)) {
+                    sentences.add(sentenceStart, i);
+                    sentenceStart = -1;
+                    sentenceResume = i + 1;
+                    while (sentenceResume < length && isClosing(text.charAt(sentenceResume))) {
+                        sentenceResume++;
+                    }
+                }
+            } else if (sentenceStart < 0 && i >= sentenceResume) {
+                sentenceStart = i;
+            }
+
+            if (c == '[' && i < linkSearchLimit) {
+                int end = matchMarkdownLink(i);
+                if (end < 0) {
+                    linkSearchLimit = -end;
+                } else if (end > 0) {
+                    markdownLinks++;
+                }
+            }
+
+            if (wordStart < 0) {
+                wordStart = i;
+                letters = 0;
+                vowelGroups = 0;
+                previousVowel = false;
+                lastLetter = 0;
+                secondLastLetter = 0;
+            }
+            if (Character.isLetter(c) && c < 128) {
+                char lower = Character.toLowerCase(c);
+                boolean vowel = "aeiouy".indexOf(lower) >= 0;
+                if (vowel && !previousVowel) {
+                    vowelGroups++;
+                }
+                previousVowel = vowel;
+                secondLastLetter = lastLetter;
+                lastLetter = lower;
+                letters++;
+            }
+        }
+
+        if (wordStart >= 0) {
+            endWord(wordStart, length, letters, vowelGroups, lastLetter, secondLastLetter);
+        }
+        if (sentenceStart >= 0) {
+            sentences.add(sentenceStart, length);
+        }
+        if (paragraphStart >= 0) {
+            paragraphs.add(paragraphStart, lastContentEnd);
+        }
+    }
+
+    // Looks past closing punctuation and whitespace after the terminator at the given offset
+    private boolean endsSentence(int terminator) {
+        int length = text.length();
+        int i = terminator + 1;
+        while (i < length && isClosing(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (!Character.isWhitespace(text.charAt(i))) {
+            return false;
+        }
+        boolean newline = false;
+        while (i < length && Character.isWhitespace(text.charAt(i))) {
+            newline |= text.charAt(i) == '\n';
+            i++;
+        }
+        if (i < length && !newline && !Character.isUpperCase(text.charAt(i))) {
+            return false;
+        }
+        return text.charAt(terminator) != '.' || !isAbbreviation(terminator);
+    }
+
+    private boolean isAbbreviation(int period) {
+        int start = period;
+        while (start > 0 && (Character.isLetter(text.charAt(start - 1)) || text.charAt(start - 1) == '.')) {
+            start--;
+        }
+        String word = text.substring(start, period).replace(".", "").toLowerCase();
+        return word.length() == 1 ? Character.isLetter(word.charAt(0)) : ABBREVIATIONS.contains(word);
+    }
+
+    private static boolean isClosing(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '"' || c == '\'' || c == ')' || c == ']' || c == '\u201D' || c == '\u2019';
+    }
+
+    private void endWord(int start, int end, int letters, int vowelGroups, char lastLetter, char secondLastLetter) {
+        if (wordCount == wordStarts.length) {
+            wordStarts = Arrays.copyOf(wordStarts, wordCount * 2);
+            wordEnds = Arrays.copyOf(wordEnds, wordCount * 2);
+        }
+        wordStarts[wordCount] = start;
+        wordEnds[wordCount] = end;
+        wordCount++;
+
+        int syllables;
+        if (letters <= 3) {
+            syllables = 1;
+        } else {
+            syllables = vowelGroups;
+            if (lastLetter == 'e') syllables--;
+            if (lastLetter == 'e' && secondLastLetter == 'l') syllables++;
+            syllables = Math.max(1, syllables);
+        }
+        syllableCount += syllables;
+        if (syllables >= 3) {
+            complexWordCount++;
+        }
+
+        if (containsUrl(start, end)) {
+            bareUrls++;
+        }
+    }
+
+    private boolean containsUrl(int start, int end) {
+        for (int i = start; i + 7 <= end; i++) {
+            if (text.charAt(i) == 'h' && (text.startsWith("http://", i) || (i + 8 <= end && text.startsWith("https://", i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Headings "# Title" and list items "- item" / "1. item" are recognised from the line prefix
+    private void scanLineStart(int lineStart) {
+        int length = text.length();
+        int i = lineStart;
+        while (i < length && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        if (i >= length) {
+            return;
+        }
+        char c = text.charAt(i);
+
+        if (c == '#' && i == lineStart) {
+            int level = 0;
+            while (i < length && text.charAt(i) == '#') {
+                level++;
+                i++;
+            }
+            if (level <= 6 && i + 1 < length && isBlank(text.charAt(i)) && text.charAt(i + 1) != '\n') {
+                int lineEnd = text.indexOf('\n', i);
+                headings.add(lineStart, lineEnd < 0 ? length : lineEnd);
+                headingLevels.add(level);
+            }
+        } else if ((c == '-' || c == '*' || c == '+') && i + 1 < length && isBlank(text.charAt(i + 1))) {
+            bulletListItems++;
+        } else if (Character.isDigit(c)) {
+            while (i < length && Character.isDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i + 1 < length && text.charAt(i) == '.' && isBlank(text.charAt(i + 1))) {
+                numberedListItems++;
+            }
+        }
+    }
+
+    /**
+     * Matches "[text](target)" at the given '['. Returns the end offset on a match, 0 when
+     * this bracket does not start a link, or the negated search limit when no closing
+     * bracket or parenthesis exists further on, so later brackets are not searched again.
+     */
+    private int matchMarkdownLink(int open) {
+        int close = text.indexOf(']', open + 1);
+        if (close < 0) {
+            return -open;
+        }
+        if (close == open + 1 || close + 1 >= text.length() || text.charAt(close + 1) != '(') {
+            return 0;
+        }
+        int paren = text.indexOf(')', close + 2);
+        if (paren < 0) {
+            return -open;
+        }
+        return paren > close + 2 ? paren + 1 : 0;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getSyllableCount() {
+        return syllableCount;
+    }
+
+    public int getComplexWordCount() {
+        return complexWordCount;
+    }
+
+    public int getNonWhitespaceChars() {
+        return nonWhitespaceChars;
+    }
+
+    public int wordStart(int index) {
+        return wordStarts[index];
+    }
+
+    public int wordEnd(int index) {
+        return wordEnds[index];
+    }
+
+    public String word(int index) {
+        return text.substring(wordStarts[index], wordEnds[index]);
+    }
+
+    /**
+     * Index of the first word starting at or after the given offset.
+     */
+    public int wordIndexAt(int offset) {
+        return lowerBound(wordStarts, wordCount, offset);
+    }
+
+    /**
+     * Number of words that start inside [start, end).
+     */
+    public int wordsBetween(int start, int end) {
+        return wordIndexAt(end) - wordIndexAt(start);
+    }
+
+    public int getSentenceCount() {
+        return sentences.size();
+    }
+
+    public int sentenceStart(int index) {
+        return sentences.start(index);
+    }
+
+    public int sentenceEnd(int index) {
+        return sentences.end(index);
+    }
+
+    public int getParagraphCount() {
+        return paragraphs.size();
+    }
+
+    public int paragraphStart(int index) {
+        return paragraphs.start(index);
+    }
+
+    public int paragraphEnd(int index) {
+        return paragraphs.end(index);
+    }
+
+    public int getHeadingCount() {
+        return headings.size();
+    }
+
+    public int headingStart(int index) {
+        return headings.start(index);
+    }
+
+    public int headingEnd(int index) {
+        return headings.end(index);
+    }
+
+    public List<Integer> getHeadingLevels() {
+        return headingLevels;
+    }
+
+    public int getBulletListItems() {
+        return bulletListItems;
+    }
+
+    public int getNumberedListItems() {
+        return numberedListItems;
+    }
+
+    public int getMarkdownLinks() {
+        return markdownLinks;
+    }
+
+    public int getBareUrls() {
+        return bareUrls;
+    }
+
+    private static int lowerBound(int[] values, int size, int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class IntSpans {
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int size;
+
+        private void add(int start, int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int start(int index) {
+            return starts[index];
+        }
+
+        private int end(int index) {
+            return ends[index];
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.jithin.ai_content_platform.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.models.word2vec.Word2Vec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * A published set of word vectors: the memory-mapped store plus, when enabled, an HNSW
+ * index persisted next to it as {@code <vectors>.hnsw} and an int8 copy of the matrix as
+ * {@code <vectors>.q8}. Instances are immutable, so a service can replace its current
+ * model with a single reference assignment.
+ */
+@Slf4j
+public final class WordVectorModel {
+
+    private final MappedWordVectors vectors;
+    private final HnswIndex index;
+    private final int efSearch;
+    private final long version;
+    private final QuantizedWordVectors quantized;
+    private final int rerankFactor;
+
+    private WordVectorModel(MappedWordVectors vectors, HnswIndex index, int efSearch, long version,
+                            QuantizedWordVectors quantized, int rerankFactor) {
+        this.vectors = vectors;
+        this.index = index;
+        this.efSearch = efSearch;
+        this.version = version;
+        this.quantized = quantized;
+        this.rerankFactor = rerankFactor;
+    }
+
+    /**
+     * Exports a trained model next to any previous export and opens it with a fresh index.
+     */
+    public static WordVectorModel publish(Word2Vec model, Path vectorsFile, IndexSettings settings) throws IOException {
+        MappedWordVectors.export(model, vectorsFile);
+        Files.deleteIfExists(indexFile(vectorsFile));
+        Files.deleteIfExists(quantizedFile(vectorsFile));
+        return open(vectorsFile, settings);
+    }
+
+    /**
+     * Maps an exported vector file and loads its index and quantized copy, building and
+     * saving either when it is missing or older than the vectors.
+     */
+    public static WordVectorModel open(Path vectorsFile, IndexSettings settings) throws IOException {
+        MappedWordVectors vectors = MappedWordVectors.open(vectorsFile);
+        long version = Files.getLastModifiedTime(vectorsFile).toMillis();
+        QuantizedWordVectors quantized = settings.quantized ? openQuantized(vectorsFile, vectors) : null;
+        if (!settings.enabled || vectors.size() < settings.minVocabulary) {
+            return new WordVectorModel(vectors, null, settings.efSearch, version, quantized, settings.rerankFactor);
+        }
+
+        Path indexFile = indexFile(vectorsFile);
+        HnswIndex index = null;
+        if (Files.exists(indexFile)
+                && Files.getLastModifiedTime(indexFile).compareTo(Files.getLastModifiedTime(vectorsFile)) >= 0) {
+            try {
+                index = HnswIndex.read(indexFile, vectors);
+            } catch (IOException e) {
+                log.warn("Discarding unreadable HNSW index {}: {}", indexFile, e.getMessage());
+            }
+        }
+        if (index == null) {
+            long started = System.currentTimeMillis();
+            index = HnswIndex.build(vectors, settings.m, settings.efConstruction, 42);
+            index.write(indexFile);
+            log.info("Built HNSW index over {} words in {} ms", vectors.size(), System.currentTimeMillis() - started);
+        }
+        return new WordVectorModel(vectors, index, settings.efSearch, version, quantized, settings.rerankFactor);
+    }
+
+    private static QuantizedWordVectors openQuantized(Path vectorsFile, MappedWordVectors vectors) throws IOException {
+        Path file = quantizedFile(vectorsFile);
+        if (Files.exists(file) && Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(vectorsFile)) >= 0) {
+            try {
+                return QuantizedWordVectors.open(file, vectors);
+            } catch (IOException e) {
+                log.warn("Discarding unreadable quantized vectors {}: {}", file, e.getMessage());
+            }
+        }
+        long started = System.currentTimeMillis();
+        QuantizedWordVectors.write(vectors, file);
+        log.info("Quantized {} word vectors to int8 in {} ms", vectors.size(), System.currentTimeMillis() - started);
+        return QuantizedWordVectors.open(file, vectors);
+    }
+
+    public static Path indexFile(Path vectorsFile) {
+        return Paths.get(vectorsFile.toString() + ".hnsw");
+    }
+
+    public static Path quantizedFile(Path vectorsFile) {
+        return Paths.get(vectorsFile.toString() + ".q8");
+    }
+
+    public MappedWordVectors getVectors() {
+        return vectors;
+    }
+
+    /**
+     * Modification time of the exported vectors, identifying which training run they came from.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    public boolean isQuantized() {
+        return quantized != null;
+    }
+
+    public int size() {
+        return vectors.size();
+    }
+
+    public boolean contains(String word) {
+        return vectors.contains(word);
+    }
+
+    /**
+     * Cosine similarity of two words, approximated from the int8 codes in quantized mode.
+     */
+    public double similarity(String word1, String word2) {
+        int index1 = vectors.indexOf(word1);
+        int index2 = vectors.indexOf(word2);
+        if (index1 < 0 || index2 < 0) {
+            return 0.0;
+        }
+        return quantized != null ? quantized.cosine(index1, index2) : vectors.cosine(index1, index2);
+    }
+
+    /**
+     * Nearest words by cosine similarity, most similar first, excluding the word itself.
+     * Uses the HNSW index when present, otherwise a scan of the int8 codes re-ranked in
+     * float in quantized mode, and an exact scan otherwise.
+     */
+    public List<String> nearest(String word, int n) {
+        int row = vectors.indexOf(word);
+        if (row < 0) {
+            return Collections.emptyList();
+        }
+        if (index == null) {
+            return scan(vectors.vector(row), n, row);
+        }
+        return words(index.search(vectors.vector(row), n + 1, Math.max(efSearch, n + 1)), row, n);
+    }
+
+    public List<String> nearest(float[] query, int n) {
+        if (index == null) {
+            return scan(query, n, -1);
+        }
+        return words(index.search(query, n, Math.max(efSearch, n)), -1, n);
+    }
+
+    private List<String> scan(float[] query, int n, int exclude) {
+        return quantized != null ? rerank(query, n, exclude) : vectors.nearest(query, n, exclude);
+    }
+
+    // Shortlists rerankFactor * n rows from the int8 codes and orders them by exact cosine
+    private List<String> rerank(float[] query, int n, int exclude) {
+        int[] candidates = quantized.candidates(query, n * rerankFactor, exclude);
+        double[] scores = new double[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            scores[i] = vectors.dot(query, candidates[i]) / vectors.norm(candidates[i]);
+        }
+        Integer[] order = new Integer[candidates.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<String> result = new ArrayList<>(Math.min(n, order.length));
+        for (int i = 0; i < order.length && result.size() < n; i++) {
+            result.add(vectors.word(candidates[order[i]]));
+        }
+        return result;
+    }
+
+    /**
+     * Compares the index and the quantized scan against exact search on a sample of
+     * vocabulary words and reports mean recall@k and queries per second for each. In
+     * quantized mode it also reports the mean and maximum cosine error of the int8 codes
+     * and the mapped size of both matrices.
+     */
+    public Map<String, Object> benchmark(int queries, int k) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("vocabulary", vectors.size());
+        report.put("indexed", index != null);
+        report.put("quantized", quantized != null);
+        report.put("efSearch", efSearch);
+        report.put("k", k);
+        if ((index == null && quantized == null) || vectors.size() <= k) {
+            return report;
+        }
+
+        Random random = new Random(7);
+        int[] rows = new int[Math.min(queries, vectors.size())];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = random.nextInt(vectors.size());
+        }
+
+        List<Set<String>> exact = new ArrayList<>(rows.length);
+        long started = System.nanoTime();
+        for (int row : rows) {
+            exact.add(new HashSet<>(vectors.nearest(vectors.vector(row), k, row)));
+        }
+        long exactNanos = System.nanoTime() - started;
+        report.put("queries", rows.length);
+        report.put("exactQps", rows.length / (exactNanos / 1e9));
+
+        if (index != null) {
+            started = System.nanoTime();
+            List<List<String>> approximate = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                approximate.add(words(index.search(vectors.vector(row), k + 1, Math.max(efSearch, k + 1)), row, k));
+            }
+            long indexNanos = System.nanoTime() - started;
+            report.put("recallAtK", recall(exact, approximate));
+            report.put("indexQps", rows.length / (indexNanos / 1e9));
+        }
+
+        if (quantized != null) {
+            started = System.nanoTime();
+            List<List<String>> approximate = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                approximate.add(rerank(vectors.vector(row), k, row));
+            }
+            long quantizedNanos = System.nanoTime() - started;
+
+            double errorSum = 0;
+            double maxError = 0;
+            for (int i = 0; i < rows.length; i++) {
+                int other = random.nextInt(vectors.size());
+                double error = Math.abs(quantized.cosine(rows[i], other) - vectors.cosine(rows[i], other));
+                errorSum += error;
+                maxError = Math.max(maxError, error);
+            }
+
+            report.put("rerankFactor", rerankFactor);
+            report.put("quantizedRecallAtK", recall(exact, approximate));
+            report.put("quantizedQps", rows.length / (quantizedNanos / 1e9));
+            report.put("meanCosineError", errorSum / rows.length);
+            report.put("maxCosineError", maxError);
+            report.put("floatMatrixBytes", 4L * vectors.size() * (vectors.dimensions() + 1));
+            report.put("quantizedMatrixBytes", quantized.byteSize());
+        }
+        return report;
+    }
+
+    private static double recall(List<Set<String>> exact, List<List<String>> approximate) {
+        double recall = 0;
+        for (int i = 0; i < exact.size(); i++) {
+            Set<String> expected = exact.get(i);
+            if (!expected.isEmpty()) {
+                recall += approximate.get(i).stream().filter(expected::contains).count() / (double) expected.size();
+            }
+        }
+        return recall / exact.size();
+    }
+
+    private List<String> words(int[] rows, int exclude, int n) {
+        List<String> result = new ArrayList<>(n);
+        for (int row : rows) {
+            if (row != exclude && result.size() < n) {
+                result.add(vectors.word(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * HNSW build and query parameters, and whether to keep an int8 copy of the vectors.
+     */
+    public static final class IndexSettings {
+        private final boolean enabled;
+        private final int m;
+        private final int efConstruction;
+        private final int efSearch;
+        private final int minVocabulary;
+        private final boolean quantized;
+        private final int rerankFactor;
+
+        public IndexSettings(boolean enabled, int m, int efConstruction, int efSearch, int minVocabulary) {
+            this(enabled, m, efConstruction, efSearch, minVocabulary, false, 1);
+        }
+
+        /**
+         * {@code rerankFactor} is how many int8 candidates per requested neighbour are
+         * re-scored in float.
+         */
+        public IndexSettings(boolean enabled, int m, int efConstruction, int efSearch, int minVocabulary,
+                             boolean quantized, int rerankFactor) {
+            this.enabled = enabled;
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.efSearch = efSearch;
+            this.minVocabulary = minVocabulary;
+            this.quantized = quantized;
+            this.rerankFactor = Math.max(1, rerankFactor);
+        }
+    }
+}
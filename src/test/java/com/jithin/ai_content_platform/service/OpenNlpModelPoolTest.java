@@ -0,0 +1,122 @@
+package com.jithin.ai_content_platform.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import opennlp.tools.doccat.DoccatFactory;
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import opennlp.tools.doccat.DocumentSample;
+import opennlp.tools.langdetect.Language;
+import opennlp.tools.langdetect.LanguageDetectorFactory;
+import opennlp.tools.langdetect.LanguageDetectorME;
+import opennlp.tools.langdetect.LanguageDetectorModel;
+import opennlp.tools.langdetect.LanguageSample;
+import opennlp.tools.util.CollectionObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+class OpenNlpModelPoolTest {
+
+    private static final int THREADS = 4;
+
+    private static LanguageDetectorModel languageModel;
+    private static DoccatModel categoryModel;
+
+    private OpenNlpModelPool pool;
+    private ExecutorService executor;
+
+    @BeforeAll
+    static void trainModels() throws Exception {
+        TrainingParameters parameters = TrainingParameters.defaultParams();
+        parameters.put(TrainingParameters.CUTOFF_PARAM, 0);
+        parameters.put(TrainingParameters.ITERATIONS_PARAM, 20);
+
+        List<LanguageSample> languages = new ArrayList<>();
+        List<DocumentSample> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            languages.add(new LanguageSample(new Language("eng"), "the quick brown fox jumps over the lazy dog"));
+            languages.add(new LanguageSample(new Language("deu"), "der schnelle braune fuchs springt über den faulen hund"));
+            documents.add(new DocumentSample("technology", new String[]{"cloud", "software", "servers"}));
+            documents.add(new DocumentSample("sports", new String[]{"football", "match", "goal"}));
+        }
+        languageModel = LanguageDetectorME.train(new CollectionObjectStream<>(languages), parameters,
+                new LanguageDetectorFactory());
+        categoryModel = DocumentCategorizerME.train("en", new CollectionObjectStream<>(documents), parameters,
+                new DoccatFactory());
+    }
+
+    @BeforeEach
+    void setUp() {
+        pool = new OpenNlpModelPool();
+        ReflectionTestUtils.setField(pool, "languageModel", languageModel);
+        ReflectionTestUtils.setField(pool, "categoryModel", categoryModel);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void eachThreadGetsItsOwnDetectorAndCategorizer() throws Exception {
+        ThreadLocal<LanguageDetectorME> detectors = (ThreadLocal<LanguageDetectorME>) ReflectionTestUtils.getField(pool, "languageDetectors");
+        ThreadLocal<DocumentCategorizerME> categorizers = (ThreadLocal<DocumentCategorizerME>) ReflectionTestUtils.getField(pool, "categorizers");
+        // Every task waits for the others, so all threads hold their instances at once
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        List<Future<Object[]>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                barrier.await(10, TimeUnit.SECONDS);
+                assertEquals("eng", pool.detectLanguage("the lazy dog jumps over the quick fox"));
+                assertEquals("sports", pool.bestCategory("football match goal"));
+                LanguageDetectorME detector = detectors.get();
+                DocumentCategorizerME categorizer = categorizers.get();
+                pool.detectLanguage("der faule hund");
+                pool.categorize("cloud software");
+                // Later calls on the same thread reuse its instances
+                assertSame(detector, detectors.get());
+                assertSame(categorizer, categorizers.get());
+                barrier.await(10, TimeUnit.SECONDS);
+                return new Object[]{detector, categorizer};
+            }));
+        }
+
+        Set<Object> distinctDetectors = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> distinctCategorizers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<Object[]> result : results) {
+            Object[] instances = result.get(30, TimeUnit.SECONDS);
+            distinctDetectors.add(instances[0]);
+            distinctCategorizers.add(instances[1]);
+        }
+        assertEquals(THREADS, distinctDetectors.size());
+        assertEquals(THREADS, distinctCategorizers.size());
+        assertEquals((long) THREADS * 2, pool.getStats().get("languageDetections"));
+    }
+
+    @Test
+    void reportsNothingWithoutModels() {
+        OpenNlpModelPool empty = new OpenNlpModelPool();
+
+        assertNull(empty.detectLanguage("some text"));
+        assertNull(empty.bestCategory("some text"));
+        assertEquals(0, empty.categorize("some text").length);
+    }
+}
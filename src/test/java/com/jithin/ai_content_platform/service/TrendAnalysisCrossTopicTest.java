@@ -0,0 +1,104 @@
+package com.jithin.ai_content_platform.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TrendAnalysisCrossTopicTest {
+
+    private static final int LENGTH = 12;
+
+    private TrendAnalysisService trendAnalysisService;
+    private final Random random = new Random(21);
+
+    @BeforeEach
+    void setUp() {
+        trendAnalysisService = new TrendAnalysisService(new ObjectMapper(), mock(NlpPipelineRegistry.class));
+    }
+
+    @Test
+    void clustersShortSeriesWithTheTopicsTheyFollow() {
+        IntToDoubleFunction rising = t -> t % 2 == 0 ? t * 0.3 : t * 0.3 + 1.0;
+        IntToDoubleFunction wave = t -> Math.sin(t * 1.3) * 2;
+        Map<String, List<Double>> series = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            series.put("rising" + i, series(rising, 0, LENGTH));
+            series.put("wave" + i, series(wave, 0, LENGTH));
+        }
+        // Started later, so only the latest points exist
+        series.put("newRising", series(rising, LENGTH - 4, LENGTH));
+        series.put("newWave", series(wave, LENGTH - 4, LENGTH));
+
+        Map<String, Object> relationships = analyze(series);
+
+        assertEquals(2, relationships.get("topicsShorterThanWindow"));
+        // k-means may split a shape over several clusters, but never mixes the two
+        for (String topic : series.keySet()) {
+            for (String member : clusterOf(relationships, topic)) {
+                assertEquals(shape(topic), shape(member), topic + " shares a cluster with " + member);
+            }
+        }
+    }
+
+    @Test
+    void reportsTopicsMovingAgainstACluster() {
+        IntToDoubleFunction wave = t -> Math.sin(t * 1.3) * 2;
+        Map<String, List<Double>> series = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            series.put("wave" + i, series(wave, 0, LENGTH));
+        }
+        series.put("inverse", series(t -> -wave.applyAsDouble(t), 0, LENGTH));
+
+        Map<String, Object> relationships = analyze(series);
+
+        Map<String, Object> cluster = clusters(relationships).get(0);
+        assertTrue(((List<?>) cluster.get("opposingTopics")).contains("inverse"));
+        Map<String, Map<String, Double>> correlations = (Map<String, Map<String, Double>>) relationships.get("correlations");
+        assertTrue(correlations.get((String) cluster.get("centralTopic")).get("inverse") < -0.5);
+    }
+
+    private Map<String, Object> analyze(Map<String, List<Double>> series) {
+        return ReflectionTestUtils.invokeMethod(trendAnalysisService, "analyzeCrossTopicRelationships",
+                series, new HashMap<String, Object>());
+    }
+
+    private List<Double> series(IntToDoubleFunction shape, int from, int to) {
+        List<Double> values = new ArrayList<>();
+        for (int t = from; t < to; t++) {
+            values.add(shape.applyAsDouble(t) + 0.05 * random.nextGaussian());
+        }
+        return values;
+    }
+
+    private static String shape(String topic) {
+        return topic.toLowerCase().contains("wave") ? "wave" : "rising";
+    }
+
+    private static List<Map<String, Object>> clusters(Map<String, Object> relationships) {
+        return (List<Map<String, Object>>) relationships.get("clusters");
+    }
+
+    private static List<String> clusterOf(Map<String, Object> relationships, String topic) {
+        for (Map<String, Object> cluster : clusters(relationships)) {
+            List<String> topics = (List<String>) cluster.get("topics");
+            if (topics.contains(topic)) {
+                return topics;
+            }
+        }
+        fail(topic + " is in no cluster");
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HnswIndexTest {
+
+    private static final int WORDS = 3000;
+    private static final int DIMENSIONS = 32;
+
+    @TempDir
+    Path directory;
+
+    private MappedWordVectors store;
+
+    @BeforeEach
+    void writeClusteredVectors() throws IOException {
+        Random random = new Random(11);
+        float[][] centres = new float[30][DIMENSIONS];
+        for (float[] centre : centres) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                centre[d] = (float) random.nextGaussian();
+            }
+        }
+        List<String> words = new ArrayList<>();
+        Map<String, float[]> vectors = new HashMap<>();
+        for (int i = 0; i < WORDS; i++) {
+            float[] centre = centres[random.nextInt(centres.length)];
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = centre[d] + 0.6f * (float) random.nextGaussian();
+            }
+            words.add("w" + i);
+            vectors.put("w" + i, vector);
+        }
+        // A zero row must never be linked or returned
+        words.add("zero");
+        vectors.put("zero", new float[DIMENSIONS]);
+
+        Path file = directory.resolve("words.vectors");
+        MappedWordVectors.write(file, words, DIMENSIONS, vectors::get);
+        store = MappedWordVectors.open(file);
+    }
+
+    @Test
+    void matchesExactSearchOnMostNeighbours() {
+        HnswIndex index = HnswIndex.build(store, 16, 100, 7);
+
+        double recall = 0;
+        int queries = 200;
+        Random random = new Random(3);
+        for (int q = 0; q < queries; q++) {
+            int row = random.nextInt(WORDS);
+            Set<String> exact = new HashSet<>(store.nearest(store.vector(row), 10, row));
+            Set<String> approximate = new HashSet<>();
+            for (int node : index.search(store.vector(row), 11, 64)) {
+                if (node != row && approximate.size() < 10) {
+                    approximate.add(store.word(node));
+                }
+            }
+            approximate.retainAll(exact);
+            recall += approximate.size() / 10.0;
+        }
+        assertTrue(recall / queries >= 0.95, "recall@10 was " + recall / queries);
+    }
+
+    @Test
+    void returnsMostSimilarFirstAndSkipsZeroRows() {
+        HnswIndex index = HnswIndex.build(store, 8, 64, 1);
+        int row = 42;
+
+        int[] found = index.search(store.vector(row), 20, 64);
+
+        assertEquals(20, found.length);
+        assertEquals(row, found[0]);
+        for (int i = 1; i < found.length; i++) {
+            assertTrue(store.cosine(row, found[i - 1]) >= store.cosine(row, found[i]));
+            assertNotEquals(store.indexOf("zero"), found[i]);
+        }
+        assertEquals(0, index.search(new float[DIMENSIONS], 5, 64).length);
+    }
+
+    @Test
+    void roundTripsThroughAFile() throws IOException {
+        HnswIndex index = HnswIndex.build(store, 12, 80, 5);
+        Path file = directory.resolve("words.hnsw");
+        index.write(file);
+
+        HnswIndex read = HnswIndex.read(file, store);
+
+        assertEquals(index.size(), read.size());
+        assertEquals(index.getM(), read.getM());
+        assertEquals(index.getMaxLevel(), read.getMaxLevel());
+        for (int row = 0; row < WORDS; row += 97) {
+            assertArrayEquals(index.search(store.vector(row), 10, 50), read.search(store.vector(row), 10, 50));
+        }
+    }
+
+    @Test
+    void rejectsAnIndexBuiltForAnotherStore() throws IOException {
+        Path file = directory.resolve("small.hnsw");
+        Path otherVectors = directory.resolve("other.vectors");
+        MappedWordVectors.write(otherVectors, List.of("a", "b"), DIMENSIONS, word -> new float[]{1f});
+        HnswIndex.build(MappedWordVectors.open(otherVectors), 4, 10, 1).write(file);
+
+        assertThrows(IOException.class, () -> HnswIndex.read(file, store));
+    }
+}
@@ -0,0 +1,90 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcSentenceIteratorTest {
+
+    private static final String SQL = "SELECT title, body FROM content WHERE id > ? ORDER BY id";
+
+    private JdbcConnectionPool dataSource;
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        dataSource = JdbcConnectionPool.create("jdbc:h2:mem:sentences;DB_CLOSE_DELAY=-1", "sa", "");
+        execute("CREATE TABLE content (id INT PRIMARY KEY, title VARCHAR(100), body VARCHAR(1000))");
+        execute("INSERT INTO content VALUES (1, 'First', 'one  two'), (2, NULL, NULL), (3, ' ', ''),"
+                + " (4, NULL, 'only   body'), (5, 'Last', NULL)");
+    }
+
+    @AfterEach
+    void dropTable() throws SQLException {
+        execute("DROP ALL OBJECTS");
+        dataSource.dispose();
+    }
+
+    @Test
+    void skipsNullAndBlankRows() {
+        JdbcSentenceIterator iterator = new JdbcSentenceIterator(dataSource, 2, SQL, 0);
+
+        assertEquals(List.of("First one two", "only body", "Last"), drain(iterator));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void resetRerunsTheQuery() throws SQLException {
+        JdbcSentenceIterator iterator = new JdbcSentenceIterator(dataSource, 2, SQL, 1);
+        assertEquals(List.of("only body", "Last"), drain(iterator));
+
+        execute("INSERT INTO content VALUES (6, 'Added', 'later')");
+        iterator.reset();
+
+        assertEquals(List.of("only body", "Last", "Added later"), drain(iterator));
+    }
+
+    @Test
+    void finishReleasesTheConnection() {
+        JdbcSentenceIterator iterator = new JdbcSentenceIterator(dataSource, 1, SQL, 0);
+
+        assertEquals("First one two", iterator.nextSentence());
+        assertEquals(1, dataSource.getActiveConnections());
+
+        iterator.finish();
+
+        assertEquals(0, dataSource.getActiveConnections());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void endOfPassReleasesTheConnection() {
+        JdbcSentenceIterator iterator = new JdbcSentenceIterator(dataSource, 1, SQL, 0);
+
+        drain(iterator);
+
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    private static List<String> drain(JdbcSentenceIterator iterator) {
+        List<String> sentences = new ArrayList<>();
+        while (iterator.hasNext()) {
+            sentences.add(iterator.nextSentence());
+        }
+        return sentences;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
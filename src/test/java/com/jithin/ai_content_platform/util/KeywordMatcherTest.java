@@ -0,0 +1,55 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordMatcherTest {
+
+    @Test
+    void findsAllKeywordsInOnePass() {
+        KeywordMatcher matcher = KeywordMatcher.compile("he", "she", "his", "hers");
+        KeywordMatcher.Matches matches = matcher.scan("ushers and his sheep");
+
+        assertArrayEquals(new int[]{2, 16}, matches.positions(0));
+        assertArrayEquals(new int[]{1, 15}, matches.positions(1));
+        assertArrayEquals(new int[]{11}, matches.positions(2));
+        assertArrayEquals(new int[]{2}, matches.positions(3));
+    }
+
+    @Test
+    void countsMatchRepeatedIndexOf() {
+        String text = "aaaa banana bananana";
+        String[] keywords = {"aa", "ana", "banana", ""};
+        KeywordMatcher.Matches matches = KeywordMatcher.compile(keywords).scan(text);
+
+        for (int k = 0; k < keywords.length; k++) {
+            assertEquals(indexOfCount(text, keywords[k]), matches.count(k), keywords[k]);
+        }
+        assertArrayEquals(new int[]{0, 1, 2}, matches.positions(0));
+        assertArrayEquals(new int[]{0, 2}, matches.nonOverlappingPositions(0));
+    }
+
+    @Test
+    void reportsOccurrencesWithinSpan() {
+        KeywordMatcher.Matches matches = KeywordMatcher.compile("content").scan("great content. more content");
+
+        assertTrue(matches.occursWithin(0, 0, 14));
+        assertFalse(matches.occursWithin(0, 0, 10));
+        assertTrue(matches.occursWithin(0, 15, 27));
+        assertFalse(matches.occursWithin(0, 21, 27));
+    }
+
+    private static int indexOfCount(String text, String keyword) {
+        if (keyword.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        int index = 0;
+        while ((index = text.indexOf(keyword, index)) != -1) {
+            count++;
+            index += keyword.length();
+        }
+        return count;
+    }
+}
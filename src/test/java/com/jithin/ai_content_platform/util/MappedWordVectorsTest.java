@@ -0,0 +1,91 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedWordVectorsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsWordsAndVectors() throws IOException {
+        Map<String, float[]> vectors = Map.of(
+            "cat", new float[]{1f, 0f, 0f},
+            "dog", new float[]{0.9f, 0.1f, 0f},
+            "café", new float[]{0f, 3f, 4f});
+        List<String> words = List.of("cat", "dog", "café", "missing");
+        Path file = directory.resolve("words.vectors");
+        MappedWordVectors.write(file, words, 3, vectors::get);
+
+        MappedWordVectors store = MappedWordVectors.open(file);
+
+        assertEquals(4, store.size());
+        assertEquals(3, store.dimensions());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(i, store.indexOf(words.get(i)));
+            assertEquals(words.get(i), store.word(i));
+        }
+        assertEquals(-1, store.indexOf("bird"));
+        assertEquals(-1, store.indexOf(null));
+        assertArrayEquals(new float[]{0f, 3f, 4f}, store.vector(2));
+        assertEquals(5f, store.norm(2), 1e-6);
+        // Words without a vector are stored as zero rows
+        assertArrayEquals(new float[3], store.vector(3));
+        assertEquals(0f, store.norm(3));
+    }
+
+    @Test
+    void findsWordsInLargeVocabularies() throws IOException {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            words.add("word" + i);
+        }
+        Path file = directory.resolve("large.vectors");
+        MappedWordVectors.write(file, words, 2, word -> new float[]{word.length(), 1f});
+
+        MappedWordVectors store = MappedWordVectors.open(file);
+
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(i, store.indexOf(words.get(i)));
+        }
+        assertEquals(-1, store.indexOf("word5000"));
+    }
+
+    @Test
+    void computesCosineAndExactNearestNeighbours() throws IOException {
+        Map<String, float[]> vectors = Map.of(
+            "a", new float[]{1f, 0f},
+            "b", new float[]{0.8f, 0.2f},
+            "c", new float[]{0f, 1f},
+            "d", new float[]{-1f, 0f},
+            "zero", new float[]{0f, 0f});
+        Path file = directory.resolve("small.vectors");
+        MappedWordVectors.write(file, List.of("a", "b", "c", "d", "zero"), 2, vectors::get);
+
+        MappedWordVectors store = MappedWordVectors.open(file);
+
+        assertEquals(-1.0, store.cosine(store.indexOf("a"), store.indexOf("d")), 1e-6);
+        assertEquals(0.0, store.cosine(store.indexOf("a"), store.indexOf("zero")));
+        assertEquals(List.of("b", "c", "d"), store.nearest("a", 5));
+        assertEquals(List.of("b"), store.nearest("a", 1));
+        assertTrue(store.nearest("unknown", 3).isEmpty());
+    }
+
+    @Test
+    void rejectsFilesInAnotherFormat() throws IOException {
+        Path file = directory.resolve("bad.vectors");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalArgumentException.class, () -> MappedWordVectors.open(file));
+    }
+}
@@ -0,0 +1,96 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MiniBatchKMeansTest {
+
+    @Test
+    void recoversPlantedClusters() {
+        Random random = new Random(17);
+        double[][] centres = {{10, 0, 0, 0}, {0, 10, 0, 0}, {0, 0, 10, 0}, {0, 0, 0, 10}};
+        int perCluster = 250;
+        double[][] points = new double[centres.length * perCluster][];
+        for (int i = 0; i < points.length; i++) {
+            double[] centre = centres[i / perCluster];
+            points[i] = new double[centre.length];
+            for (int d = 0; d < centre.length; d++) {
+                points[i][d] = centre[d] + random.nextGaussian();
+            }
+        }
+
+        MiniBatchKMeans.Result result = MiniBatchKMeans.cluster(points, 4, 64, 50, 3);
+
+        int[] assignments = result.getAssignments();
+        Set<Integer> labels = new HashSet<>();
+        for (int c = 0; c < centres.length; c++) {
+            int label = assignments[c * perCluster];
+            for (int i = c * perCluster; i < (c + 1) * perCluster; i++) {
+                assertEquals(label, assignments[i], "point " + i + " left its planted cluster");
+            }
+            labels.add(label);
+            assertTrue(MiniBatchKMeans.squaredDistance(result.getCentroids()[label], centres[c]) < 0.5);
+        }
+        assertEquals(centres.length, labels.size());
+    }
+
+    @Test
+    void assignsEveryPointToItsNearestCentroid() {
+        Random random = new Random(23);
+        double[][] points = new double[500][3];
+        for (double[] point : points) {
+            for (int d = 0; d < point.length; d++) {
+                point[d] = random.nextDouble();
+            }
+        }
+
+        MiniBatchKMeans.Result result = MiniBatchKMeans.cluster(points, 6, 32, 20, 1);
+
+        double[][] centroids = result.getCentroids();
+        assertEquals(6, centroids.length);
+        for (int i = 0; i < points.length; i++) {
+            double assigned = MiniBatchKMeans.squaredDistance(points[i], centroids[result.getAssignments()[i]]);
+            for (double[] centroid : centroids) {
+                assertTrue(assigned <= MiniBatchKMeans.squaredDistance(points[i], centroid));
+            }
+        }
+    }
+
+    @Test
+    void seedsOnDistinctPoints() {
+        double[][] distinct = {{0, 0}, {5, 0}, {0, 5}, {5, 5}};
+        double[][] points = new double[40][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = distinct[i % distinct.length].clone();
+        }
+
+        // Without iterations the centroids are the k-means++ seeds
+        MiniBatchKMeans.Result result = MiniBatchKMeans.cluster(points, 4, 10, 0, 8);
+
+        Set<String> seeds = new HashSet<>();
+        for (double[] centroid : result.getCentroids()) {
+            seeds.add(centroid[0] + "," + centroid[1]);
+        }
+        assertEquals(Set.of("0.0,0.0", "5.0,0.0", "0.0,5.0", "5.0,5.0"), seeds);
+        for (int i = distinct.length; i < points.length; i++) {
+            assertEquals(result.getAssignments()[i % distinct.length], result.getAssignments()[i]);
+        }
+    }
+
+    @Test
+    void isRepeatableAndCapsKAtThePointCount() {
+        double[][] points = {{1, 1}, {2, 2}, {9, 9}};
+
+        MiniBatchKMeans.Result first = MiniBatchKMeans.cluster(points, 10, 8, 5, 4);
+        MiniBatchKMeans.Result second = MiniBatchKMeans.cluster(points, 10, 8, 5, 4);
+
+        assertEquals(3, first.getCentroids().length);
+        assertArrayEquals(first.getAssignments(), second.getAssignments());
+        assertEquals(0, MiniBatchKMeans.cluster(new double[0][], 3, 8, 5, 4).getAssignments().length);
+    }
+}
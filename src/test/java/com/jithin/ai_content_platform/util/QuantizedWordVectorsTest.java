@@ -0,0 +1,106 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuantizedWordVectorsTest {
+
+    private static final int WORDS = 2000;
+    private static final int DIMENSIONS = 64;
+
+    @TempDir
+    Path directory;
+
+    private MappedWordVectors store;
+    private QuantizedWordVectors quantized;
+
+    @BeforeEach
+    void writeRandomVectors() throws IOException {
+        Random random = new Random(5);
+        List<String> words = new ArrayList<>();
+        Map<String, float[]> vectors = new HashMap<>();
+        for (int i = 0; i < WORDS; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                // Uneven ranges per dimension exercise the per-dimension scales
+                vector[d] = (float) random.nextGaussian() * (1 + d % 4);
+            }
+            words.add("w" + i);
+            vectors.put("w" + i, vector);
+        }
+        words.add("zero");
+        vectors.put("zero", new float[DIMENSIONS]);
+
+        Path file = directory.resolve("words.vectors");
+        MappedWordVectors.write(file, words, DIMENSIONS, vectors::get);
+        store = MappedWordVectors.open(file);
+        Path quantizedFile = directory.resolve("words.q8");
+        QuantizedWordVectors.write(store, quantizedFile);
+        quantized = QuantizedWordVectors.open(quantizedFile, store);
+    }
+
+    @Test
+    void mapsOneBytePerDimension() {
+        assertEquals(store.size(), quantized.size());
+        assertEquals((long) store.size() * DIMENSIONS + 4L * store.size() + 4L * DIMENSIONS, quantized.byteSize());
+    }
+
+    @Test
+    void approximatesTheExactCosine() {
+        Random random = new Random(9);
+        double worst = 0;
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(WORDS);
+            int b = random.nextInt(WORDS);
+            worst = Math.max(worst, Math.abs(store.cosine(a, b) - quantized.cosine(a, b)));
+        }
+        assertTrue(worst < 0.02, "largest cosine error was " + worst);
+        assertEquals(1.0, quantized.cosine(7, 7), 1e-4);
+        assertEquals(0.0, quantized.cosine(7, store.indexOf("zero")));
+    }
+
+    @Test
+    void candidatesContainTheExactNearestNeighbours() {
+        Random random = new Random(13);
+        for (int q = 0; q < 50; q++) {
+            int row = random.nextInt(WORDS);
+            List<String> exact = store.nearest(store.vector(row), 5, row);
+
+            List<String> candidates = new ArrayList<>();
+            for (int candidate : quantized.candidates(store.vector(row), 50, row)) {
+                assertNotEquals(row, candidate);
+                assertNotEquals(store.indexOf("zero"), candidate);
+                candidates.add(store.word(candidate));
+            }
+
+            assertEquals(50, candidates.size());
+            assertTrue(candidates.containsAll(exact), "missing exact neighbours of row " + row);
+        }
+        assertEquals(0, quantized.candidates(new float[DIMENSIONS], 10, -1).length);
+    }
+
+    @Test
+    void rejectsAnotherStoreOrFormat() throws IOException {
+        Path otherVectors = directory.resolve("other.vectors");
+        MappedWordVectors.write(otherVectors, List.of("a", "b"), DIMENSIONS, word -> new float[]{1f});
+        Path otherQuantized = directory.resolve("other.q8");
+        QuantizedWordVectors.write(MappedWordVectors.open(otherVectors), otherQuantized);
+        Path garbage = directory.resolve("bad.q8");
+        Files.write(garbage, new byte[64]);
+
+        assertThrows(IOException.class, () -> QuantizedWordVectors.open(otherQuantized, store));
+        assertThrows(IOException.class, () -> QuantizedWordVectors.open(garbage, store));
+    }
+}
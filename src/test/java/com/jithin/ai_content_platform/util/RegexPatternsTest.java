@@ -0,0 +1,49 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class RegexPatternsTest {
+
+    @Test
+    void wholeWordMatchesTheKeywordLiterally() {
+        Pattern dotted = RegexPatterns.wholeWord("a.b");
+        assertTrue(dotted.matcher("see a.b here").find());
+        assertFalse(dotted.matcher("see aXb here").find());
+
+        Pattern repeated = RegexPatterns.wholeWord("a+b");
+        assertTrue(repeated.matcher("using a+b notation").find());
+        assertFalse(repeated.matcher("using aab notation").find());
+
+        // A quote terminator inside the keyword must not end the literal early
+        Pattern quoted = RegexPatterns.wholeWord("x\\E.*y");
+        assertTrue(quoted.matcher("say x\\E.*y now").find());
+        assertFalse(quoted.matcher("say xy now").find());
+    }
+
+    @Test
+    void wholeWordRespectsWordBoundariesIgnoringCase() {
+        Pattern pattern = RegexPatterns.wholeWord("cloud");
+
+        assertTrue(pattern.matcher("Moving to the CLOUD today").find());
+        assertTrue(pattern.matcher("cloud, then edge").find());
+        assertFalse(pattern.matcher("cloudy skies").find());
+        assertFalse(pattern.matcher("soundcloud").find());
+    }
+
+    @Test
+    void cachesRepeatedPatternsAndKeepsCachingPastTheLimit() {
+        assertSame(RegexPatterns.wholeWord("kubernetes"), RegexPatterns.wholeWord("kubernetes"));
+
+        for (int i = 0; i < 2000; i++) {
+            RegexPatterns.wholeWord("keyword" + i);
+        }
+
+        // Older keywords were evicted, but the newest ones are still served from the cache
+        assertSame(RegexPatterns.wholeWord("keyword1999"), RegexPatterns.wholeWord("keyword1999"));
+        assertTrue((int) RegexPatterns.getStats().get("cachedPatterns") <= 1024);
+    }
+}
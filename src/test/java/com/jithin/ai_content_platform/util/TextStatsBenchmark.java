@@ -0,0 +1,139 @@
+package com.jithin.ai_content_platform.util;
+
+import java.text.BreakIterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the single-pass {@link TextStats} scan with the regex and split passes the
+ * readability, structure and keyword analyzers used to make over the same document.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.jithin.ai_content_platform.util.TextStatsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextStatsBenchmark {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.+)$", Pattern.MULTILINE);
+    private static final Pattern BULLET = Pattern.compile("^\\s*[-*+]\\s+", Pattern.MULTILINE);
+    private static final Pattern NUMBERED = Pattern.compile("^\\s*\\d+\\.\\s+", Pattern.MULTILINE);
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\[([^\\]]+)\\]\\(([^)]+)\\)");
+    private static final Pattern BARE_URL = Pattern.compile("https?://\\S+");
+
+    @Param({"20", "200"})
+    private int sections;
+
+    private String document;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder("# Content strategy guide\n\n");
+        for (int i = 0; i < sections; i++) {
+            text.append("## Section ").append(i).append("\n\n")
+                .append("Marketing teams publish more often than ever. Readers skim, e.g. on phones, ")
+                .append("so short paragraphs and clear headings matter. Version 2.5 of the guide ")
+                .append("adds examples from example.com and [our docs](https://example.com/docs).\n\n")
+                .append("- Plan the calendar\n- Measure engagement\n1. Draft\n2. Review\n\n")
+                .append("Is the message consistent? Check https://example.org/checklist before publishing!\n\n");
+        }
+        document = text.toString();
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        TextStats stats = TextStats.scan(document);
+        blackhole.consume(stats.getWordCount());
+        blackhole.consume(stats.getSyllableCount());
+        blackhole.consume(stats.getSentenceCount());
+        blackhole.consume(stats.getParagraphCount());
+        blackhole.consume(stats.getHeadingCount());
+        blackhole.consume(stats.getBulletListItems() + stats.getNumberedListItems());
+        blackhole.consume(stats.getMarkdownLinks() + stats.getBareUrls());
+    }
+
+    // The passes the analyzers made before they shared a TextStats instance
+    @Benchmark
+    public void multiPass(Blackhole blackhole) {
+        String[] words = WHITESPACE.split(document);
+        int syllables = 0;
+        for (String word : words) {
+            syllables += countSyllables(word);
+        }
+        blackhole.consume(words.length);
+        blackhole.consume(syllables);
+        blackhole.consume(WHITESPACE.matcher(document).replaceAll("").length());
+
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.US);
+        iterator.setText(document);
+        int sentences = 0;
+        while (iterator.next() != BreakIterator.DONE) {
+            sentences++;
+        }
+        blackhole.consume(sentences);
+
+        String[] paragraphs = document.split("\n\n");
+        for (String paragraph : paragraphs) {
+            blackhole.consume(WHITESPACE.split(paragraph).length);
+            blackhole.consume(paragraph.split("[.!?]+").length);
+        }
+        blackhole.consume(document.split("[.!?]+").length);
+        blackhole.consume(document.split("\n").length);
+        blackhole.consume(WHITESPACE.split(document).length);
+
+        blackhole.consume(count(HEADING.matcher(document)));
+        blackhole.consume(count(BULLET.matcher(document)) + count(NUMBERED.matcher(document)));
+        blackhole.consume(count(MARKDOWN_LINK.matcher(document)) + count(BARE_URL.matcher(document)));
+    }
+
+    private static int countSyllables(String word) {
+        word = word.toLowerCase().replaceAll("[^a-zA-Z]", "");
+        if (word.length() <= 3) return 1;
+        int count = 0;
+        boolean isPreviousVowel = false;
+        for (int i = 0; i < word.length(); i++) {
+            boolean isVowel = "aeiouy".indexOf(word.charAt(i)) != -1;
+            if (isVowel && !isPreviousVowel) {
+                count++;
+            }
+            isPreviousVowel = isVowel;
+        }
+        if (word.endsWith("e")) count--;
+        if (word.endsWith("le") && word.length() > 2) count++;
+        return Math.max(1, count);
+    }
+
+    private static int count(Matcher matcher) {
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TextStatsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
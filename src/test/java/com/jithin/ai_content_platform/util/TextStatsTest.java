@@ -0,0 +1,89 @@
+package com.jithin.ai_content_platform.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TextStatsTest {
+
+    @Test
+    void splitsSentencesOnlyAtRealBoundaries() {
+        TextStats stats = TextStats.scan("Pi is about 3.14 today. Visit example.com for more, e.g. the docs! "
+            + "Dr. Smith agreed? Yes.");
+
+        assertEquals(4, stats.getSentenceCount());
+        assertEquals("Pi is about 3.14 today", sentence(stats, 0));
+        assertEquals("Visit example.com for more, e.g. the docs", sentence(stats, 1));
+        assertEquals("Dr. Smith agreed", sentence(stats, 2));
+        assertEquals("Yes", sentence(stats, 3));
+    }
+
+    @Test
+    void endsSentencesAtLineBreaksAndClosingQuotes() {
+        TextStats stats = TextStats.scan("She said \"stop.\" Then she left.\nlower case line");
+
+        assertEquals(3, stats.getSentenceCount());
+        assertEquals("She said \"stop", sentence(stats, 0));
+        assertEquals("Then she left", sentence(stats, 1));
+        assertEquals("lower case line", sentence(stats, 2));
+    }
+
+    @Test
+    void countsParagraphsAndNeverRunsSentencesAcrossThem() {
+        TextStats stats = TextStats.scan("First paragraph without a stop\n\nSecond one. Still second.\n\n\nThird");
+
+        assertEquals(3, stats.getParagraphCount());
+        assertEquals(4, stats.getSentenceCount());
+        assertEquals("First paragraph without a stop", sentence(stats, 0));
+        assertEquals("Third", stats.getText().substring(stats.paragraphStart(2), stats.paragraphEnd(2)));
+    }
+
+    @Test
+    void recognisesHeadingsAndListItems() {
+        TextStats stats = TextStats.scan("# Title\n## Section\n#NoSpace\n####### Too deep\n"
+            + "- one\n* two\n  + three\n-not a bullet\n1. first\n12. twelfth\n3.14 is not a list\n");
+
+        assertEquals(2, stats.getHeadingCount());
+        assertEquals(List.of(1, 2), stats.getHeadingLevels());
+        assertEquals("## Section", stats.getText().substring(stats.headingStart(1), stats.headingEnd(1)));
+        assertEquals(3, stats.getBulletListItems());
+        assertEquals(2, stats.getNumberedListItems());
+    }
+
+    @Test
+    void countsMarkdownLinksAndBareUrls() {
+        TextStats stats = TextStats.scan("See [docs](https://example.com/docs) and [empty]() or [x] (y). "
+            + "Also https://example.org and http://a.b but not ftp://c.d");
+
+        assertEquals(1, stats.getMarkdownLinks());
+        // The markdown target is a word containing a URL as well
+        assertEquals(3, stats.getBareUrls());
+    }
+
+    @Test
+    void countsWordsAndSyllables() {
+        TextStats stats = TextStats.scan("The cat ate a table. Beautiful simple education");
+
+        assertEquals(8, stats.getWordCount());
+        assertEquals("table.", stats.word(4));
+        // the, cat, ate, a: 1 each; table 2; beautiful 3; simple 2; education 4
+        assertEquals(15, stats.getSyllableCount());
+        assertEquals(2, stats.getComplexWordCount());
+        assertEquals(5, stats.wordsBetween(0, stats.sentenceEnd(0)));
+    }
+
+    @Test
+    void handlesEmptyText() {
+        TextStats stats = TextStats.scan(null);
+
+        assertEquals(0, stats.getWordCount());
+        assertEquals(0, stats.getSentenceCount());
+        assertEquals(0, stats.getParagraphCount());
+    }
+
+    private static String sentence(TextStats stats, int index) {
+        return stats.getText().substring(stats.sentenceStart(index), stats.sentenceEnd(index));
+    }
+}